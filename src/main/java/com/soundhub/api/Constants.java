@@ -16,6 +16,11 @@ public class Constants {
             "/ws/**"
     };
 
+    // upload URLs let the caller write to the bucket, so they are not part of the public file endpoints
+    public static final String[] AUTHENTICATED_FILE_ENDPOINTS = {
+            "/api/v1/files/presigned-uploads/**"
+    };
+
     public static final List<String> ALLOWED_METHODS = List.of("GET", "POST", "PUT", "DELETE");
     public static final List<String> ALLOWED_HEADERS = List.of("*");
 
@@ -42,21 +47,45 @@ public class Constants {
     public static final String PERMISSION_MESSAGE = "You don't have permissions for this operation.";
     public static final String CHAT_DELETE_SUCCESS_MSG = "Chat with id: %s was successfully deleted";
     public static final String CHAT_NOT_CONTAINS_USER = "This user is not related to this chat";
+    public static final String EMPTY_READ_RECEIPT = "Read receipt must contain upToMessageId or messageIds";
+    public static final String MESSAGE_NOT_IN_CHAT = "Message %s doesn't belong to chat %s";
+    public static final String INVALID_MESSAGE_CURSOR = "Invalid message cursor";
+    public static final String INVALID_PAGE_REQUEST = "Page must not be negative and size must be positive";
     public static final String MESSAGE_PAGE_NOT_FOUND = "This page is not found. Total page count is %d";
     public static final String UNAUTHORIZED_ERROR_MESSAGE = "Sorry, You're not authorized to access this resource.";
     public static final String INVITE_ALREADY_SENT_MSG = "Invitation for this user has already sent";
     public static final String USER_ALREADY_FRIEND = "This user is already a friend";
     public static final String USER_CANNOT_ADD_HIMSELF = "User can't add himself as a friend!";
     public static final String NO_INVITE_STRATEGY_MESSAGE = "No strategy found for name: %s";
+    public static final String DIRECT_UPLOAD_NOT_SUPPORTED = "Direct uploads are not supported by the media source";
+    public static final String DIRECT_UPLOAD_TOO_LARGE = "File is larger than %d bytes";
+    public static final String INVALID_DIRECT_UPLOAD_NAME = "Invalid upload name: %s";
+
+    public static final int USER_COLLECTION_BATCH_SIZE = 50;
 
     public static final String DEFAULT_MESSAGE_PAGE = "0";
     public static final String DEFAULT_MESSAGE_PAGE_SIZE = "50";
+    public static final int MAX_MESSAGE_SLICE_SIZE = 200;
+    public static final String DEFAULT_UNREAD_MESSAGES_LIMIT = "50";
+    public static final String DEFAULT_COMPATIBLE_USERS_LIMIT = "20";
+    public static final String DEFAULT_RECOMMENDED_FRIENDS_PAGE = "0";
+    public static final String DEFAULT_RECOMMENDED_FRIENDS_PAGE_SIZE = "20";
+    public static final String DEFAULT_USER_SEARCH_PAGE = "0";
+    public static final String DEFAULT_USER_SEARCH_PAGE_SIZE = "20";
+    public static final int MAX_USER_SEARCH_PAGE_SIZE = 100;
+    public static final int MAX_USER_SEARCH_TOKENS = 5;
+    public static final String DEFAULT_AUTOCOMPLETE_LIMIT = "10";
+    public static final int MAX_AUTOCOMPLETE_LIMIT = 50;
+    public static final int MAX_COMPATIBLE_USERS_LIMIT = 100;
 
     public static final String AUTHORIZATION_HEADER_NAME = "Authorization";
     public static final String DELETER_ID_HEADER = "DeleterId";
     public static final String BEARER_PREFIX = "Bearer ";
 
     public static final String BLACKLIST_CACHE_NAME = "jwt-blacklist";
+    public static final String REVOKED_TOKEN_KEY_PREFIX = "jwt-revoked:";
+    public static final String REVOKED_TOKEN_CHANNEL = "jwt-revoked-events";
+    public static final String RECOMMENDATION_SERVICE_UNAVAILABLE = "Recommendation service is unavailable.";
     public static final String FILE_PATH_PART = "/api/v1/files/";
 
 
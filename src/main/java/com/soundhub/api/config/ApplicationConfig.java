@@ -3,8 +3,11 @@ package com.soundhub.api.config;
 import com.soundhub.api.Constants;
 import com.soundhub.api.repository.UserRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewFilter;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.AuthenticationProvider;
 import org.springframework.security.authentication.dao.DaoAuthenticationProvider;
@@ -35,6 +38,19 @@ public class ApplicationConfig {
 				.orElseThrow(() -> new UsernameNotFoundException(String.format(Constants.USERNAME_NOT_FOUND, username)));
 	}
 
+	/**
+	 * Opens the request's persistence context before the security filter chain, so the user
+	 * loaded during JWT authentication stays managed and can be reused as the current user.
+	 */
+	@Bean
+	public FilterRegistrationBean<OpenEntityManagerInViewFilter> openEntityManagerInViewFilter() {
+		FilterRegistrationBean<OpenEntityManagerInViewFilter> registration =
+				new FilterRegistrationBean<>(new OpenEntityManagerInViewFilter());
+		registration.setOrder(SecurityProperties.DEFAULT_FILTER_ORDER - 1);
+
+		return registration;
+	}
+
 	@Bean
 	public PasswordEncoder passwordEncoder() {
 		return new BCryptPasswordEncoder();
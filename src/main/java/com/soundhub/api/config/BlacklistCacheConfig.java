@@ -1,29 +1,20 @@
 package com.soundhub.api.config;
 
-import com.soundhub.api.Constants;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.AutoConfigureAfter;
-import org.springframework.boot.autoconfigure.cache.RedisCacheManagerBuilderCustomizer;
 import org.springframework.boot.autoconfigure.data.redis.RedisAutoConfiguration;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
-import org.springframework.data.redis.cache.RedisCacheConfiguration;
 import org.springframework.data.redis.connection.RedisStandaloneConfiguration;
 import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
-
-import java.time.Duration;
-import java.util.HashMap;
-import java.util.Map;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
 
 @Slf4j
 @Configuration
 @AutoConfigureAfter(RedisAutoConfiguration.class)
 public class BlacklistCacheConfig {
 
-    @Value("${token.signing.expirationInMs}")
-    private int jwtDuration;
-
     @Value("${spring.data.redis.host}")
     private String redisHost;
     @Value("${spring.data.redis.port}")
@@ -34,13 +25,14 @@ public class BlacklistCacheConfig {
         return new LettuceConnectionFactory(new RedisStandaloneConfiguration(redisHost, redisPort));
     }
 
+    /**
+     * Shared subscriber connection for Redis pub/sub channels (token revocations, STOMP relay).
+     */
     @Bean
-    public RedisCacheManagerBuilderCustomizer redisCacheManagerBuilderCustomizer() {
-        return (builder) -> {
-            Map<String, RedisCacheConfiguration> configurationMap = new HashMap<>();
-            configurationMap.put(Constants.BLACKLIST_CACHE_NAME, RedisCacheConfiguration.defaultCacheConfig().entryTtl(
-                    Duration.ofMillis(jwtDuration)));
-            builder.withInitialCacheConfigurations(configurationMap);
-        };
+    public RedisMessageListenerContainer redisMessageListenerContainer(LettuceConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+
+        return container;
     }
 }
@@ -0,0 +1,38 @@
+package com.soundhub.api.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.ThreadPoolExecutor;
+
+@Configuration
+public class MediaUploadConfig {
+	@Value("${media.upload.threads:4}")
+	private int threads;
+
+	@Value("${media.upload.queue-capacity:50}")
+	private int queueCapacity;
+
+	@Value("${media.upload.shutdown-timeout-seconds:30}")
+	private int shutdownTimeoutSeconds;
+
+	/**
+	 * Dedicated pool for storing uploaded files. Concurrency is capped by the pool size;
+	 * once the queue is full the request thread stores the file itself, which slows
+	 * callers down instead of rejecting their uploads.
+	 */
+	@Bean
+	public ThreadPoolTaskExecutor mediaUploadExecutor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setThreadNamePrefix("media-upload-");
+		executor.setCorePoolSize(threads);
+		executor.setMaxPoolSize(threads);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.CallerRunsPolicy());
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.setAwaitTerminationSeconds(shutdownTimeoutSeconds);
+		return executor;
+	}
+}
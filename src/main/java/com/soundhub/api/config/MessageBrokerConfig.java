@@ -0,0 +1,65 @@
+package com.soundhub.api.config;
+
+import com.soundhub.api.service.MessageBroadcaster;
+import com.soundhub.api.service.impl.RelayMessageBroadcaster;
+import com.soundhub.api.service.impl.SimpleMessageBroadcaster;
+import com.soundhub.api.service.strategies.broadcast.BroadcastChannel;
+import com.soundhub.api.service.strategies.broadcast.InMemoryBroadcastChannel;
+import com.soundhub.api.service.strategies.broadcast.RedisBroadcastChannel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+
+/**
+ * Chooses how STOMP messages reach subscribers ({@code websocket.broker.mode}):
+ * <ul>
+ *     <li>{@code simple} - the in-memory broker of this node, enough for a single instance;</li>
+ *     <li>{@code redis} - relayed through Redis pub/sub to every node;</li>
+ *     <li>{@code local} - relayed through an in-process channel, to run the relay without Redis.</li>
+ * </ul>
+ */
+@Slf4j
+@Configuration
+public class MessageBrokerConfig {
+	private static final String BROKER_MODE_PROPERTY = "websocket.broker.mode";
+
+	@Bean
+	@ConditionalOnProperty(name = BROKER_MODE_PROPERTY, havingValue = "redis")
+	public BroadcastChannel redisBroadcastChannel(
+			RedisConnectionFactory connectionFactory,
+			RedisMessageListenerContainer redisMessageListenerContainer,
+			@Value("${websocket.broker.channel:soundhub:stomp-broadcast}") String channelName
+	) {
+		return new RedisBroadcastChannel(
+				new StringRedisTemplate(connectionFactory),
+				redisMessageListenerContainer,
+				channelName
+		);
+	}
+
+	@Bean
+	@ConditionalOnProperty(name = BROKER_MODE_PROPERTY, havingValue = "local")
+	public BroadcastChannel inMemoryBroadcastChannel() {
+		return new InMemoryBroadcastChannel();
+	}
+
+	@Bean
+	public MessageBroadcaster messageBroadcaster(
+			SimpMessagingTemplate messagingTemplate,
+			ObjectProvider<BroadcastChannel> broadcastChannel
+	) {
+		BroadcastChannel channel = broadcastChannel.getIfAvailable();
+		log.info("messageBroadcaster[1]: using {} broker", channel == null ? "simple" : "relay");
+
+		return channel == null
+				? new SimpleMessageBroadcaster(messagingTemplate)
+				: new RelayMessageBroadcaster(messagingTemplate, channel);
+	}
+}
@@ -0,0 +1,53 @@
+package com.soundhub.api.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Fills {@code messages.sent_at} for rows written before the column existed and then makes it NOT NULL.
+ * Flyway is optional and the schema is usually maintained by {@code ddl-auto=update}, which adds the
+ * column empty and never tightens it, so the backfill runs on every start once Hibernate has updated
+ * the schema and before the server accepts requests. Both steps are no-ops once done.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class MessageSentAtBackfill {
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@PostConstruct
+	public void backfill() {
+		int filled = jdbcTemplate.update("""
+				UPDATE messages
+				SET sent_at = (SELECT ce.created_at FROM content_entity ce WHERE ce.id = messages.id)
+				WHERE sent_at IS NULL
+				""");
+
+		if (filled > 0) {
+			log.info("backfill[1]: filled sent_at of {} messages", filled);
+		}
+
+		Integer missing = jdbcTemplate.queryForObject("SELECT count(*) FROM messages WHERE sent_at IS NULL", Integer.class);
+
+		if (missing != null && missing > 0) {
+			log.warn("backfill[2]: {} messages have no creation time, sent_at stays nullable", missing);
+			return;
+		}
+
+		Integer nullable = jdbcTemplate.queryForObject("""
+				SELECT count(*) FROM information_schema.columns
+				WHERE table_schema = current_schema() AND lower(table_name) = 'messages'
+				AND lower(column_name) = 'sent_at' AND is_nullable = 'YES'
+				""", Integer.class);
+
+		if (nullable != null && nullable > 0) {
+			jdbcTemplate.execute("ALTER TABLE messages ALTER COLUMN sent_at SET NOT NULL");
+			log.info("backfill[3]: messages.sent_at is now NOT NULL");
+		}
+	}
+}
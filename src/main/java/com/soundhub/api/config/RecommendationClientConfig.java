@@ -0,0 +1,70 @@
+package com.soundhub.api.config;
+
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.web.client.RestTemplate;
+
+@Configuration
+public class RecommendationClientConfig {
+	@Value("${recommendation.client.connect-timeout-ms:500}")
+	private long connectTimeoutMs;
+
+	@Value("${recommendation.client.read-timeout-ms:2000}")
+	private long readTimeoutMs;
+
+	@Value("${recommendation.client.pool-timeout-ms:200}")
+	private long poolTimeoutMs;
+
+	@Value("${recommendation.client.max-connections:20}")
+	private int maxConnections;
+
+	/**
+	 * Pooled, keep-alive client for the recommendation service. Every wait is bounded,
+	 * so a slow recommender cannot hold request threads for longer than the configured timeouts.
+	 */
+	@Bean
+	public RestTemplate recommendationRestTemplate() {
+		return new RestTemplate(recommendationRequestFactory(
+				connectTimeoutMs, readTimeoutMs, poolTimeoutMs, maxConnections
+		));
+	}
+
+	public static HttpComponentsClientHttpRequestFactory recommendationRequestFactory(
+			long connectTimeoutMs,
+			long readTimeoutMs,
+			long poolTimeoutMs,
+			int maxConnections
+	) {
+		PoolingHttpClientConnectionManager connectionManager = PoolingHttpClientConnectionManagerBuilder.create()
+				.setMaxConnTotal(maxConnections)
+				.setMaxConnPerRoute(maxConnections)
+				.setDefaultConnectionConfig(ConnectionConfig.custom()
+						.setConnectTimeout(Timeout.ofMilliseconds(connectTimeoutMs))
+						.setSocketTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+						.setValidateAfterInactivity(TimeValue.ofSeconds(10))
+						.build())
+				.build();
+
+		CloseableHttpClient httpClient = HttpClients.custom()
+				.setConnectionManager(connectionManager)
+				.setDefaultRequestConfig(RequestConfig.custom()
+						.setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeoutMs))
+						.setResponseTimeout(Timeout.ofMilliseconds(readTimeoutMs))
+						.build())
+				.evictIdleConnections(TimeValue.ofSeconds(30))
+				.disableAutomaticRetries()
+				.build();
+
+		return new HttpComponentsClientHttpRequestFactory(httpClient);
+	}
+}
@@ -0,0 +1,53 @@
+package com.soundhub.api.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Creates the PostgreSQL indexes JPA mappings cannot describe, once Hibernate has created or updated the tables.
+ * Flyway migrations run before Hibernate, so on a fresh database they would find nothing to index,
+ * and the shipped configuration runs without Flyway at all. Every statement is a no-op once the index exists.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+public class SchemaIndexInitializer {
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@PostConstruct
+	public void createIndexes() {
+		String database = jdbcTemplate.execute((ConnectionCallback<String>) connection ->
+				connection.getMetaData().getDatabaseProductName());
+
+		if (!"PostgreSQL".equalsIgnoreCase(database)) {
+			return;
+		}
+
+		// unread counters are recounted per chat from unread messages only, see UnreadMessageService
+		jdbcTemplate.execute("""
+				CREATE INDEX IF NOT EXISTS idx_messages_unread_chat
+				ON messages (chat_id) WHERE is_read = false
+				""");
+
+		Integer trigram = jdbcTemplate.queryForObject(
+				"SELECT count(*) FROM pg_extension WHERE extname = 'pg_trgm'", Integer.class
+		);
+
+		if (trigram == null || trigram == 0) {
+			log.info("createIndexes[1]: pg_trgm is not installed, user search will not use a trigram index");
+			return;
+		}
+
+		// the expression must stay identical to the one used by UserSearchServiceImpl
+		jdbcTemplate.execute("""
+				CREATE INDEX IF NOT EXISTS idx_users_full_name_trgm
+				ON users USING gin (lower(coalesce(first_name, '') || ' ' || coalesce(last_name, '')) gin_trgm_ops)
+				""");
+	}
+}
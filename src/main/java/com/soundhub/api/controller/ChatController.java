@@ -1,6 +1,7 @@
 package com.soundhub.api.controller;
 
 import com.soundhub.api.Constants;
+import com.soundhub.api.dto.ChatSummaryDto;
 import com.soundhub.api.dto.request.GroupChatRequest;
 import com.soundhub.api.dto.request.SingleChatRequest;
 import com.soundhub.api.dto.response.ApiStateResponse;
@@ -52,6 +53,12 @@ public class ChatController {
         return new ResponseEntity<>(currentUserChats, HttpStatus.OK);
     }
 
+    @GetMapping("/user/{userId}/summary")
+    public ResponseEntity<List<ChatSummaryDto>> findChatSummariesByUserId(@PathVariable UUID userId) {
+        List<ChatSummaryDto> chats = chatService.findChatSummariesByUserId(userId);
+        return new ResponseEntity<>(chats, HttpStatus.OK);
+    }
+
     @PutMapping("{chatId}/add/{userId}")
     public ResponseEntity<Chat> addUserToGroup(@PathVariable UUID chatId, @PathVariable UUID userId) {
         Chat chat = chatService.addUserToGroup(chatId, userId);
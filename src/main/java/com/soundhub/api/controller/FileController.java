@@ -1,18 +1,21 @@
 package com.soundhub.api.controller;
 
+import com.soundhub.api.dto.request.PresignedUploadRequest;
+import com.soundhub.api.dto.response.PresignedUploadResponse;
+import com.soundhub.api.service.DirectUploadService;
 import com.soundhub.api.service.FileService;
+import com.soundhub.api.service.MediaDownloadService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
-import org.springframework.util.StreamUtils;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.List;
 
 @RestController
@@ -22,6 +25,12 @@ public class FileController {
 	@Autowired
 	private FileService fileService;
 
+	@Autowired
+	private MediaDownloadService mediaDownloadService;
+
+	@Autowired
+	private DirectUploadService directUploadService;
+
 	@Value("${media.folder.static}")
 	private String staticFolder;
 
@@ -34,16 +43,28 @@ public class FileController {
 		return ResponseEntity.ok("File was uploaded: " + fileName);
 	}
 
+	@PostMapping("/presigned-uploads")
+	public ResponseEntity<PresignedUploadResponse> createPresignedUpload(
+			@RequestBody @Valid PresignedUploadRequest request
+	) {
+		return ResponseEntity.ok(directUploadService.createUpload(request));
+	}
+
+	@PostMapping("/presigned-uploads/{fileName}/confirm")
+	public ResponseEntity<String> confirmPresignedUpload(@PathVariable String fileName) {
+		String confirmedFileName = directUploadService.confirmUpload(fileName);
+
+		return ResponseEntity.ok("File was uploaded: " + confirmedFileName);
+	}
+
 	@GetMapping("/{filename}")
 	public void getFile(
 			@PathVariable String filename,
 			@RequestParam String folderName,
+			HttpServletRequest httpServletRequest,
 			HttpServletResponse httpServletResponse
 	) throws IOException {
-		InputStream resourceFile = fileService.getFile(folderName, filename);
-
-		httpServletResponse.setContentType(MediaType.ALL_VALUE);
-		StreamUtils.copy(resourceFile, httpServletResponse.getOutputStream());
+		mediaDownloadService.download(folderName, filename, httpServletRequest, httpServletResponse);
 	}
 
 	@PostMapping("/upload/files")
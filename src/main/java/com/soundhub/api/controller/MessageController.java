@@ -2,11 +2,15 @@ package com.soundhub.api.controller;
 
 import com.soundhub.api.Constants;
 import com.soundhub.api.dto.ChatNotificationDto;
+import com.soundhub.api.dto.ReadReceiptDto;
+import com.soundhub.api.dto.request.ReadReceiptRequest;
 import com.soundhub.api.dto.request.SendMessageRequest;
+import com.soundhub.api.dto.response.MessageSliceResponse;
 import com.soundhub.api.dto.response.UnreadMessagesResponse;
 import com.soundhub.api.exception.ApiException;
 import com.soundhub.api.model.Message;
 import com.soundhub.api.model.User;
+import com.soundhub.api.service.MessageBroadcaster;
 import com.soundhub.api.service.MessageService;
 import com.soundhub.api.service.UserService;
 import lombok.extern.slf4j.Slf4j;
@@ -18,9 +22,9 @@ import org.springframework.messaging.handler.annotation.DestinationVariable;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
 import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.UUID;
 
 @RestController
@@ -34,13 +38,13 @@ public class MessageController {
     private UserService userService;
 
     @Autowired
-    private SimpMessagingTemplate messagingTemplate;
+    private MessageBroadcaster messageBroadcaster;
 
     @MessageMapping("/chat")
     public void processMessage(@Payload SendMessageRequest sendMessageRequest) {
         Message savedMessage = messageService.sendMessage(sendMessageRequest);
 
-        messagingTemplate.convertAndSend(
+        messageBroadcaster.broadcast(
                 "/queue/messages/" + sendMessageRequest.getChatId().toString(),
                 ChatNotificationDto.builder()
                         .id(savedMessage.getId())
@@ -55,7 +59,20 @@ public class MessageController {
     @MessageMapping("/message/read/{messageId}")
     public void markMessageAsRead(@DestinationVariable UUID messageId) {
         Message message = messageService.markMessageAsRead(messageId);
-        messagingTemplate.convertAndSend("/queue/messages/read", message);
+        messageBroadcaster.broadcast(
+                "/queue/messages/read",
+                ReadReceiptDto.builder()
+                        .chatId(message.getChatId())
+                        .messageIds(List.of(message.getId()))
+                        .readCount(1)
+                        .build()
+        );
+    }
+
+    @MessageMapping("/message/read")
+    public void markMessagesAsRead(@Payload ReadReceiptRequest readReceiptRequest) {
+        ReadReceiptDto receipt = messageService.markMessagesAsRead(readReceiptRequest);
+        messageBroadcaster.broadcast("/queue/messages/read", receipt);
     }
 
     @MessageMapping("/message/delete/{messageId}")
@@ -67,7 +84,7 @@ public class MessageController {
         User user = userService.getUserById(UUID.fromString(userId));
 
         UUID deletedMsgId = messageService.deleteMessageById(messageId, user);
-        messagingTemplate.convertAndSend("/queue/messages/delete", deletedMsgId);
+        messageBroadcaster.broadcast("/queue/messages/delete", deletedMsgId);
     }
 
     @GetMapping("/chat/{chatId}")
@@ -89,9 +106,24 @@ public class MessageController {
         return new ResponseEntity<>(chatMessages, HttpStatus.OK);
     }
 
+    @GetMapping(value = "/chat/{chatId}", params = "cursor")
+    public ResponseEntity<MessageSliceResponse> getChatMessagesBefore(
+            @PathVariable UUID chatId,
+            @RequestParam String cursor,
+            @RequestParam(defaultValue = Constants.DEFAULT_MESSAGE_PAGE_SIZE) int size
+    ) {
+        User currentUser = userService.getCurrentUser();
+        MessageSliceResponse slice = messageService.findMessagesByChatIdBefore(chatId, currentUser, cursor, size);
+
+        log.debug("getChatMessagesBefore[1]: {} messages, has more: {}", slice.getMessages().size(), slice.isHasMore());
+        return new ResponseEntity<>(slice, HttpStatus.OK);
+    }
+
     @GetMapping("/unread")
-    public ResponseEntity<UnreadMessagesResponse> getUnreadMessages() {
-        return new ResponseEntity<>(messageService.getUnreadMessages(), HttpStatus.OK);
+    public ResponseEntity<UnreadMessagesResponse> getUnreadMessages(
+            @RequestParam(defaultValue = Constants.DEFAULT_UNREAD_MESSAGES_LIMIT) int limit
+    ) {
+        return new ResponseEntity<>(messageService.getUnreadMessages(limit), HttpStatus.OK);
     }
 
 
@@ -2,6 +2,8 @@ package com.soundhub.api.controller;
 
 import com.soundhub.api.Constants;
 import com.soundhub.api.dto.UserDto;
+import com.soundhub.api.dto.UserSummaryDto;
+import com.soundhub.api.dto.UserSuggestionDto;
 import com.soundhub.api.dto.request.CompatibleUsersRequest;
 import com.soundhub.api.dto.response.CompatibleUsersResponse;
 import com.soundhub.api.dto.response.UserExistenceResponse;
@@ -81,11 +83,12 @@ public class UserController {
     }
 
     @GetMapping("/recommendedFriends")
-    public ResponseEntity<List<UserDto>> getRecommendedFriends() {
-        List<User> potentialFriends = userService.getRecommendedFriends();
-        List<UserDto> userDtos = potentialFriends.stream().map(userMapper::userToUserDto).toList();
-
-        return new ResponseEntity<>(userDtos, HttpStatus.OK);
+    public ResponseEntity<List<UserSummaryDto>> getRecommendedFriends(
+            @RequestParam(defaultValue = Constants.DEFAULT_RECOMMENDED_FRIENDS_PAGE) int page,
+            @RequestParam(defaultValue = Constants.DEFAULT_RECOMMENDED_FRIENDS_PAGE_SIZE) int size
+    ) {
+        List<UserSummaryDto> potentialFriends = userService.getRecommendedFriends(page, size);
+        return new ResponseEntity<>(potentialFriends, HttpStatus.OK);
     }
 
     @GetMapping("/{userId}/friends")
@@ -97,8 +100,12 @@ public class UserController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<List<UserDto>> searchUsersByFullName(@RequestParam String name) {
-        List<User> users = userService.searchByFullName(name);
+    public ResponseEntity<List<UserDto>> searchUsersByFullName(
+            @RequestParam String name,
+            @RequestParam(defaultValue = Constants.DEFAULT_USER_SEARCH_PAGE) int page,
+            @RequestParam(defaultValue = Constants.DEFAULT_USER_SEARCH_PAGE_SIZE) int size
+    ) {
+        List<User> users = userService.searchByFullName(name, page, size);
         List<UserDto> usersDtoList = users.stream().map(userMapper::userToUserDto).toList();
 
         if (users.isEmpty()) {
@@ -108,6 +115,14 @@ public class UserController {
         return new ResponseEntity<>(usersDtoList, HttpStatus.OK);
     }
 
+    @GetMapping("/search/autocomplete")
+    public ResponseEntity<List<UserSuggestionDto>> autocompleteUsers(
+            @RequestParam String query,
+            @RequestParam(defaultValue = Constants.DEFAULT_AUTOCOMPLETE_LIMIT) int limit
+    ) {
+        return new ResponseEntity<>(userService.autocomplete(query, limit), HttpStatus.OK);
+    }
+
     @PutMapping("/user/online")
     public ResponseEntity<UserDto> updateUserOnline(@RequestParam(name = "value") boolean online) {
         User toggledUser = userService.updateUserOnline(online);
@@ -119,8 +134,18 @@ public class UserController {
     @PostMapping("/compatibleUsers")
     public ResponseEntity<CompatibleUsersResponse> findCompatibilityPercentage(@RequestBody CompatibleUsersRequest requestBody) {
         List<UUID> userIds = requestBody.getListUsersCompareWith();
-        CompatibleUsersResponse response = userCompatibilityService.findCompatibilityPercentage(userIds);
+        CompatibleUsersResponse response = userCompatibilityService.findCompatibilityPercentage(
+                userIds, requestBody.isSortByCompatibility(), requestBody.getLimit()
+        );
+
+        return new ResponseEntity<>(response, HttpStatus.OK);
+    }
 
+    @GetMapping("/compatibleUsers/top")
+    public ResponseEntity<CompatibleUsersResponse> findMostCompatibleUsers(
+            @RequestParam(defaultValue = Constants.DEFAULT_COMPATIBLE_USERS_LIMIT) int limit
+    ) {
+        CompatibleUsersResponse response = userCompatibilityService.findMostCompatibleUsers(limit);
         return new ResponseEntity<>(response, HttpStatus.OK);
     }
 }
\ No newline at end of file
@@ -0,0 +1,31 @@
+package com.soundhub.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.lang.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ChatSummaryDto {
+	private UUID id;
+	private Boolean isGroup;
+	private String chatName;
+	private String chatImage;
+	private UUID createdById;
+	private long totalMessages;
+	private long unreadCount;
+
+	@Nullable
+	private MessagePreviewDto lastMessage;
+
+	@Builder.Default
+	private List<UserSummaryDto> participants = new ArrayList<>();
+}
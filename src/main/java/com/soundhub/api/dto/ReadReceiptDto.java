@@ -0,0 +1,29 @@
+package com.soundhub.api.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ReadReceiptDto {
+	private UUID chatId;
+
+	@Nullable
+	private UUID readerId;
+
+	@Nullable
+	private UUID upToMessageId;
+
+	@Nullable
+	private List<UUID> messageIds;
+
+	private int readCount;
+}
@@ -0,0 +1,36 @@
+package com.soundhub.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.soundhub.api.model.Genre;
+import com.soundhub.api.model.TransformableUser;
+import com.soundhub.api.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UserSuggestionDto implements TransformableUser {
+	private UUID id;
+	private String firstName;
+	private String lastName;
+	private String avatarUrl;
+
+	@Override
+	@JsonIgnore
+	public List<User> getFriends() {
+		return List.of();
+	}
+
+	@Override
+	@JsonIgnore
+	public List<Genre> getFavoriteGenres() {
+		return List.of();
+	}
+}
@@ -0,0 +1,46 @@
+package com.soundhub.api.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.soundhub.api.Constants;
+import com.soundhub.api.model.Genre;
+import com.soundhub.api.model.TransformableUser;
+import com.soundhub.api.model.User;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class UserSummaryDto implements TransformableUser {
+	private UUID id;
+	private String firstName;
+	private String lastName;
+	private String avatarUrl;
+	private boolean online;
+
+	@JsonSerialize(using = LocalDateTimeSerializer.class)
+	@JsonFormat(pattern = Constants.LOCAL_DATETIME_FORMAT)
+	private LocalDateTime lastOnline;
+
+	@Override
+	@JsonIgnore
+	public List<User> getFriends() {
+		return List.of();
+	}
+
+	@Override
+	@JsonIgnore
+	public List<Genre> getFavoriteGenres() {
+		return List.of();
+	}
+}
@@ -14,4 +14,6 @@ import java.util.UUID;
 @Builder
 public class CompatibleUsersRequest {
     private List<UUID> listUsersCompareWith;
+    private boolean sortByCompatibility;
+    private Integer limit;
 }
@@ -0,0 +1,27 @@
+package com.soundhub.api.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PresignedUploadRequest {
+	// only the extension is kept, the file is stored under a generated name
+	@NotBlank
+	@Size(max = 255)
+	private String fileName;
+
+	@NotBlank
+	@Size(max = 100)
+	private String contentType;
+
+	@Positive
+	private long contentLength;
+}
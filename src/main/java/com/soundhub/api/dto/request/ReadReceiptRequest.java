@@ -0,0 +1,27 @@
+package com.soundhub.api.dto.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.lang.Nullable;
+
+import java.util.List;
+import java.util.UUID;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ReadReceiptRequest {
+	private UUID chatId;
+	private UUID userId;
+
+	// either everything up to (and including) this message is read...
+	@Nullable
+	private UUID upToMessageId;
+
+	// ...or exactly these messages
+	@Nullable
+	private List<UUID> messageIds;
+}
@@ -0,0 +1,21 @@
+package com.soundhub.api.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PresignedUploadResponse {
+	private String fileName;
+	private String uploadUrl;
+	private String method;
+	private Map<String, String> headers;
+	private Instant expiresAt;
+}
@@ -7,6 +7,8 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 
 @Data
 @AllArgsConstructor
@@ -14,5 +16,6 @@ import java.util.List;
 @Builder
 public class UnreadMessagesResponse {
     private List<Message> messages;
-    private int count;
+    private long count;
+    private Map<UUID, Long> chats;
 }
@@ -43,7 +43,8 @@ public class Chat {
     private String chatName;
 
     @Column(name = "total_messages")
-    private Long totalMessages;
+    @Builder.Default
+    private Long totalMessages = 0L;
 
     @Override
     public String toString() {
@@ -0,0 +1,45 @@
+package com.soundhub.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.util.UUID;
+
+/**
+ * Number of messages in a chat that a participant hasn't read yet.
+ * One row per (chat, participant), maintained by {@code UnreadMessageService}.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@IdClass(ChatUnreadCounter.Key.class)
+@Table(
+		name = "chat_unread_counters",
+		indexes = @Index(name = "idx_chat_unread_counters_user", columnList = "user_id")
+)
+public class ChatUnreadCounter {
+	@Id
+	@Column(name = "chat_id")
+	private UUID chatId;
+
+	@Id
+	@Column(name = "user_id")
+	private UUID userId;
+
+	@Column(name = "unread_count", nullable = false)
+	private long unreadCount;
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Key implements Serializable {
+		private UUID chatId;
+		private UUID userId;
+	}
+}
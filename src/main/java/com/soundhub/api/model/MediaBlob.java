@@ -0,0 +1,37 @@
+package com.soundhub.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+
+/**
+ * A stored media file addressed by the SHA-256 of its content.
+ * {@code refCount} counts the posts and avatars pointing at it; the file is removed at zero.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table(name = "media_blobs")
+public class MediaBlob {
+	@Id
+	@Column(name = "content_key", length = 80)
+	private String contentKey;
+
+	@Column(name = "ref_count", nullable = false)
+	private long refCount;
+
+	@Column(name = "content_length", nullable = false)
+	private long contentLength;
+
+	@Column(name = "content_type")
+	private String contentType;
+
+	@Column(name = "created_at", nullable = false)
+	private LocalDateTime createdAt;
+}
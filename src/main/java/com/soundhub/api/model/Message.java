@@ -9,6 +9,7 @@ import lombok.EqualsAndHashCode;
 import lombok.NoArgsConstructor;
 import lombok.experimental.SuperBuilder;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 
 @Entity
@@ -16,7 +17,10 @@ import java.util.UUID;
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
-@Table(name = "messages")
+@Table(
+        name = "messages",
+        indexes = @Index(name = "idx_messages_chat_sent_at", columnList = "chat_id, sent_at, id")
+)
 @SuperBuilder
 public class Message extends ContentEntity {
     @Column(name = "isRead")
@@ -30,6 +34,19 @@ public class Message extends ContentEntity {
     @JsonIgnore
     private Chat chat;
 
+    // copy of createdAt kept next to chat_id, so chat history can be paged by an index;
+    // rows older than the column are filled, and the column made NOT NULL, by MessageSentAtBackfill
+    @Column(name = "sent_at")
+    @JsonIgnore
+    private LocalDateTime sentAt;
+
+    @PrePersist
+    private void fillSentAt() {
+        if (sentAt == null) {
+            sentAt = createdAt;
+        }
+    }
+
     @JsonProperty("chat_id")
     public UUID getChatId() {
         return chat.getId();
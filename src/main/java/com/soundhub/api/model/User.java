@@ -12,6 +12,7 @@ import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 import lombok.*;
+import org.hibernate.annotations.BatchSize;
 import org.hibernate.annotations.UuidGenerator;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
@@ -74,31 +75,45 @@ public class User implements UserDetails, TransformableUser {
     @Column(name = "description")
     private String description;
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    // collections are lazy: authentication and most lookups only need the scalar fields.
+    // Batch fetching keeps lists of users at one query per collection instead of one per user.
+    @ElementCollection
+    @BatchSize(size = Constants.USER_COLLECTION_BATCH_SIZE)
     @Builder.Default
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<String> languages = new ArrayList<>();
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany
     @JoinTable(
             name = "user_friends",
             joinColumns = @JoinColumn(name = "user_id"),
-            inverseJoinColumns = @JoinColumn(name = "friend_id"))
+            inverseJoinColumns = @JoinColumn(name = "friend_id"),
+            indexes = @Index(name = "idx_user_friends_user", columnList = "user_id, friend_id"))
+    @BatchSize(size = Constants.USER_COLLECTION_BATCH_SIZE)
     @JsonIgnore
     @Builder.Default
     @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<User> friends = new ArrayList<>();
 
-    @ManyToMany(fetch = FetchType.EAGER)
+    @ManyToMany
     @JoinTable(
             name = "user_favorite_genres",
             joinColumns = @JoinColumn(name = "user_id"),
             inverseJoinColumns = @JoinColumn(name = "genre_id")
     )
+    @BatchSize(size = Constants.USER_COLLECTION_BATCH_SIZE)
     @Builder.Default
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<Genre> favoriteGenres = new ArrayList<>();
 
-    @ElementCollection(fetch = FetchType.EAGER)
+    @ElementCollection
+    @BatchSize(size = Constants.USER_COLLECTION_BATCH_SIZE)
     @Builder.Default
+    @ToString.Exclude
+    @EqualsAndHashCode.Exclude
     private List<UUID> favoriteArtistsMbids = new ArrayList<>();
 
     @Column(name = "role")
@@ -0,0 +1,47 @@
+package com.soundhub.api.model;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * A precomputed friend candidate for a user, ranked by {@code score}.
+ * Rows are rebuilt periodically by {@code LocalRecommendationServiceImpl}; a row whose candidate is
+ * the user themselves only records that no candidates were found at {@code computedAt}.
+ */
+@Entity
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@IdClass(UserRecommendation.Key.class)
+@Table(name = "user_recommendations")
+public class UserRecommendation {
+	@Id
+	@Column(name = "user_id")
+	private UUID userId;
+
+	@Id
+	@Column(name = "candidate_id")
+	private UUID candidateId;
+
+	@Column(name = "score", nullable = false)
+	private float score;
+
+	@Column(name = "computed_at", nullable = false)
+	private LocalDateTime computedAt;
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Key implements Serializable {
+		private UUID userId;
+		private UUID candidateId;
+	}
+}
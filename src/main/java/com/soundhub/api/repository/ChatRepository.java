@@ -2,11 +2,16 @@ package com.soundhub.api.repository;
 
 import com.soundhub.api.model.Chat;
 import com.soundhub.api.model.User;
+import com.soundhub.api.repository.projection.ChatParticipantView;
+import com.soundhub.api.repository.projection.ChatSummaryView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -18,4 +23,47 @@ public interface ChatRepository extends JpaRepository<Chat, UUID> {
 
     @Query("SELECT c FROM Chat c WHERE c.isGroup = false AND :sender MEMBER OF c.participants AND :recipient MEMBER OF c.participants")
     Optional<Chat> findSingleChatByUsers(@Param("sender") User sender, @Param("recipient") User recipient);
+
+    @Query(value = """
+            SELECT c.id AS "id", c.is_group AS "isGroup", c.chat_name AS "chatName",
+                   c.chat_image AS "chatImage", c.created_by_id AS "createdById",
+                   c.total_messages AS "totalMessages", COALESCE(uc.unread_count, 0) AS "unreadCount",
+                   lm.id AS "lastMessageId", lm.user_id AS "lastMessageAuthorId",
+                   lm.content AS "lastMessageContent", lm.created_at AS "lastMessageCreatedAt"
+            FROM chats c
+            JOIN chat_participants me ON me.chat_id = c.id AND me.participant_id = :userId
+            LEFT JOIN chat_unread_counters uc ON uc.chat_id = c.id AND uc.user_id = :userId
+            LEFT JOIN LATERAL (
+                SELECT m.id, ce.user_id, ce.content, ce.created_at
+                FROM messages m JOIN content_entity ce ON ce.id = m.id
+                WHERE m.chat_id = c.id
+                ORDER BY m.sent_at DESC, m.id DESC
+                LIMIT 1
+            ) lm ON true
+            ORDER BY lm.created_at DESC NULLS LAST
+            """, nativeQuery = true)
+    List<ChatSummaryView> findChatSummariesByUserId(@Param("userId") UUID userId);
+
+    @Query("SELECT c.id AS chatId, u.id AS id, u.firstName AS firstName, u.lastName AS lastName, " +
+            "u.avatarUrl AS avatarUrl, u.online AS online, u.lastOnline AS lastOnline " +
+            "FROM Chat c JOIN c.participants u WHERE c.id IN :chatIds")
+    List<ChatParticipantView> findParticipantsByChatIds(@Param("chatIds") Collection<UUID> chatIds);
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE Chat c SET c.totalMessages = COALESCE(c.totalMessages, 0) + :delta WHERE c.id = :chatId")
+    int incrementTotalMessages(@Param("chatId") UUID chatId, @Param("delta") long delta);
+
+    @Transactional
+    @Modifying
+    @Query(value = """
+            UPDATE chats c SET total_messages = counted.total
+            FROM (
+                SELECT ch.id AS chat_id, COUNT(m.id) AS total
+                FROM chats ch LEFT JOIN messages m ON m.chat_id = ch.id
+                GROUP BY ch.id
+            ) counted
+            WHERE c.id = counted.chat_id AND c.total_messages IS DISTINCT FROM counted.total
+            """, nativeQuery = true)
+    int reconcileTotalMessages();
 }
@@ -0,0 +1,102 @@
+package com.soundhub.api.repository;
+
+import com.soundhub.api.model.ChatUnreadCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface ChatUnreadCounterRepository extends JpaRepository<ChatUnreadCounter, ChatUnreadCounter.Key> {
+	@Query("SELECT c FROM ChatUnreadCounter c WHERE c.userId = :userId AND c.unreadCount > 0")
+	List<ChatUnreadCounter> findNonZeroByUserId(@Param("userId") UUID userId);
+
+	@Transactional
+	@Modifying
+	@Query(value = """
+			INSERT INTO chat_unread_counters (chat_id, user_id, unread_count)
+			SELECT p.chat_id, p.participant_id, 1
+			FROM chat_participants p
+			WHERE p.chat_id = :chatId AND p.participant_id <> :authorId
+			ON CONFLICT (chat_id, user_id)
+			DO UPDATE SET unread_count = chat_unread_counters.unread_count + 1
+			""", nativeQuery = true)
+	int incrementForRecipients(@Param("chatId") UUID chatId, @Param("authorId") UUID authorId);
+
+	@Transactional
+	@Modifying
+	@Query(value = """
+			UPDATE chat_unread_counters
+			SET unread_count = GREATEST(unread_count - :delta, 0)
+			WHERE chat_id = :chatId AND user_id <> :authorId
+			""", nativeQuery = true)
+	int decrementForRecipients(
+			@Param("chatId") UUID chatId,
+			@Param("authorId") UUID authorId,
+			@Param("delta") long delta
+	);
+
+	@Transactional
+	@Modifying
+	@Query(value = """
+			UPDATE chat_unread_counters
+			SET unread_count = GREATEST(unread_count - :delta, 0)
+			WHERE chat_id = :chatId AND user_id = :userId
+			""", nativeQuery = true)
+	int decrementForUser(
+			@Param("chatId") UUID chatId,
+			@Param("userId") UUID userId,
+			@Param("delta") long delta
+	);
+
+	@Transactional
+	@Modifying
+	@Query(value = """
+			INSERT INTO chat_unread_counters (chat_id, user_id, unread_count)
+			SELECT p.chat_id, p.participant_id, COUNT(m.id)
+			FROM chat_participants p
+			LEFT JOIN (messages m JOIN content_entity ce ON ce.id = m.id)
+				ON m.chat_id = p.chat_id AND m.is_read = false AND ce.user_id <> p.participant_id
+			WHERE p.chat_id = :chatId
+			GROUP BY p.chat_id, p.participant_id
+			ON CONFLICT (chat_id, user_id)
+			DO UPDATE SET unread_count = EXCLUDED.unread_count
+			""", nativeQuery = true)
+	int recountChat(@Param("chatId") UUID chatId);
+
+	@Transactional
+	@Modifying
+	@Query(value = """
+			INSERT INTO chat_unread_counters (chat_id, user_id, unread_count)
+			SELECT p.chat_id, p.participant_id, COUNT(m.id)
+			FROM chat_participants p
+			LEFT JOIN (messages m JOIN content_entity ce ON ce.id = m.id)
+				ON m.chat_id = p.chat_id AND m.is_read = false AND ce.user_id <> p.participant_id
+			GROUP BY p.chat_id, p.participant_id
+			ON CONFLICT (chat_id, user_id)
+			DO UPDATE SET unread_count = EXCLUDED.unread_count
+			WHERE chat_unread_counters.unread_count IS DISTINCT FROM EXCLUDED.unread_count
+			""", nativeQuery = true)
+	int recountAll();
+
+	@Transactional
+	@Modifying
+	@Query(value = """
+			DELETE FROM chat_unread_counters c
+			WHERE NOT EXISTS (
+				SELECT 1 FROM chat_participants p
+				WHERE p.chat_id = c.chat_id AND p.participant_id = c.user_id
+			)
+			""", nativeQuery = true)
+	int deleteDetached();
+
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM ChatUnreadCounter c WHERE c.chatId = :chatId")
+	void deleteAllByChatId(@Param("chatId") UUID chatId);
+}
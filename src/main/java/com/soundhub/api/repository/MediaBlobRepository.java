@@ -0,0 +1,51 @@
+package com.soundhub.api.repository;
+
+import com.soundhub.api.model.MediaBlob;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Optional;
+
+/**
+ * Reference counts commit on their own: the files they guard are written and deleted
+ * outside any database transaction, so they must not roll back with the caller's.
+ */
+@Repository
+public interface MediaBlobRepository extends JpaRepository<MediaBlob, String> {
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	@Modifying
+	@Query("UPDATE MediaBlob b SET b.refCount = b.refCount + 1 WHERE b.contentKey = :contentKey")
+	int incrementRefCount(@Param("contentKey") String contentKey);
+
+	/**
+	 * Locks the row until the caller's transaction ends; reference count updates of other instances wait for it.
+	 */
+	@Transactional(propagation = Propagation.MANDATORY)
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT b FROM MediaBlob b WHERE b.contentKey = :contentKey")
+	Optional<MediaBlob> findByIdForUpdate(@Param("contentKey") String contentKey);
+
+	/**
+	 * Inserts the first reference; fails on a duplicate key instead of overwriting a concurrent insert.
+	 */
+	@Transactional(propagation = Propagation.REQUIRES_NEW)
+	@Modifying
+	@Query(value = """
+			INSERT INTO media_blobs (content_key, ref_count, content_length, content_type, created_at)
+			VALUES (:contentKey, 1, :contentLength, :contentType, :createdAt)
+			""", nativeQuery = true)
+	int insertFirstReference(
+			@Param("contentKey") String contentKey,
+			@Param("contentLength") long contentLength,
+			@Param("contentType") String contentType,
+			@Param("createdAt") LocalDateTime createdAt
+	);
+}
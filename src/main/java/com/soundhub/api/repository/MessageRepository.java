@@ -9,6 +9,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.UUID;
 
@@ -20,4 +21,47 @@ public interface MessageRepository extends JpaRepository<Message, UUID> {
 
     Page<Message> findByChat_Id(@Param("chatId") UUID chatId, Pageable pageable);
     List<Message> findAllByChat_Id(@Param("chatId") UUID chatId);
+
+    @Query("SELECT m FROM Message m WHERE m.chat.id = :chatId ORDER BY m.sentAt DESC, m.id DESC")
+    List<Message> findLatestByChatId(@Param("chatId") UUID chatId, Pageable pageable);
+
+    @Query("SELECT m FROM Message m WHERE m.chat.id = :chatId " +
+            "AND (m.sentAt < :sentAt OR (m.sentAt = :sentAt AND m.id < :id)) " +
+            "ORDER BY m.sentAt DESC, m.id DESC")
+    List<Message> findByChatIdBefore(
+            @Param("chatId") UUID chatId,
+            @Param("sentAt") LocalDateTime sentAt,
+            @Param("id") UUID id,
+            Pageable pageable
+    );
+
+    @Modifying
+    @Query(value = "UPDATE messages SET is_read = true WHERE id = :id AND is_read = false", nativeQuery = true)
+    int markReadById(@Param("id") UUID id);
+
+    @Modifying
+    @Query(value = "UPDATE messages m SET is_read = true FROM content_entity ce " +
+            "WHERE ce.id = m.id AND m.chat_id = :chatId AND m.is_read = false AND ce.user_id <> :readerId " +
+            "AND (m.sent_at < :sentAt OR (m.sent_at = :sentAt AND m.id <= :id))", nativeQuery = true)
+    int markReadUpTo(
+            @Param("chatId") UUID chatId,
+            @Param("readerId") UUID readerId,
+            @Param("sentAt") LocalDateTime sentAt,
+            @Param("id") UUID id
+    );
+
+    @Modifying
+    @Query(value = "UPDATE messages m SET is_read = true FROM content_entity ce " +
+            "WHERE ce.id = m.id AND m.chat_id = :chatId AND m.is_read = false AND ce.user_id <> :readerId " +
+            "AND m.id IN (:ids)", nativeQuery = true)
+    int markReadByIds(
+            @Param("chatId") UUID chatId,
+            @Param("readerId") UUID readerId,
+            @Param("ids") List<UUID> ids
+    );
+
+    @Query("SELECT m FROM Message m JOIN m.chat c JOIN c.participants p " +
+            "WHERE p.id = :userId AND m.isRead = false AND m.author.id <> :userId " +
+            "ORDER BY m.createdAt DESC")
+    List<Message> findUnreadByRecipientId(@Param("userId") UUID userId, Pageable pageable);
 }
@@ -0,0 +1,42 @@
+package com.soundhub.api.repository;
+
+import com.soundhub.api.model.UserRecommendation;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface UserRecommendationRepository extends JpaRepository<UserRecommendation, UserRecommendation.Key> {
+	@Query("SELECT r.candidateId FROM UserRecommendation r WHERE r.userId = :userId AND r.candidateId <> r.userId " +
+			"ORDER BY r.score DESC, r.candidateId")
+	List<UUID> findCandidateIdsByUserId(@Param("userId") UUID userId, Pageable pageable);
+
+	boolean existsByUserIdAndCandidateIdAndComputedAtAfter(UUID userId, UUID candidateId, LocalDateTime computedAfter);
+
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM UserRecommendation r WHERE r.userId = :userId")
+	int deleteAllByUserId(@Param("userId") UUID userId);
+
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM UserRecommendation r WHERE r.userId = :userId OR r.candidateId = :userId")
+	int deleteAllInvolving(@Param("userId") UUID userId);
+
+	/**
+	 * Swaps a user's candidates in one transaction, so readers never see a half-written list.
+	 */
+	@Transactional
+	default void replaceForUser(UUID userId, List<UserRecommendation> recommendations) {
+		deleteAllByUserId(userId);
+		saveAll(recommendations);
+	}
+}
@@ -1,10 +1,21 @@
 package com.soundhub.api.repository;
 
+import com.soundhub.api.enums.InviteStatus;
 import com.soundhub.api.model.User;
+import com.soundhub.api.repository.projection.MutualFriendsView;
+import com.soundhub.api.repository.projection.UserCardView;
+import com.soundhub.api.repository.projection.UserNameView;
+import com.soundhub.api.repository.projection.UserTasteView;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -13,14 +24,61 @@ import java.util.UUID;
 public interface UserRepository extends JpaRepository<User, UUID> {
     Optional<User> findByEmail(String email);
 
+    @EntityGraph(attributePaths = {"friends"})
+    @Query("SELECT u FROM User u WHERE u.id = :id")
+    Optional<User> findWithFriendsById(@Param("id") UUID id);
+
     Boolean existsByEmail(String email);
 
     @Query("SELECT u FROM User u WHERE u.id IN :userIds")
     List<User> findByUserIds(List<UUID> userIds);
 
-    @Query("SELECT u FROM User u WHERE LOWER(u.firstName) LIKE LOWER(CONCAT('%', :firstName, '%')) OR LOWER(u.lastName) LIKE LOWER(CONCAT('%', :lastName, '%'))")
-    List<User> searchByFirstNameOrLastName(String firstName, String lastName);
+    @Query("SELECT u.id AS userId, a AS tasteId FROM User u JOIN u.favoriteArtistsMbids a")
+    List<UserTasteView> findAllFavoriteArtists();
+
+    @Query("SELECT u.id AS userId, g.id AS tasteId FROM User u JOIN u.favoriteGenres g")
+    List<UserTasteView> findAllFavoriteGenres();
+
+    @Query("SELECT u.id FROM User u ORDER BY u.id")
+    Page<UUID> findAllIds(Pageable pageable);
+
+    @Query("SELECT u.id AS id, u.firstName AS firstName, u.lastName AS lastName, u.avatarUrl AS avatarUrl FROM User u ORDER BY u.id")
+    Slice<UserNameView> findAllNames(Pageable pageable);
+
+    @Query("SELECT f.id FROM User u JOIN u.friends f WHERE u.id = :userId")
+    List<UUID> findFriendIdsByUserId(@Param("userId") UUID userId);
+
+    @Query("""
+            SELECT ff.id AS candidateId, COUNT(f) AS mutualFriends
+            FROM User u JOIN u.friends f JOIN f.friends ff
+            WHERE u.id = :userId AND ff.id <> :userId AND ff NOT MEMBER OF u.friends
+            GROUP BY ff.id
+            ORDER BY COUNT(f) DESC, ff.id
+            """)
+    List<MutualFriendsView> findFriendsOfFriends(@Param("userId") UUID userId, Pageable pageable);
 
-    @Query("SELECT u FROM User u WHERE LOWER(u.firstName) LIKE LOWER(CONCAT('%', :firstName, '%')) AND LOWER(u.lastName) LIKE LOWER(CONCAT('%', :lastName, '%'))")
-    List<User> searchByFirstNameAndLastName(String firstName, String lastName);
+    /**
+     * Cards of the given candidates, leaving out the user, their friends and anyone
+     * with a pending invite between the two in either direction.
+     */
+    @Query("""
+            SELECT u.id AS id, u.firstName AS firstName, u.lastName AS lastName,
+                   u.avatarUrl AS avatarUrl, u.online AS online, u.lastOnline AS lastOnline
+            FROM User u
+            WHERE u.id IN :candidateIds AND u.id <> :userId
+              AND NOT EXISTS (
+                  SELECT 1 FROM User me JOIN me.friends f WHERE me.id = :userId AND f.id = u.id
+              )
+              AND NOT EXISTS (
+                  SELECT 1 FROM Invite i
+                  WHERE i.status = :pendingStatus
+                    AND ((i.sender.id = :userId AND i.recipient.id = u.id)
+                      OR (i.sender.id = u.id AND i.recipient.id = :userId))
+              )
+            """)
+    List<UserCardView> findRecommendationCards(
+            @Param("userId") UUID userId,
+            @Param("candidateIds") Collection<UUID> candidateIds,
+            @Param("pendingStatus") InviteStatus pendingStatus
+    );
 }
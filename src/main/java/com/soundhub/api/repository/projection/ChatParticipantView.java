@@ -0,0 +1,20 @@
+package com.soundhub.api.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface ChatParticipantView {
+	UUID getChatId();
+
+	UUID getId();
+
+	String getFirstName();
+
+	String getLastName();
+
+	String getAvatarUrl();
+
+	boolean isOnline();
+
+	LocalDateTime getLastOnline();
+}
@@ -0,0 +1,28 @@
+package com.soundhub.api.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface ChatSummaryView {
+	UUID getId();
+
+	Boolean getIsGroup();
+
+	String getChatName();
+
+	String getChatImage();
+
+	UUID getCreatedById();
+
+	Long getTotalMessages();
+
+	Long getUnreadCount();
+
+	UUID getLastMessageId();
+
+	UUID getLastMessageAuthorId();
+
+	String getLastMessageContent();
+
+	LocalDateTime getLastMessageCreatedAt();
+}
@@ -0,0 +1,9 @@
+package com.soundhub.api.repository.projection;
+
+import java.util.UUID;
+
+public interface MutualFriendsView {
+	UUID getCandidateId();
+
+	long getMutualFriends();
+}
@@ -0,0 +1,18 @@
+package com.soundhub.api.repository.projection;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+public interface UserCardView {
+	UUID getId();
+
+	String getFirstName();
+
+	String getLastName();
+
+	String getAvatarUrl();
+
+	boolean isOnline();
+
+	LocalDateTime getLastOnline();
+}
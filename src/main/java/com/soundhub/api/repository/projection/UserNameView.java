@@ -0,0 +1,13 @@
+package com.soundhub.api.repository.projection;
+
+import java.util.UUID;
+
+public interface UserNameView {
+	UUID getId();
+
+	String getFirstName();
+
+	String getLastName();
+
+	String getAvatarUrl();
+}
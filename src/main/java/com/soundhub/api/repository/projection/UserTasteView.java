@@ -0,0 +1,9 @@
+package com.soundhub.api.repository.projection;
+
+import java.util.UUID;
+
+public interface UserTasteView {
+	UUID getUserId();
+
+	UUID getTasteId();
+}
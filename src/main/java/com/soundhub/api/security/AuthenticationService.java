@@ -85,6 +85,7 @@ public class AuthenticationService {
             String tokenValue = value.getRefreshToken();
 
             blacklistingService.blackListJwt(jwt);
+            jwtService.evict(jwt);
             refreshTokenService.deleteRefreshToken(tokenValue);
         });
 
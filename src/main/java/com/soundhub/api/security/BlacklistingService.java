@@ -1,20 +1,148 @@
 package com.soundhub.api.security;
 
 import com.soundhub.api.Constants;
-import org.springframework.cache.annotation.CachePut;
-import org.springframework.cache.annotation.Cacheable;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Revoked access tokens. Redis holds the shared list, keyed by the SHA-256 of the token
+ * and expiring together with it; every node keeps a replica in memory, updated through
+ * pub/sub and resynchronized periodically, so checking a request needs no network hop
+ * and keeps working through a short Redis outage.
+ */
+@Slf4j
 @Service
 public class BlacklistingService {
+    private static final String LEGACY_KEY_PREFIX = Constants.BLACKLIST_CACHE_NAME + "::";
+
+    // token hash -> moment (epoch ms) after which the token is expired anyway
+    private final Map<String, Long> revokedTokens = new ConcurrentHashMap<>();
+
+    // false until the replica is known to contain every revoked token
+    private volatile boolean replicaComplete = false;
+
+    @Autowired
+    private StringRedisTemplate redisTemplate;
+
+    @Autowired
+    private RedisMessageListenerContainer listenerContainer;
+
+    @Value("${token.signing.expirationInMs}")
+    private long jwtDuration;
+
+    @Value("${token.blacklist.maxLocalEntries:100000}")
+    private int maxLocalEntries;
+
+    @PostConstruct
+    private void subscribe() {
+        listenerContainer.addMessageListener(
+                (message, pattern) -> remember(new String(message.getBody(), StandardCharsets.UTF_8)),
+                new ChannelTopic(Constants.REVOKED_TOKEN_CHANNEL)
+        );
+    }
+
+    public void blackListJwt(String jwt) {
+        String tokenHash = hash(jwt);
+        remember(tokenHash);
+
+        try {
+            redisTemplate.opsForValue().set(
+                    Constants.REVOKED_TOKEN_KEY_PREFIX + tokenHash, "", Duration.ofMillis(jwtDuration)
+            );
+            redisTemplate.convertAndSend(Constants.REVOKED_TOKEN_CHANNEL, tokenHash);
+        } catch (DataAccessException e) {
+            log.error("blackListJwt[1]: token is revoked on this node only: {}", e.getMessage());
+        }
+    }
+
+    public boolean isBlacklisted(String jwt) {
+        String tokenHash = hash(jwt);
+        Long expiresAt = revokedTokens.get(tokenHash);
+
+        if (expiresAt != null) {
+            return expiresAt > System.currentTimeMillis();
+        }
+
+        if (replicaComplete) {
+            return false;
+        }
+
+        try {
+            return Boolean.TRUE.equals(redisTemplate.hasKey(Constants.REVOKED_TOKEN_KEY_PREFIX + tokenHash));
+        } catch (DataAccessException e) {
+            log.warn("isBlacklisted[1]: blacklist is unavailable, accepting token: {}", e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Reloads revoked tokens from Redis, catching up on revocations missed while
+     * the pub/sub connection was down, and drops expired entries.
+     */
+    @Scheduled(fixedDelayString = "${token.blacklist.resync-interval-ms:60000}")
+    public void resync() {
+        try {
+            load(Constants.REVOKED_TOKEN_KEY_PREFIX, false);
+            load(LEGACY_KEY_PREFIX, true);
+
+            long now = System.currentTimeMillis();
+            revokedTokens.values().removeIf(expiresAt -> expiresAt <= now);
+            replicaComplete = revokedTokens.size() < maxLocalEntries;
+
+            log.debug("resync[1]: {} revoked tokens", revokedTokens.size());
+        } catch (DataAccessException e) {
+            // keep serving from the replica, it is only as stale as the outage is long
+            log.warn("resync[1]: couldn't reload revoked tokens: {}", e.getMessage());
+        }
+    }
+
+    private void load(String keyPrefix, boolean rawTokenKeys) {
+        ScanOptions options = ScanOptions.scanOptions()
+                .match(keyPrefix + "*")
+                .count(1000)
+                .build();
+
+        try (Cursor<String> keys = redisTemplate.scan(options)) {
+            keys.forEachRemaining(key -> {
+                String value = key.substring(keyPrefix.length());
+                remember(rawTokenKeys ? hash(value) : value);
+            });
+        }
+    }
+
+    private void remember(String tokenHash) {
+        if (revokedTokens.size() >= maxLocalEntries && !revokedTokens.containsKey(tokenHash)) {
+            replicaComplete = false;
+            return;
+        }
 
-    @CachePut(value = Constants.BLACKLIST_CACHE_NAME)
-    public String blackListJwt(String jwt) {
-        return jwt;
+        revokedTokens.put(tokenHash, System.currentTimeMillis() + jwtDuration);
     }
 
-    @Cacheable(value = Constants.BLACKLIST_CACHE_NAME, unless = "#result == null")
-    public String getJwtBlacklist(String jwt) {
-        return null;
+    private static String hash(String jwt) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(jwt.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
     }
 }
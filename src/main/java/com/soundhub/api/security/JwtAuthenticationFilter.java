@@ -10,7 +10,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.data.redis.RedisConnectionFailureException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -94,11 +93,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      * Checks if the token is null or blacklisted, and sends an error response if invalid.
      */
     private boolean isTokenInvalid(String jwt) {
-        try {
-            return jwt == null || isTokenBlacklisted(jwt);
-        } catch (RedisConnectionFailureException e) {
-            return true;
-        }
+        return jwt == null || blacklistingService.isBlacklisted(jwt);
     }
 
     /**
@@ -117,14 +112,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
      */
     private void authenticateJwtToken(String jwt, HttpServletRequest request) {
         try {
-            String username = jwtService.extractUsername(jwt);
+            VerifiedToken token = jwtService.verify(jwt);
+            String username = token.subject();
             if (username == null || SecurityContextHolder.getContext().getAuthentication() != null) {
                 return;
             }
 
             UserDetails userDetails = userDetailsService.loadUserByUsername(username);
 
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+            if (jwtService.isTokenValid(token, userDetails)) {
                 SecurityContext context = SecurityContextHolder.getContext();
                 var authorities = userDetails.getAuthorities();
 
@@ -144,11 +140,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             throw new ApiException(HttpStatus.UNAUTHORIZED, e.getMessage());
         }
     }
-
-    /**
-     * Checks if the token is blacklisted in Redis.
-     */
-    private boolean isTokenBlacklisted(String jwt) throws RedisConnectionFailureException {
-        return blacklistingService.getJwtBlacklist(jwt) != null;
-    }
 }
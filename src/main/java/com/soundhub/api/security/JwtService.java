@@ -1,17 +1,17 @@
 package com.soundhub.api.security;
 
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.io.Decoders;
 import io.jsonwebtoken.security.Keys;
+import jakarta.annotation.PostConstruct;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
 import javax.crypto.SecretKey;
-import java.util.Date;
-import java.util.HashMap;
-import java.util.Map;
+import java.util.*;
 import java.util.function.Function;
 
 @Service
@@ -22,8 +22,57 @@ public class JwtService {
     @Value("${token.signing.expirationInMs}")
     private int jwtExpirationInMs;
 
+    @Value("${token.cache.maxSize:10000}")
+    private int verifiedTokensCacheSize;
+
+    private SecretKey signInKey;
+    private JwtParser parser;
+
+    // bearer token -> verified claims, so repeated requests with the same token skip signature checks
+    private Map<String, VerifiedToken> verifiedTokens;
+
+    @PostConstruct
+    private void init() {
+        signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(jwtSigningKey));
+        parser = Jwts.parser()
+                .verifyWith(signInKey)
+                .build();
+        verifiedTokens = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, VerifiedToken> eldest) {
+                return size() > verifiedTokensCacheSize;
+            }
+        });
+    }
+
+    /**
+     * Verifies the token signature and expiry once and returns its claims.
+     * Results are cached until the token expires.
+     */
+    public VerifiedToken verify(String token) {
+        VerifiedToken cached = verifiedTokens.get(token);
+
+        if (cached != null) {
+            if (!cached.isExpired()) {
+                return cached;
+            }
+            // let the parser report the expiry as it would for an unknown token
+            verifiedTokens.remove(token);
+        }
+
+        Claims claims = extractAllClaims(token);
+        VerifiedToken verified = new VerifiedToken(claims.getSubject(), claims.getExpiration(), claims.getId());
+        verifiedTokens.put(token, verified);
+
+        return verified;
+    }
+
+    public void evict(String token) {
+        verifiedTokens.remove(token);
+    }
+
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).subject();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
@@ -32,10 +81,7 @@ public class JwtService {
     }
 
     private Claims extractAllClaims(String token) {
-        return Jwts
-                .parser()
-                .verifyWith(getSignInKey())
-                .build()
+        return parser
                 .parseSignedClaims(token)
                 .getPayload();
     }
@@ -53,28 +99,19 @@ public class JwtService {
 
         return Jwts.builder()
                 .claims(extraClaims)
+                .id(UUID.randomUUID().toString())
                 .subject(userDetails.getUsername())
-                .issuedAt(new Date(System.currentTimeMillis()))
+                .issuedAt(now)
                 .expiration(expiryDate)
-                .signWith(getSignInKey())
+                .signWith(signInKey)
                 .compact();
     }
 
-    private SecretKey getSignInKey() {
-        byte[] keyBytes = Decoders.BASE64.decode(jwtSigningKey);
-        return Keys.hmacShaKeyFor(keyBytes);
-    }
-
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername()) && !isTokenExpired(token));
-    }
-
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
+        return isTokenValid(verify(token), userDetails);
     }
 
-    private Boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    public boolean isTokenValid(VerifiedToken token, UserDetails userDetails) {
+        return token.subject().equals(userDetails.getUsername()) && !token.isExpired();
     }
 }
@@ -0,0 +1,12 @@
+package com.soundhub.api.security;
+
+import java.util.Date;
+
+/**
+ * Claims of a token whose signature has already been checked.
+ */
+public record VerifiedToken(String subject, Date expiration, String id) {
+    public boolean isExpired() {
+        return expiration.before(new Date());
+    }
+}
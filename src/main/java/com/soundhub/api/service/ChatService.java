@@ -1,5 +1,6 @@
 package com.soundhub.api.service;
 
+import com.soundhub.api.dto.ChatSummaryDto;
 import com.soundhub.api.dto.request.GroupChatRequest;
 import com.soundhub.api.exception.ResourceNotFoundException;
 import com.soundhub.api.model.Chat;
@@ -15,6 +16,8 @@ public interface ChatService {
 
     List<Chat> findAllChatsByUserId(UUID userId) throws ResourceNotFoundException;
 
+    List<ChatSummaryDto> findChatSummariesByUserId(UUID userId);
+
     Chat createGroup(GroupChatRequest req, User creator);
 
     Chat addUserToGroup(UUID chatId, UUID userId) throws ResourceNotFoundException;
@@ -24,6 +27,4 @@ public interface ChatService {
     Chat renameGroup(UUID chatId, String groupName, User user);
 
     UUID deleteChat(UUID chatId) throws ResourceNotFoundException;
-
-    void updateMessageCount(UUID chatId, long messageCount);
 }
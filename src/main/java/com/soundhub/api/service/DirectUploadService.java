@@ -0,0 +1,10 @@
+package com.soundhub.api.service;
+
+import com.soundhub.api.dto.request.PresignedUploadRequest;
+import com.soundhub.api.dto.response.PresignedUploadResponse;
+
+public interface DirectUploadService {
+    PresignedUploadResponse createUpload(PresignedUploadRequest request);
+
+    String confirmUpload(String fileName);
+}
@@ -13,4 +13,6 @@ public interface FileService {
     List<String> uploadFileList(String folder, List<MultipartFile> multipartFile);
 
     InputStream getFile(String folder, String filename) throws FileNotFoundException;
+
+    void deleteFile(String folder, String filename);
 }
@@ -0,0 +1,13 @@
+package com.soundhub.api.service;
+
+import org.springframework.web.multipart.MultipartFile;
+
+import java.util.List;
+
+public interface ImageVariantService {
+    void scheduleVariants(String folder, String fileName, MultipartFile file);
+
+    void deleteVariants(String folder, String fileName);
+
+    List<Integer> getVariantWidths();
+}
@@ -0,0 +1,10 @@
+package com.soundhub.api.service;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+
+import java.io.IOException;
+
+public interface MediaDownloadService {
+    void download(String folder, String filename, HttpServletRequest request, HttpServletResponse response) throws IOException;
+}
@@ -0,0 +1,5 @@
+package com.soundhub.api.service;
+
+public interface MessageBroadcaster {
+	void broadcast(String destination, Object payload);
+}
@@ -0,0 +1,13 @@
+package com.soundhub.api.service;
+
+import java.util.UUID;
+
+public interface MessageCountService {
+	void messageAdded(UUID chatId);
+
+	void messageRemoved(UUID chatId);
+
+	void flush();
+
+	int reconcile();
+}
@@ -1,6 +1,9 @@
 package com.soundhub.api.service;
 
+import com.soundhub.api.dto.ReadReceiptDto;
+import com.soundhub.api.dto.request.ReadReceiptRequest;
 import com.soundhub.api.dto.request.SendMessageRequest;
+import com.soundhub.api.dto.response.MessageSliceResponse;
 import com.soundhub.api.dto.response.UnreadMessagesResponse;
 import com.soundhub.api.model.Message;
 import com.soundhub.api.model.User;
@@ -21,9 +24,11 @@ public interface MessageService {
         String order
     );
 
+    MessageSliceResponse findMessagesByChatIdBefore(UUID chatId, User reqUser, String cursor, int size);
+
     List<Message> findAllMessagesByChatId(UUID chatId);
 
-    UnreadMessagesResponse getUnreadMessages();
+    UnreadMessagesResponse getUnreadMessages(int limit);
 
     Message findMessageById(UUID messageId);
 
@@ -32,4 +37,6 @@ public interface MessageService {
     Message changeMessage(UUID messageId, String newContent, User reqUser);
 
     Message markMessageAsRead(UUID messageId);
+
+    ReadReceiptDto markMessagesAsRead(ReadReceiptRequest request);
 }
@@ -0,0 +1,27 @@
+package com.soundhub.api.service;
+
+import com.soundhub.api.dto.response.UnreadMessagesResponse;
+import com.soundhub.api.model.Chat;
+import com.soundhub.api.model.Message;
+
+import java.util.UUID;
+
+public interface UnreadMessageService {
+	void messageSent(Message message);
+
+	void messageRead(Message message);
+
+	void messagesRead(Chat chat, UUID readerId, int count);
+
+	void messageDeleted(Message message);
+
+	void participantAdded(UUID chatId);
+
+	void participantRemoved(UUID chatId, UUID userId);
+
+	void chatDeleted(UUID chatId);
+
+	UnreadMessagesResponse getUnreadMessages(UUID userId, int limit);
+
+	int reconcile();
+}
@@ -7,4 +7,8 @@ import java.util.UUID;
 
 public interface UserCompatibilityService {
     CompatibleUsersResponse findCompatibilityPercentage(List<UUID> listUsersCompareWith);
+
+    CompatibleUsersResponse findCompatibilityPercentage(List<UUID> listUsersCompareWith, boolean sortByCompatibility, Integer limit);
+
+    CompatibleUsersResponse findMostCompatibleUsers(int limit);
 }
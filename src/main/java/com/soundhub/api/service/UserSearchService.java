@@ -0,0 +1,9 @@
+package com.soundhub.api.service;
+
+import com.soundhub.api.model.User;
+
+import java.util.List;
+
+public interface UserSearchService {
+    List<User> searchByFullName(String query, int page, int size);
+}
@@ -1,6 +1,8 @@
 package com.soundhub.api.service;
 
 import com.soundhub.api.dto.UserDto;
+import com.soundhub.api.dto.UserSummaryDto;
+import com.soundhub.api.dto.UserSuggestionDto;
 import com.soundhub.api.dto.response.UserExistenceResponse;
 import com.soundhub.api.model.User;
 import org.springframework.web.multipart.MultipartFile;
@@ -36,9 +38,11 @@ public interface UserService {
 
     List<User> getUserFriendsById(UUID id);
 
-    List<User> searchByFullName(String name);
+    List<User> searchByFullName(String name, int page, int size);
+
+    List<UserSuggestionDto> autocomplete(String query, int limit);
 
     User updateUserOnline(boolean online);
 
-    List<User> getRecommendedFriends();
+    List<UserSummaryDto> getRecommendedFriends(int page, int size);
 }
\ No newline at end of file
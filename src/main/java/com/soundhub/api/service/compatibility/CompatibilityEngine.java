@@ -0,0 +1,65 @@
+package com.soundhub.api.service.compatibility;
+
+import com.soundhub.api.model.Genre;
+import com.soundhub.api.model.User;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Interns genre ids and artist MBIDs into dense integer indices and builds {@link TasteProfile}s from them.
+ * Indices are handed out once per distinct id and never reused, so profiles built at different times
+ * stay comparable. The dictionaries grow with the catalogue of genres and artists users have picked.
+ */
+@Component
+public class CompatibilityEngine {
+	private final Map<UUID, Integer> artistIndices = new ConcurrentHashMap<>();
+	private final Map<UUID, Integer> genreIndices = new ConcurrentHashMap<>();
+	private final AtomicInteger nextArtistIndex = new AtomicInteger();
+	private final AtomicInteger nextGenreIndex = new AtomicInteger();
+
+	public TasteProfile profileOf(User user) {
+		return profileOf(user.getFavoriteArtistsMbids(), user.getFavoriteGenres());
+	}
+
+	public TasteProfile profileOf(List<UUID> artistMbids, List<Genre> genres) {
+		List<UUID> genreIds = genres == null
+				? List.of()
+				: genres.stream().map(Genre::getId).toList();
+
+		return profileOfIds(artistMbids, genreIds);
+	}
+
+	public TasteProfile profileOfIds(Collection<UUID> artistMbids, Collection<UUID> genreIds) {
+		int[] artists = intern(artistIndices, nextArtistIndex, artistMbids);
+		int[] genres = intern(genreIndices, nextGenreIndex, genreIds);
+
+		if (artists.length == 0 && genres.length == 0) {
+			return TasteProfile.EMPTY;
+		}
+
+		return TasteProfile.of(artists, genres);
+	}
+
+	private static int[] intern(Map<UUID, Integer> indices, AtomicInteger next, Collection<UUID> ids) {
+		if (ids == null || ids.isEmpty()) {
+			return new int[0];
+		}
+
+		return ids.stream()
+				.filter(Objects::nonNull)
+				.mapToInt(id -> intern(indices, next, id))
+				.toArray();
+	}
+
+	private static int intern(Map<UUID, Integer> indices, AtomicInteger next, UUID id) {
+		Integer index = indices.get(id);
+		return index != null ? index : indices.computeIfAbsent(id, key -> next.getAndIncrement());
+	}
+}
@@ -0,0 +1,128 @@
+package com.soundhub.api.service.compatibility;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Scores a profile against a batch of candidates.
+ * Batches up to {@code threshold} candidates are scored on the calling thread; larger ones are split
+ * across a dedicated, bounded fork-join pool so a single request cannot occupy the common pool.
+ * Results are written into a presized array at the candidate's position, so no merging is needed.
+ */
+@Component
+public class CompatibilityScorer {
+	private static final int LEAF_SIZE = 512;
+
+	private final int threshold;
+	private final ForkJoinPool pool;
+
+	public CompatibilityScorer(
+			@Value("${compatibility.parallel.threshold:1000}") int threshold,
+			@Value("${compatibility.parallel.parallelism:0}") int parallelism
+	) {
+		this.threshold = threshold;
+		this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+	}
+
+	public boolean isParallel(int candidates) {
+		return candidates > threshold;
+	}
+
+	public float[] score(TasteProfile profile, List<TasteProfile> candidates) {
+		float[] scores = new float[candidates.size()];
+
+		if (isParallel(candidates.size())) {
+			pool.invoke(new ScoreTask(profile, candidates, scores, 0, scores.length));
+		} else {
+			scoreRange(profile, candidates, scores, 0, scores.length);
+		}
+
+		return scores;
+	}
+
+	/**
+	 * Returns the positions of the positive scores, in candidate order or best first when {@code sort} is set,
+	 * truncated to {@code limit} entries when it is positive.
+	 */
+	public static int[] rank(float[] scores, boolean sort, int limit) {
+		int matches = 0;
+		for (float score : scores) {
+			if (score > 0) {
+				matches++;
+			}
+		}
+
+		int size = limit > 0 ? Math.min(limit, matches) : matches;
+		int[] positions = new int[size];
+
+		if (!sort) {
+			for (int i = 0, j = 0; j < size; i++) {
+				if (scores[i] > 0) {
+					positions[j++] = i;
+				}
+			}
+			return positions;
+		}
+
+		// positive floats order like their raw bits, so score and position fit in one sortable long
+		long[] keyed = new long[matches];
+		for (int i = 0, j = 0; i < scores.length; i++) {
+			if (scores[i] > 0) {
+				keyed[j++] = ((long) Float.floatToRawIntBits(scores[i]) << 32) | (scores.length - 1 - i);
+			}
+		}
+		Arrays.sort(keyed);
+
+		for (int j = 0; j < size; j++) {
+			positions[j] = scores.length - 1 - (int) keyed[keyed.length - 1 - j];
+		}
+		return positions;
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		pool.shutdown();
+	}
+
+	private static void scoreRange(TasteProfile profile, List<TasteProfile> candidates, float[] scores, int from, int to) {
+		for (int i = from; i < to; i++) {
+			scores[i] = profile.compatibilityWith(candidates.get(i));
+		}
+	}
+
+	private static class ScoreTask extends RecursiveAction {
+		private final TasteProfile profile;
+		private final List<TasteProfile> candidates;
+		private final float[] scores;
+		private final int from;
+		private final int to;
+
+		ScoreTask(TasteProfile profile, List<TasteProfile> candidates, float[] scores, int from, int to) {
+			this.profile = profile;
+			this.candidates = candidates;
+			this.scores = scores;
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= LEAF_SIZE) {
+				scoreRange(profile, candidates, scores, from, to);
+				return;
+			}
+
+			int middle = (from + to) >>> 1;
+			invokeAll(
+					new ScoreTask(profile, candidates, scores, from, middle),
+					new ScoreTask(profile, candidates, scores, middle, to)
+			);
+		}
+	}
+}
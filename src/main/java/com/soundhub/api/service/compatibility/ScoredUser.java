@@ -0,0 +1,6 @@
+package com.soundhub.api.service.compatibility;
+
+import java.util.UUID;
+
+public record ScoredUser(UUID userId, float compatibility) {
+}
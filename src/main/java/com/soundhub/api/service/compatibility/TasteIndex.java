@@ -0,0 +1,175 @@
+package com.soundhub.api.service.compatibility;
+
+import com.soundhub.api.model.User;
+import com.soundhub.api.repository.UserRepository;
+import com.soundhub.api.repository.projection.UserTasteView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Inverted index from interned artists and genres to the users who picked them.
+ * Top-K queries only score users sharing at least one taste with the query profile,
+ * so discovery never scans the users table. The index is loaded once on startup
+ * and kept current on every node by {@link com.soundhub.api.service.impl.UserIndexSync}.
+ */
+@Slf4j
+@Component
+public class TasteIndex {
+	private static final Comparator<ScoredUser> WORST_FIRST = Comparator
+			.comparingDouble(ScoredUser::compatibility)
+			.thenComparing(ScoredUser::userId, Comparator.reverseOrder());
+
+	private final Map<UUID, TasteProfile> profiles = new ConcurrentHashMap<>();
+	private final Map<Integer, Set<UUID>> artistPostings = new ConcurrentHashMap<>();
+	private final Map<Integer, Set<UUID>> genrePostings = new ConcurrentHashMap<>();
+
+	@Value("${compatibility.index.warm-up:true}")
+	private boolean warmUpEnabled = true;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private CompatibilityEngine compatibilityEngine;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		if (!warmUpEnabled) {
+			return;
+		}
+
+		Map<UUID, List<UUID>> artists = groupByUser(userRepository.findAllFavoriteArtists());
+		Map<UUID, List<UUID>> genres = groupByUser(userRepository.findAllFavoriteGenres());
+
+		Set<UUID> userIds = new HashSet<>(artists.keySet());
+		userIds.addAll(genres.keySet());
+
+		// profiles indexed by concurrent updates while loading are newer than the snapshot
+		userIds.forEach(userId -> {
+			TasteProfile profile = compatibilityEngine.profileOfIds(
+					artists.getOrDefault(userId, List.of()),
+					genres.getOrDefault(userId, List.of())
+			);
+			indexIfAbsent(userId, profile);
+		});
+
+		log.info("warmUp[1]: indexed tastes of {} users", profiles.size());
+	}
+
+	public TasteProfile index(User user) {
+		TasteProfile profile = compatibilityEngine.profileOf(user);
+		index(user.getId(), profile);
+		return profile;
+	}
+
+	public synchronized void index(UUID userId, TasteProfile profile) {
+		unlink(userId, profiles.remove(userId));
+
+		if (profile.isEmpty()) {
+			return;
+		}
+
+		profiles.put(userId, profile);
+		profile.forEachArtist(index -> artistPostings
+				.computeIfAbsent(index, key -> ConcurrentHashMap.newKeySet())
+				.add(userId));
+		profile.forEachGenre(index -> genrePostings
+				.computeIfAbsent(index, key -> ConcurrentHashMap.newKeySet())
+				.add(userId));
+	}
+
+	public synchronized void remove(UUID userId) {
+		unlink(userId, profiles.remove(userId));
+	}
+
+	public Optional<TasteProfile> getProfile(UUID userId) {
+		return Optional.ofNullable(profiles.get(userId));
+	}
+
+	public int size() {
+		return profiles.size();
+	}
+
+	/**
+	 * Returns up to {@code limit} users most compatible with {@code profile}, best first.
+	 * Candidates come from the postings of the profile's artists and genres and are selected
+	 * with a bounded min-heap, so the cost is linear in the number of candidates.
+	 */
+	public List<ScoredUser> findTopCompatible(UUID userId, TasteProfile profile, int limit) {
+		if (limit <= 0 || profile.isEmpty()) {
+			return List.of();
+		}
+
+		Set<UUID> candidates = new HashSet<>();
+		profile.forEachArtist(index -> collect(artistPostings.get(index), candidates));
+		profile.forEachGenre(index -> collect(genrePostings.get(index), candidates));
+		candidates.remove(userId);
+
+		PriorityQueue<ScoredUser> heap = new PriorityQueue<>(Math.min(limit, candidates.size()) + 1, WORST_FIRST);
+		for (UUID candidateId : candidates) {
+			TasteProfile candidate = profiles.get(candidateId);
+			if (candidate == null) {
+				continue;
+			}
+
+			float compatibility = profile.compatibilityWith(candidate);
+			if (compatibility <= 0) {
+				continue;
+			}
+
+			if (heap.size() < limit) {
+				heap.add(new ScoredUser(candidateId, compatibility));
+			} else if (compatibility > heap.peek().compatibility()) {
+				heap.poll();
+				heap.add(new ScoredUser(candidateId, compatibility));
+			}
+		}
+
+		List<ScoredUser> result = new ArrayList<>(heap);
+		result.sort(WORST_FIRST.reversed());
+		return result;
+	}
+
+	private synchronized void indexIfAbsent(UUID userId, TasteProfile profile) {
+		if (!profiles.containsKey(userId)) {
+			index(userId, profile);
+		}
+	}
+
+	private void unlink(UUID userId, TasteProfile previous) {
+		if (previous == null) {
+			return;
+		}
+
+		previous.forEachArtist(index -> removePosting(artistPostings, index, userId));
+		previous.forEachGenre(index -> removePosting(genrePostings, index, userId));
+	}
+
+	private static void removePosting(Map<Integer, Set<UUID>> postings, int index, UUID userId) {
+		postings.computeIfPresent(index, (key, users) -> {
+			users.remove(userId);
+			return users.isEmpty() ? null : users;
+		});
+	}
+
+	private static void collect(Set<UUID> users, Set<UUID> candidates) {
+		if (users != null) {
+			candidates.addAll(users);
+		}
+	}
+
+	private static Map<UUID, List<UUID>> groupByUser(List<UserTasteView> rows) {
+		return rows.stream().collect(Collectors.groupingBy(
+				UserTasteView::getUserId,
+				Collectors.mapping(UserTasteView::getTasteId, Collectors.toList())
+		));
+	}
+}
@@ -0,0 +1,136 @@
+package com.soundhub.api.service.compatibility;
+
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable, interned view of a user's tastes.
+ * Artists are kept as a sorted array of distinct indices (the artist space is large and sparse),
+ * genres as a bitset (the genre space is small and dense).
+ */
+public final class TasteProfile {
+	public static final TasteProfile EMPTY = new TasteProfile(new int[0], new long[0]);
+
+	private final int[] artists;
+	private final long[] genres;
+	private final int genreCount;
+
+	TasteProfile(int[] artists, long[] genres) {
+		this.artists = artists;
+		this.genres = genres;
+		this.genreCount = cardinality(genres);
+	}
+
+	static TasteProfile of(int[] artistIndices, int[] genreIndices) {
+		int[] artists = Arrays.stream(artistIndices).sorted().distinct().toArray();
+
+		int maxGenre = Arrays.stream(genreIndices).max().orElse(-1);
+		long[] genres = new long[(maxGenre >> 6) + 1];
+		for (int index : genreIndices) {
+			genres[index >> 6] |= 1L << index;
+		}
+
+		return new TasteProfile(artists, genres);
+	}
+
+	public int artistCount() {
+		return artists.length;
+	}
+
+	public int genreCount() {
+		return genreCount;
+	}
+
+	void forEachArtist(IntConsumer action) {
+		for (int index : artists) {
+			action.accept(index);
+		}
+	}
+
+	void forEachGenre(IntConsumer action) {
+		for (int word = 0; word < genres.length; word++) {
+			long bits = genres[word];
+			while (bits != 0) {
+				action.accept((word << 6) + Long.numberOfTrailingZeros(bits));
+				bits &= bits - 1;
+			}
+		}
+	}
+
+	public boolean isEmpty() {
+		return artists.length == 0 && genreCount == 0;
+	}
+
+	/**
+	 * Jaccard similarity of the favorite artists in percent, computed by merging the two sorted arrays.
+	 */
+	public float artistSimilarity(TasteProfile other) {
+		int[] a = artists;
+		int[] b = other.artists;
+		if (a.length == 0 || b.length == 0) {
+			return 0f;
+		}
+
+		int intersection = 0;
+		int i = 0;
+		int j = 0;
+		while (i < a.length && j < b.length) {
+			if (a[i] < b[j]) {
+				i++;
+			} else if (a[i] > b[j]) {
+				j++;
+			} else {
+				intersection++;
+				i++;
+				j++;
+			}
+		}
+
+		return percentage(intersection, a.length + b.length - intersection);
+	}
+
+	/**
+	 * Jaccard similarity of the favorite genres in percent, computed with popcount over the bitsets.
+	 */
+	public float genreSimilarity(TasteProfile other) {
+		if (genreCount == 0 || other.genreCount == 0) {
+			return 0f;
+		}
+
+		long[] a = genres;
+		long[] b = other.genres;
+		int words = Math.min(a.length, b.length);
+		int intersection = 0;
+		for (int i = 0; i < words; i++) {
+			intersection += Long.bitCount(a[i] & b[i]);
+		}
+
+		return percentage(intersection, genreCount + other.genreCount - intersection);
+	}
+
+	/**
+	 * Mean of the artist and genre similarities; when only one of them matches, that one is used as is.
+	 */
+	public float compatibilityWith(TasteProfile other) {
+		float artistCompatibility = artistSimilarity(other);
+		float genreCompatibility = genreSimilarity(other);
+
+		if (artistCompatibility == 0 || genreCompatibility == 0) {
+			return Math.max(artistCompatibility, genreCompatibility);
+		}
+
+		return (artistCompatibility + genreCompatibility) / 2;
+	}
+
+	private static float percentage(int intersection, int union) {
+		return ((float) intersection / (float) union) * 100;
+	}
+
+	private static int cardinality(long[] bits) {
+		int count = 0;
+		for (long word : bits) {
+			count += Long.bitCount(word);
+		}
+		return count;
+	}
+}
@@ -1,13 +1,18 @@
 package com.soundhub.api.service.impl;
 
 import com.soundhub.api.Constants;
+import com.soundhub.api.dto.ChatSummaryDto;
+import com.soundhub.api.dto.MessagePreviewDto;
+import com.soundhub.api.dto.UserSummaryDto;
 import com.soundhub.api.dto.request.GroupChatRequest;
 import com.soundhub.api.exception.ApiException;
 import com.soundhub.api.exception.ResourceNotFoundException;
 import com.soundhub.api.model.Chat;
 import com.soundhub.api.model.User;
 import com.soundhub.api.repository.ChatRepository;
+import com.soundhub.api.repository.projection.ChatSummaryView;
 import com.soundhub.api.service.ChatService;
+import com.soundhub.api.service.UnreadMessageService;
 import com.soundhub.api.service.UserService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -16,7 +21,10 @@ import org.springframework.stereotype.Service;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @Slf4j
@@ -27,6 +35,9 @@ public class ChatServiceImpl implements ChatService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private UnreadMessageService unreadMessageService;
+
     @Override
     public Chat createChat(User sender, UUID recipientId) throws ResourceNotFoundException {
         log.info("createChat[1]: creating a chat, sender ID: {}, recipient ID: {}", sender.getId(), recipientId);
@@ -57,6 +68,59 @@ public class ChatServiceImpl implements ChatService {
         return chatRepository.findChatsByUserId(user.getId());
     }
 
+    @Override
+    public List<ChatSummaryDto> findChatSummariesByUserId(UUID userId) {
+        List<ChatSummaryDto> summaries = chatRepository.findChatSummariesByUserId(userId)
+                .stream()
+                .map(this::toChatSummary)
+                .toList();
+
+        if (summaries.isEmpty()) {
+            return summaries;
+        }
+
+        Map<UUID, ChatSummaryDto> summariesById = summaries.stream()
+                .collect(Collectors.toMap(ChatSummaryDto::getId, Function.identity()));
+
+        chatRepository.findParticipantsByChatIds(summariesById.keySet())
+                .forEach(participant -> summariesById.get(participant.getChatId())
+                        .getParticipants()
+                        .add(UserSummaryDto.builder()
+                                .id(participant.getId())
+                                .firstName(participant.getFirstName())
+                                .lastName(participant.getLastName())
+                                .avatarUrl(participant.getAvatarUrl())
+                                .online(participant.isOnline())
+                                .lastOnline(participant.getLastOnline())
+                                .build()));
+
+        log.debug("findChatSummariesByUserId[1]: {} chats of user {}", summaries.size(), userId);
+        return summaries;
+    }
+
+    private ChatSummaryDto toChatSummary(ChatSummaryView view) {
+        MessagePreviewDto lastMessage = view.getLastMessageId() == null
+                ? null
+                : MessagePreviewDto.builder()
+                        .id(view.getLastMessageId())
+                        .authorId(view.getLastMessageAuthorId())
+                        .content(view.getLastMessageContent())
+                        .createdAt(view.getLastMessageCreatedAt())
+                        .build();
+
+        return ChatSummaryDto.builder()
+                .id(view.getId())
+                .isGroup(view.getIsGroup())
+                .chatName(view.getChatName())
+                .chatImage(view.getChatImage())
+                .createdById(view.getCreatedById())
+                .totalMessages(view.getTotalMessages() == null ? 0 : view.getTotalMessages())
+                .unreadCount(view.getUnreadCount())
+                .lastMessage(lastMessage)
+                .participants(new ArrayList<>())
+                .build();
+    }
+
     @Override
     public Chat createGroup(GroupChatRequest req, User creator) {
         List<User> groupParticipants = new ArrayList<>();
@@ -85,6 +149,7 @@ public class ChatServiceImpl implements ChatService {
 
             chat.setParticipants(participants);
             chatRepository.save(chat);
+            unreadMessageService.participantAdded(chatId);
         } else {
             log.error("addUserToGroup[1]: error");
             throw new ApiException(HttpStatus.FORBIDDEN, Constants.PERMISSION_MESSAGE);
@@ -106,6 +171,7 @@ public class ChatServiceImpl implements ChatService {
             chat.setParticipants(participants);
 
             chatRepository.save(chat);
+            unreadMessageService.participantRemoved(chatId, userId);
         } else {
             log.error("removeFromGroup[1]: error");
             throw new ApiException(HttpStatus.FORBIDDEN, Constants.PERMISSION_MESSAGE);
@@ -137,18 +203,11 @@ public class ChatServiceImpl implements ChatService {
 
         if (userService.getCurrentUser().equals(chat.getCreatedBy())) {
             chatRepository.delete(chat);
+            unreadMessageService.chatDeleted(chatId);
         } else {
             log.error("deleteChat[1]: error");
             throw new ApiException(HttpStatus.FORBIDDEN, Constants.PERMISSION_MESSAGE);
         }
         return chat.getId();
     }
-
-    @Override
-    public void updateMessageCount(UUID chatId, long messageCount) {
-        Chat chat = getChatById(chatId);
-        chat.setTotalMessages(messageCount);
-
-        chatRepository.save(chat);
-    }
 }
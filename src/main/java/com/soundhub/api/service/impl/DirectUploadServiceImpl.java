@@ -0,0 +1,105 @@
+package com.soundhub.api.service.impl;
+
+import com.soundhub.api.Constants;
+import com.soundhub.api.dto.request.PresignedUploadRequest;
+import com.soundhub.api.dto.response.PresignedUploadResponse;
+import com.soundhub.api.exception.ApiException;
+import com.soundhub.api.exception.ResourceNotFoundException;
+import com.soundhub.api.service.DirectUploadService;
+import com.soundhub.api.service.strategies.media.MediaFileSourceStrategy;
+import com.soundhub.api.service.strategies.media.MediaFileSourceStrategyFactory;
+import com.soundhub.api.service.strategies.media.PresignedUpload;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+/**
+ * Lets clients upload straight to the media source. Files are uploaded to the pending folder
+ * and moved to the static folder once confirmed, so unconfirmed uploads are never served and
+ * can be expired there by a bucket lifecycle rule.
+ */
+@Service
+@Slf4j
+public class DirectUploadServiceImpl implements DirectUploadService {
+	private static final Pattern UPLOAD_NAME = Pattern.compile(
+			"[0-9a-f]{8}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{4}-[0-9a-f]{12}(\\.[a-z0-9]{1,10})?"
+	);
+	private static final Pattern EXTENSION = Pattern.compile("[a-z0-9]{1,10}");
+
+	@Autowired
+	private MediaFileSourceStrategyFactory mediaFileSourceStrategyFactory;
+
+	@Value("${media.folder.static}")
+	private String staticFolder;
+
+	@Value("${media.direct-upload.folder:pending/}")
+	private String pendingFolder;
+
+	@Value("${media.direct-upload.max-size:104857600}")
+	private long maxSize;
+
+	@Override
+	public PresignedUploadResponse createUpload(PresignedUploadRequest request) {
+		if (request.getContentLength() > maxSize) {
+			throw new ApiException(HttpStatus.BAD_REQUEST, String.format(Constants.DIRECT_UPLOAD_TOO_LARGE, maxSize));
+		}
+
+		String fileName = UUID.randomUUID() + extensionOf(request.getFileName());
+		String pendingPath = Paths.get(pendingFolder, fileName).toString();
+
+		PresignedUpload upload = mediaFileSourceStrategyFactory.getStrategy()
+				.presignUpload(pendingPath, request.getContentType(), request.getContentLength())
+				.orElseThrow(() -> new ApiException(HttpStatus.BAD_REQUEST, Constants.DIRECT_UPLOAD_NOT_SUPPORTED));
+
+		log.debug("createUpload[1]: issued upload of {} as {}", request.getFileName(), fileName);
+
+		return PresignedUploadResponse.builder()
+				.fileName(fileName)
+				.uploadUrl(upload.url())
+				.method("PUT")
+				.headers(upload.headers())
+				.expiresAt(upload.expiresAt())
+				.build();
+	}
+
+	@Override
+	public String confirmUpload(String fileName) {
+		if (fileName == null || !UPLOAD_NAME.matcher(fileName).matches()) {
+			throw new ApiException(HttpStatus.BAD_REQUEST, String.format(Constants.INVALID_DIRECT_UPLOAD_NAME, fileName));
+		}
+
+		MediaFileSourceStrategy strategy = mediaFileSourceStrategyFactory.getStrategy();
+		String pendingPath = Paths.get(pendingFolder, fileName).toString();
+		String targetPath = Paths.get(staticFolder, fileName).toString();
+
+		try {
+			if (!strategy.moveFile(pendingPath, targetPath)) {
+				throw new ApiException(HttpStatus.BAD_REQUEST, Constants.DIRECT_UPLOAD_NOT_SUPPORTED);
+			}
+		} catch (ResourceNotFoundException e) {
+			// a repeated confirmation finds the file already moved
+			strategy.getMetadata(targetPath);
+		}
+
+		log.debug("confirmUpload[1]: {} moved to {}", fileName, staticFolder);
+		return fileName;
+	}
+
+	private static String extensionOf(String fileName) {
+		String extension = StringUtils.getFilenameExtension(fileName);
+
+		if (extension != null && EXTENSION.matcher(extension.toLowerCase(Locale.ROOT)).matches()) {
+			return "." + extension.toLowerCase(Locale.ROOT);
+		}
+
+		return "";
+	}
+}
@@ -4,10 +4,12 @@ import com.soundhub.api.Constants;
 import com.soundhub.api.exception.ApiException;
 import com.soundhub.api.exception.ResourceNotFoundException;
 import com.soundhub.api.service.FileService;
+import com.soundhub.api.service.ImageVariantService;
 import com.soundhub.api.service.strategies.media.MediaFileSourceStrategy;
 import com.soundhub.api.service.strategies.media.MediaFileSourceStrategyFactory;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
@@ -17,6 +19,10 @@ import java.io.InputStream;
 import java.nio.file.Paths;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
 
 @Service
 @Slf4j
@@ -24,30 +30,84 @@ public class FileServiceImpl implements FileService {
 	@Autowired
 	private MediaFileSourceStrategyFactory mediaFileSourceStrategyFactory;
 
+	@Autowired
+	private ImageVariantService imageVariantService;
+
+	@Autowired
+	@Qualifier("mediaUploadExecutor")
+	private Executor mediaUploadExecutor;
+
 	@Override
 	public String uploadFile(String path, MultipartFile file) throws IOException {
 		MediaFileSourceStrategy strategy = mediaFileSourceStrategyFactory.getStrategy();
+		String fileName = strategy.uploadFile(path, file);
 
-		return strategy.uploadFile(path, file);
+		imageVariantService.scheduleVariants(path, fileName, file);
+		return fileName;
 	}
 
+	/**
+	 * Stores the files on the upload executor and returns their names in input order.
+	 * The list is all-or-nothing: if any file fails, the ones already stored are deleted
+	 * and the first failure is rethrown. Image variants are scheduled only for a complete list.
+	 */
 	@Override
 	public List<String> uploadFileList(String path, List<MultipartFile> multipartFile) {
+		MediaFileSourceStrategy strategy = mediaFileSourceStrategyFactory.getStrategy();
+		List<CompletableFuture<String>> uploads = multipartFile.stream()
+				.map(file -> CompletableFuture.supplyAsync(() -> strategy.uploadFile(path, file), mediaUploadExecutor))
+				.toList();
+
+		// wait for every upload, so that none of them completes after the rollback
+		CompletableFuture.allOf(uploads.toArray(CompletableFuture[]::new))
+				.exceptionally(e -> null)
+				.join();
+
 		List<String> names = new ArrayList<>();
+		Throwable failure = null;
+
+		for (CompletableFuture<String> upload : uploads) {
+			try {
+				names.add(upload.join());
+			} catch (CompletionException | CancellationException e) {
+				if (failure == null)
+					failure = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+			}
+		}
+
+		if (failure != null) {
+			log.warn("uploadFileList[1]: upload to {} failed, deleting {} stored file(s)", path, names.size());
+			rollback(strategy, path, names, failure);
+			throw toApiException(failure);
+		}
 
-		multipartFile.parallelStream()
-				.forEach(file -> {
-					try {
-						String uploadedFileName = uploadFile(path, file);
-						names.add(uploadedFileName);
-					} catch (IOException e) {
-						throw new ApiException(HttpStatus.BAD_REQUEST, e.getMessage());
-					}
-				});
+		for (int i = 0; i < names.size(); i++)
+			imageVariantService.scheduleVariants(path, names.get(i), multipartFile.get(i));
 
 		return names;
 	}
 
+	private void rollback(MediaFileSourceStrategy strategy, String path, List<String> names, Throwable failure) {
+		for (String name : names) {
+			try {
+				strategy.deleteFile(path, name);
+			} catch (RuntimeException e) {
+				log.error("rollback[1]: failed to delete {}/{}: {}", path, name, e.getMessage());
+				failure.addSuppressed(e);
+			}
+		}
+	}
+
+	private RuntimeException toApiException(Throwable failure) {
+		if (failure instanceof RuntimeException runtimeException)
+			return runtimeException;
+
+		if (failure instanceof Error error)
+			throw error;
+
+		return new ApiException(HttpStatus.BAD_REQUEST, failure.getMessage());
+	}
+
 	@Override
 	public InputStream getFile(String path, String filename) {
 		try {
@@ -58,4 +118,10 @@ public class FileServiceImpl implements FileService {
 			throw new ResourceNotFoundException(String.format(Constants.FILE_NOT_FOUND, filename));
 		}
 	}
+
+	@Override
+	public void deleteFile(String path, String filename) {
+		mediaFileSourceStrategyFactory.getStrategy().deleteFile(path, filename);
+		imageVariantService.deleteVariants(path, filename);
+	}
 }
@@ -2,23 +2,47 @@ package com.soundhub.api.service.impl;
 
 import com.soundhub.api.Constants;
 import com.soundhub.api.service.ValueTransformer;
+import com.soundhub.api.service.strategies.media.ContentAddressedMediaFileSource;
+import com.soundhub.api.service.strategies.media.MediaFileSourceStrategyFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.nio.file.Paths;
 import java.util.List;
+import java.util.Optional;
 
 @Service
 public class FileUrlTransformer implements ValueTransformer<String> {
     @Value("${base.url}")
     private String baseUrl;
 
+    @Value("${media.folder.blobs:blobs/}")
+    private String blobFolder;
+
+    @Autowired
+    private MediaFileSourceStrategyFactory mediaFileSourceStrategyFactory;
+
     @Override
     public String transformValue(String url) {
         if (url == null || url.matches(Constants.HOST_REGEX)) {
             return url;
         }
 
-        return baseUrl + Constants.FILE_PATH_PART + url;
+        return getDirectUrl(url).orElseGet(() -> baseUrl + Constants.FILE_PATH_PART + url);
+    }
+
+    /**
+     * Content-addressed files are stored at a key known from their name alone, so the media source
+     * can hand out a presigned or CDN URL for them and the download skips the API.
+     */
+    private Optional<String> getDirectUrl(String url) {
+        if (!ContentAddressedMediaFileSource.isContentKey(url)) {
+            return Optional.empty();
+        }
+
+        return mediaFileSourceStrategyFactory.getStrategy()
+                .getDownloadUrl(Paths.get(blobFolder, url).toString());
     }
 
     @Override
@@ -0,0 +1,326 @@
+package com.soundhub.api.service.impl;
+
+import com.soundhub.api.exception.ResourceNotFoundException;
+import com.soundhub.api.service.ImageVariantService;
+import com.soundhub.api.service.strategies.media.MediaFileSourceStrategy;
+import com.soundhub.api.service.strategies.media.MediaFileSourceStrategyFactory;
+import com.soundhub.api.util.ByteArrayMultipartFile;
+import com.soundhub.api.util.ImageVariants;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.*;
+
+/**
+ * Generates downscaled copies of uploaded JPEG and PNG images in the background and stores them
+ * next to the original as {@code name_<width>.ext}. Until a variant exists, or when the original is
+ * already smaller, downloads of the variant name fall back to the original.
+ */
+@Service
+@Slf4j
+public class ImageVariantServiceImpl implements ImageVariantService {
+    @Value("${media.images.variant-widths:64,256,1024}")
+    private List<Integer> variantWidths = List.of(64, 256, 1024);
+
+    @Value("${media.images.threads:2}")
+    private int threads = 2;
+
+    @Value("${media.images.queue-capacity:100}")
+    private int queueCapacity = 100;
+
+    @Value("${media.images.jpeg-quality:0.85}")
+    private float jpegQuality = 0.85f;
+
+    // decoding is skipped above this size, a small file can still inflate to gigabytes of pixels
+    @Value("${media.images.max-pixels:40000000}")
+    private long maxPixels = 40_000_000L;
+
+    @Autowired
+    private MediaFileSourceStrategyFactory mediaFileSourceStrategyFactory;
+
+    private ExecutorService executor;
+
+    @PostConstruct
+    void init() {
+        executor = new ThreadPoolExecutor(
+                threads, threads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "image-variants");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @Override
+    public List<Integer> getVariantWidths() {
+        return variantWidths;
+    }
+
+    /**
+     * Copies the upload aside on the calling thread, because the multipart file is gone once the request
+     * completes, and resizes it on the pipeline's executor. When the queue is full the variants are skipped.
+     */
+    @Override
+    public void scheduleVariants(String folder, String fileName, MultipartFile file) {
+        ImageFormat format = ImageFormat.of(fileName);
+
+        if (format == null || variantWidths.isEmpty()) {
+            return;
+        }
+
+        Path source;
+
+        try (InputStream inputStream = file.getInputStream()) {
+            source = Files.createTempFile("image-variants-", "." + format.extension);
+            Files.copy(inputStream, source, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("scheduleVariants[1]: cannot buffer {}: {}", fileName, e.getMessage());
+            return;
+        }
+
+        try {
+            executor.execute(() -> {
+                try {
+                    generateVariants(folder, fileName, format, source);
+                } catch (Exception e) {
+                    log.warn("scheduleVariants[2]: variants of {} failed: {}", fileName, e.getMessage());
+                } finally {
+                    deleteQuietly(source);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            log.warn("scheduleVariants[3]: image pipeline is busy, {} is served without variants", fileName);
+            deleteQuietly(source);
+        }
+    }
+
+    @Override
+    public void deleteVariants(String folder, String fileName) {
+        if (ImageFormat.of(fileName) == null) {
+            return;
+        }
+
+        MediaFileSourceStrategy strategy = mediaFileSourceStrategyFactory.getStrategy();
+
+        for (int width : variantWidths) {
+            try {
+                strategy.deleteFile(folder, ImageVariants.variantName(fileName, width));
+            } catch (RuntimeException e) {
+                log.debug("deleteVariants[1]: {} at {} px: {}", fileName, width, e.getMessage());
+            }
+        }
+    }
+
+    void generateVariants(String folder, String fileName, ImageFormat format, Path source) throws IOException {
+        MediaFileSourceStrategy strategy = mediaFileSourceStrategyFactory.getStrategy();
+
+        // identical content uploaded before already has its variants
+        List<Integer> missing = variantWidths.stream()
+                .filter(width -> !exists(strategy, folder, ImageVariants.variantName(fileName, width)))
+                .sorted(Comparator.reverseOrder())
+                .toList();
+
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        BufferedImage image = read(source);
+
+        if (image == null) {
+            log.debug("generateVariants[1]: {} is not a readable image", fileName);
+            return;
+        }
+
+        int longestSide = Math.max(image.getWidth(), image.getHeight());
+        boolean alpha = format.supportsAlpha && image.getColorModel().hasAlpha();
+        BufferedImage current = image;
+
+        // largest first, so each variant is scaled down from the previous one
+        for (int width : missing) {
+            if (width >= longestSide) {
+                continue;
+            }
+
+            current = resize(current, width, alpha);
+            String variantName = ImageVariants.variantName(fileName, width);
+            byte[] content = encode(current, format);
+
+            strategy.uploadFile(folder, variantName, new ByteArrayMultipartFile(variantName, format.contentType, content));
+            log.debug("generateVariants[2]: stored {} ({} bytes)", variantName, content.length);
+        }
+    }
+
+    private BufferedImage read(Path source) throws IOException {
+        try (ImageInputStream inputStream = ImageIO.createImageInputStream(source.toFile())) {
+            Iterator<ImageReader> readers = inputStream != null ? ImageIO.getImageReaders(inputStream) : null;
+
+            if (readers == null || !readers.hasNext()) {
+                return null;
+            }
+
+            ImageReader reader = readers.next();
+
+            try {
+                reader.setInput(inputStream, true, true);
+
+                if ((long) reader.getWidth(0) * reader.getHeight(0) > maxPixels) {
+                    log.warn("read[1]: {} x {} image is too large to resize", reader.getWidth(0), reader.getHeight(0));
+                    return null;
+                }
+
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    /**
+     * Halves the image until one more step would pass the target, then scales to it; a single bilinear
+     * step from a much larger image drops most source pixels and aliases.
+     */
+    static BufferedImage resize(BufferedImage image, int longestSide, boolean alpha) {
+        double scale = (double) longestSide / Math.max(image.getWidth(), image.getHeight());
+        int targetWidth = Math.max(1, (int) Math.round(image.getWidth() * scale));
+        int targetHeight = Math.max(1, (int) Math.round(image.getHeight() * scale));
+        int type = alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB;
+
+        BufferedImage current = image;
+        int width = image.getWidth();
+        int height = image.getHeight();
+
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+
+            BufferedImage next = new BufferedImage(width, height, type);
+            Graphics2D graphics = next.createGraphics();
+
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+
+                if (!alpha) {
+                    graphics.setColor(Color.WHITE);
+                    graphics.fillRect(0, 0, width, height);
+                }
+
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+
+        return current;
+    }
+
+    private byte[] encode(BufferedImage image, ImageFormat format) throws IOException {
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        if (format != ImageFormat.JPEG) {
+            ImageIO.write(image, format.writerName, outputStream);
+            return outputStream.toByteArray();
+        }
+
+        ImageWriter writer = ImageIO.getImageWritersByFormatName(format.writerName).next();
+
+        try (ImageOutputStream imageOutputStream = ImageIO.createImageOutputStream(outputStream)) {
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(jpegQuality);
+
+            writer.setOutput(imageOutputStream);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+
+        return outputStream.toByteArray();
+    }
+
+    private static boolean exists(MediaFileSourceStrategy strategy, String folder, String fileName) {
+        try {
+            strategy.getMetadata(Paths.get(folder, fileName).toString());
+            return true;
+        } catch (ResourceNotFoundException e) {
+            return false;
+        }
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            log.debug("deleteQuietly[1]: {}", e.getMessage());
+        }
+    }
+
+    enum ImageFormat {
+        JPEG("jpg", "jpeg", "image/jpeg", false),
+        PNG("png", "png", "image/png", true);
+
+        private final String extension;
+        private final String writerName;
+        private final String contentType;
+        private final boolean supportsAlpha;
+
+        ImageFormat(String extension, String writerName, String contentType, boolean supportsAlpha) {
+            this.extension = extension;
+            this.writerName = writerName;
+            this.contentType = contentType;
+            this.supportsAlpha = supportsAlpha;
+        }
+
+        static ImageFormat of(String fileName) {
+            String extension = StringUtils.getFilenameExtension(fileName);
+
+            if (extension == null) {
+                return null;
+            }
+
+            return switch (extension.toLowerCase(Locale.ROOT)) {
+                case "jpg", "jpeg" -> JPEG;
+                case "png" -> PNG;
+                default -> null;
+            };
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.soundhub.api.service.impl;
+
+import com.soundhub.api.model.UserRecommendation;
+import com.soundhub.api.repository.UserRecommendationRepository;
+import com.soundhub.api.repository.UserRepository;
+import com.soundhub.api.repository.projection.MutualFriendsView;
+import com.soundhub.api.service.RecommendationService;
+import com.soundhub.api.service.compatibility.TasteIndex;
+import com.soundhub.api.service.scheduling.ScheduledJobLock;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * In-process recommender. Candidates are friends of friends and users with overlapping tastes:
+ * each source contributes half of the score, so a candidate found by both ranks first.
+ * Candidates are precomputed into {@code user_recommendations} on a schedule and computed on demand
+ * for users that have none yet, so serving them is a single indexed read. A user without candidates
+ * gets a marker row naming themselves, so they are not recomputed on every request until it expires.
+ */
+@Slf4j
+@Service
+public class LocalRecommendationServiceImpl implements RecommendationService {
+	private static final float FRIENDS_WEIGHT = 0.5f;
+	private static final float TASTE_WEIGHT = 0.5f;
+
+	@Value("${recommendation.local.limit:50}")
+	private int limit;
+
+	@Value("${recommendation.local.mutual-friends-saturation:5}")
+	private int mutualFriendsSaturation;
+
+	@Value("${recommendation.local.batch-size:500}")
+	private int batchSize;
+
+	@Value("${recommendation.local.empty-ttl-minutes:60}")
+	private int emptyTtlMinutes;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private UserRecommendationRepository userRecommendationRepository;
+
+	@Autowired
+	private TasteIndex tasteIndex;
+
+	@Autowired
+	private ScheduledJobLock scheduledJobLock;
+
+	@Override
+	public List<UUID> getRecommendedUsers(UUID userId) {
+		log.info("getRecommendedUsers[1]: serving local recommendations for user with id: {}", userId);
+		List<UUID> candidateIds = userRecommendationRepository.findCandidateIdsByUserId(userId, PageRequest.of(0, limit));
+
+		if (!candidateIds.isEmpty()) {
+			return candidateIds;
+		}
+
+		LocalDateTime emptySince = LocalDateTime.now().minusMinutes(emptyTtlMinutes);
+		if (userRecommendationRepository.existsByUserIdAndCandidateIdAndComputedAtAfter(userId, userId, emptySince)) {
+			return List.of();
+		}
+
+		return refresh(userId).stream()
+				.map(UserRecommendation::getCandidateId)
+				.toList();
+	}
+
+	/**
+	 * Every node fires the cron; only the one holding the job lock precomputes.
+	 */
+	@Scheduled(cron = "${recommendation.local.precompute-cron:0 0 3 * * *}")
+	public void precomputeAll() {
+		if (!scheduledJobLock.runExclusively("recommendation-precompute", this::precomputeUsers)) {
+			log.info("precomputeAll[1]: skipped, another node is precomputing recommendations");
+		}
+	}
+
+	private void precomputeUsers() {
+		int users = 0;
+		Page<UUID> page = userRepository.findAllIds(PageRequest.of(0, batchSize));
+
+		while (true) {
+			for (UUID userId : page) {
+				try {
+					refresh(userId);
+					users++;
+				} catch (DataAccessException e) {
+					log.warn("precomputeUsers[1]: failed to precompute recommendations for user {}: {}", userId, e.getMessage());
+				}
+			}
+
+			if (!page.hasNext()) {
+				break;
+			}
+			page = userRepository.findAllIds(page.nextPageable());
+		}
+
+		log.info("precomputeUsers[2]: precomputed recommendations for {} users", users);
+	}
+
+	public List<UserRecommendation> refresh(UUID userId) {
+		List<UserRecommendation> recommendations = computeRecommendations(userId);
+		userRecommendationRepository.replaceForUser(
+				userId, recommendations.isEmpty() ? List.of(emptyMarker(userId)) : recommendations
+		);
+		return recommendations;
+	}
+
+	private static UserRecommendation emptyMarker(UUID userId) {
+		return UserRecommendation.builder()
+				.userId(userId)
+				.candidateId(userId)
+				.score(0)
+				.computedAt(LocalDateTime.now())
+				.build();
+	}
+
+	List<UserRecommendation> computeRecommendations(UUID userId) {
+		int candidatesPerSource = limit * 4;
+		Map<UUID, Float> scores = new HashMap<>();
+
+		List<MutualFriendsView> friendsOfFriends = userRepository.findFriendsOfFriends(
+				userId, PageRequest.of(0, candidatesPerSource)
+		);
+		friendsOfFriends.forEach(candidate -> scores.merge(
+				candidate.getCandidateId(),
+				FRIENDS_WEIGHT * Math.min(1f, candidate.getMutualFriends() / (float) mutualFriendsSaturation),
+				Float::sum
+		));
+
+		tasteIndex.getProfile(userId).ifPresent(profile -> {
+			Set<UUID> friends = new HashSet<>(userRepository.findFriendIdsByUserId(userId));
+
+			tasteIndex.findTopCompatible(userId, profile, candidatesPerSource).stream()
+					.filter(candidate -> !friends.contains(candidate.userId()))
+					.forEach(candidate -> scores.merge(
+							candidate.userId(),
+							TASTE_WEIGHT * candidate.compatibility() / 100,
+							Float::sum
+					));
+		});
+
+		LocalDateTime computedAt = LocalDateTime.now();
+		return scores.entrySet().stream()
+				.sorted(Map.Entry.<UUID, Float>comparingByValue().reversed().thenComparing(Map.Entry.comparingByKey()))
+				.limit(limit)
+				.map(entry -> UserRecommendation.builder()
+						.userId(userId)
+						.candidateId(entry.getKey())
+						.score(entry.getValue())
+						.computedAt(computedAt)
+						.build())
+				.toList();
+	}
+}
@@ -0,0 +1,222 @@
+package com.soundhub.api.service.impl;
+
+import com.soundhub.api.exception.ResourceNotFoundException;
+import com.soundhub.api.service.ImageVariantService;
+import com.soundhub.api.service.MediaDownloadService;
+import com.soundhub.api.service.strategies.media.MediaFileMetadata;
+import com.soundhub.api.service.strategies.media.MediaFileSourceStrategy;
+import com.soundhub.api.service.strategies.media.MediaFileSourceStrategyFactory;
+import com.soundhub.api.util.ImageVariants;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRange;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.MediaTypeFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Serves stored media with conditional GET (304), single byte ranges (206) and a MIME type
+ * derived from the stored type or the file name. Local files are handed to Tomcat's sendfile
+ * when the connector supports it and are copied with {@code FileChannel.transferTo} otherwise;
+ * S3 objects are streamed with a ranged GET. A resized image variant that does not exist is
+ * answered with its original, which caches must revalidate. Only image and audio types are
+ * served inline; anything else, such as uploaded HTML or SVG, is sent as an
+ * {@code application/octet-stream} attachment.
+ */
+@Service
+@Slf4j
+public class MediaDownloadServiceImpl implements MediaDownloadService {
+    static final String SENDFILE_SUPPORTED_ATTRIBUTE = "org.apache.tomcat.sendfile.support";
+    static final String SENDFILE_FILENAME_ATTRIBUTE = "org.apache.tomcat.sendfile.filename";
+    static final String SENDFILE_START_ATTRIBUTE = "org.apache.tomcat.sendfile.start";
+    static final String SENDFILE_END_ATTRIBUTE = "org.apache.tomcat.sendfile.end";
+    private static final String BYTES_UNIT = "bytes";
+    private static final String CONTENT_TYPE_OPTIONS_HEADER = "X-Content-Type-Options";
+    private static final List<MediaType> INLINE_TYPES = Stream.of(
+            "image/jpeg", "image/png", "image/gif", "image/webp", "image/bmp",
+            "audio/mpeg", "audio/mp4", "audio/aac", "audio/ogg", "audio/flac", "audio/wav", "audio/x-wav", "audio/webm"
+    ).map(MediaType::valueOf).toList();
+
+    @Autowired
+    private MediaFileSourceStrategyFactory mediaFileSourceStrategyFactory;
+
+    @Autowired
+    private ImageVariantService imageVariantService;
+
+    @Value("${media.download.max-age-seconds:3600}")
+    private long maxAgeSeconds = 3600;
+
+    @Value("${media.download.sendfile-min-size:49152}")
+    private long sendfileMinSize = 49152;
+
+    @Override
+    public void download(
+            String folder,
+            String filename,
+            HttpServletRequest request,
+            HttpServletResponse response
+    ) throws IOException {
+        String path = Paths.get(folder, filename).toString();
+        MediaFileSourceStrategy strategy = mediaFileSourceStrategyFactory.getStrategy();
+        MediaFileMetadata metadata;
+        boolean variantFallback = false;
+
+        try {
+            metadata = strategy.getMetadata(path);
+        } catch (ResourceNotFoundException e) {
+            // the variant is not generated yet, or the original is smaller than the variant's width
+            ImageVariants.Variant variant = ImageVariants.parse(filename)
+                    .filter(parsed -> imageVariantService.getVariantWidths().contains(parsed.width()))
+                    .orElseThrow(() -> e);
+
+            filename = variant.originalName();
+            path = Paths.get(folder, filename).toString();
+            metadata = strategy.getMetadata(path);
+            variantFallback = true;
+        }
+        long lastModified = metadata.lastModified() != null ? metadata.lastModified().toEpochMilli() : -1;
+
+        MediaType contentType = getContentType(filename, metadata);
+
+        // the type comes from the uploader, so active content must not run from the API's origin
+        response.setHeader(CONTENT_TYPE_OPTIONS_HEADER, "nosniff");
+        if (INLINE_TYPES.stream().noneMatch(contentType::equalsTypeAndSubtype)) {
+            contentType = MediaType.APPLICATION_OCTET_STREAM;
+            response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                    .filename(filename, StandardCharsets.UTF_8)
+                    .build()
+                    .toString());
+        }
+
+        response.setHeader(HttpHeaders.ACCEPT_RANGES, BYTES_UNIT);
+        // the original stands in for the variant only until it is generated, so caches must revalidate it
+        CacheControl cacheControl = variantFallback
+                ? CacheControl.noCache()
+                : CacheControl.maxAge(Duration.ofSeconds(maxAgeSeconds)).cachePublic();
+        response.setHeader(HttpHeaders.CACHE_CONTROL, cacheControl.getHeaderValue());
+
+        // sets ETag and Last-Modified, and answers 304 or 412 from the request's preconditions
+        if (new ServletWebRequest(request, response).checkNotModified(metadata.eTag(), lastModified)) {
+            log.debug("download[1]: {} not modified", path);
+            return;
+        }
+
+        long length = metadata.contentLength();
+        long start = 0;
+        long count = length;
+        HttpRange range = getRange(request, metadata);
+
+        if (range != null) {
+            try {
+                start = range.getRangeStart(length);
+                count = range.getRangeEnd(length) - start + 1;
+            } catch (IllegalArgumentException e) {
+                count = 0;
+            }
+
+            if (count <= 0 || start >= length) {
+                response.setStatus(HttpStatus.REQUESTED_RANGE_NOT_SATISFIABLE.value());
+                response.setHeader(HttpHeaders.CONTENT_RANGE, BYTES_UNIT + " */" + length);
+                return;
+            }
+
+            response.setStatus(HttpStatus.PARTIAL_CONTENT.value());
+            response.setHeader(HttpHeaders.CONTENT_RANGE,
+                    String.format("%s %d-%d/%d", BYTES_UNIT, start, start + count - 1, length));
+        }
+
+        response.setContentType(contentType.toString());
+        response.setContentLengthLong(count);
+
+        if (HttpMethod.HEAD.matches(request.getMethod()) || count == 0) {
+            return;
+        }
+
+        Optional<Path> localPath = strategy.getLocalPath(path);
+
+        if (localPath.isPresent() && count >= sendfileMinSize
+                && Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED_ATTRIBUTE))) {
+            log.debug("download[2]: sending {} bytes of {} with sendfile", count, path);
+            request.setAttribute(SENDFILE_FILENAME_ATTRIBUTE, localPath.get().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START_ATTRIBUTE, start);
+            request.setAttribute(SENDFILE_END_ATTRIBUTE, start + count);
+            return;
+        }
+
+        strategy.writeTo(path, start, count, response.getOutputStream());
+    }
+
+    /**
+     * Returns the requested range, or {@code null} when the whole file should be sent: no or malformed
+     * {@code Range}, several ranges, or an {@code If-Range} validator that no longer matches.
+     */
+    private HttpRange getRange(HttpServletRequest request, MediaFileMetadata metadata) {
+        String rangeHeader = request.getHeader(HttpHeaders.RANGE);
+
+        if (rangeHeader == null || !isIfRangeSatisfied(request, metadata)) {
+            return null;
+        }
+
+        try {
+            List<HttpRange> ranges = HttpRange.parseRanges(rangeHeader);
+            return ranges.size() == 1 ? ranges.get(0) : null;
+        } catch (IllegalArgumentException e) {
+            log.debug("getRange[1]: ignoring malformed range {}", rangeHeader);
+            return null;
+        }
+    }
+
+    private boolean isIfRangeSatisfied(HttpServletRequest request, MediaFileMetadata metadata) {
+        String ifRange = request.getHeader(HttpHeaders.IF_RANGE);
+
+        if (ifRange == null) {
+            return true;
+        }
+
+        // weak validators never satisfy If-Range
+        if (ifRange.startsWith("\"") || ifRange.startsWith("W/")) {
+            return ifRange.equals(metadata.eTag()) && !ifRange.startsWith("W/");
+        }
+
+        try {
+            long date = request.getDateHeader(HttpHeaders.IF_RANGE);
+            return metadata.lastModified() != null && date / 1000 == metadata.lastModified().getEpochSecond();
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    private MediaType getContentType(String filename, MediaFileMetadata metadata) {
+        if (metadata.contentType() != null) {
+            try {
+                MediaType stored = MediaType.parseMediaType(metadata.contentType());
+
+                if (!stored.isWildcardType() && !MediaType.APPLICATION_OCTET_STREAM.equals(stored)) {
+                    return stored;
+                }
+            } catch (IllegalArgumentException e) {
+                log.debug("getContentType[1]: invalid stored type {}", metadata.contentType());
+            }
+        }
+
+        return MediaTypeFactory.getMediaType(filename).orElse(MediaType.APPLICATION_OCTET_STREAM);
+    }
+}
@@ -0,0 +1,83 @@
+package com.soundhub.api.service.impl;
+
+import com.soundhub.api.repository.ChatRepository;
+import com.soundhub.api.service.MessageCountService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps {@code Chat.totalMessages} up to date without reloading the chat history.
+ * Every change is applied as an atomic in-database increment. With write-behind enabled
+ * the deltas of hot chats are coalesced in memory and flushed periodically, so a burst of
+ * messages costs one {@code UPDATE} per chat per flush interval.
+ */
+@Service
+@Slf4j
+public class MessageCountServiceImpl implements MessageCountService {
+	private final Map<UUID, Long> pendingDeltas = new ConcurrentHashMap<>();
+
+	@Autowired
+	private ChatRepository chatRepository;
+
+	@Value("${chat.message-count.write-behind:false}")
+	private boolean writeBehind;
+
+	@Override
+	public void messageAdded(UUID chatId) {
+		applyDelta(chatId, 1);
+	}
+
+	@Override
+	public void messageRemoved(UUID chatId) {
+		applyDelta(chatId, -1);
+	}
+
+	@Override
+	@Scheduled(fixedDelayString = "${chat.message-count.flush-interval-ms:1000}")
+	public void flush() {
+		pendingDeltas.keySet().forEach(chatId -> {
+			Long delta = pendingDeltas.remove(chatId);
+
+			if (delta == null || delta == 0) {
+				return;
+			}
+
+			try {
+				chatRepository.incrementTotalMessages(chatId, delta);
+			} catch (RuntimeException e) {
+				log.error("flush[1]: couldn't flush {} messages for chat {}: {}", delta, chatId, e.getMessage());
+				pendingDeltas.merge(chatId, delta, Long::sum);
+			}
+		});
+	}
+
+	/**
+	 * Recounts messages of every chat and fixes counters that have drifted,
+	 * e.g. after a crash lost unflushed deltas or a chat was modified manually.
+	 */
+	@Override
+	@Scheduled(cron = "${chat.message-count.reconcile-cron:0 0 4 * * *}")
+	public int reconcile() {
+		flush();
+		int fixedChats = chatRepository.reconcileTotalMessages();
+		log.info("reconcile[1]: message counters fixed for {} chats", fixedChats);
+
+		return fixedChats;
+	}
+
+	private void applyDelta(UUID chatId, long delta) {
+		if (writeBehind) {
+			pendingDeltas.merge(chatId, delta, Long::sum);
+			return;
+		}
+
+		chatRepository.incrementTotalMessages(chatId, delta);
+	}
+}
@@ -1,7 +1,10 @@
 package com.soundhub.api.service.impl;
 
 import com.soundhub.api.Constants;
+import com.soundhub.api.dto.ReadReceiptDto;
+import com.soundhub.api.dto.request.ReadReceiptRequest;
 import com.soundhub.api.dto.request.SendMessageRequest;
+import com.soundhub.api.dto.response.MessageSliceResponse;
 import com.soundhub.api.dto.response.UnreadMessagesResponse;
 import com.soundhub.api.exception.ApiException;
 import com.soundhub.api.exception.ResourceNotFoundException;
@@ -10,8 +13,11 @@ import com.soundhub.api.model.Message;
 import com.soundhub.api.model.User;
 import com.soundhub.api.repository.MessageRepository;
 import com.soundhub.api.service.ChatService;
+import com.soundhub.api.service.MessageCountService;
 import com.soundhub.api.service.MessageService;
+import com.soundhub.api.service.UnreadMessageService;
 import com.soundhub.api.service.UserService;
+import com.soundhub.api.util.MessageCursor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
@@ -22,7 +28,6 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
 import java.util.UUID;
 
@@ -38,7 +43,14 @@ public class MessageServiceImpl implements MessageService {
     @Autowired
     private ChatService chatService;
 
+    @Autowired
+    private MessageCountService messageCountService;
+
+    @Autowired
+    private UnreadMessageService unreadMessageService;
+
     @Override
+    @Transactional
     public Message sendMessage(SendMessageRequest request) {
         User user = userService.getUserById(request.getUserId());
         Chat chat = chatService.getChatById(request.getChatId());
@@ -53,9 +65,8 @@ public class MessageServiceImpl implements MessageService {
                 .build();
 
         Message savedMessage = messageRepository.save(message);
-
-        List<Message> messages = findAllMessagesByChatId(chat.getId());
-        chatService.updateMessageCount(chat.getId(), messages.size());
+        messageCountService.messageAdded(chat.getId());
+        unreadMessageService.messageSent(savedMessage);
 
         return savedMessage;
     }
@@ -92,6 +103,36 @@ public class MessageServiceImpl implements MessageService {
         return pages;
     }
 
+    @Override
+    public MessageSliceResponse findMessagesByChatIdBefore(UUID chatId, User reqUser, String cursor, int size) {
+        Chat chat = chatService.getChatById(chatId);
+
+        if (!chat.getParticipants().contains(reqUser)) {
+            throw new ApiException(HttpStatus.FORBIDDEN, Constants.CHAT_NOT_CONTAINS_USER);
+        }
+
+        // one extra row tells whether an older slice exists without running a count query
+        int sliceSize = Math.min(Math.max(size, 1), Constants.MAX_MESSAGE_SLICE_SIZE);
+        PageRequest limit = PageRequest.of(0, sliceSize + 1);
+        List<Message> messages;
+
+        if (cursor == null || cursor.isBlank()) {
+            messages = messageRepository.findLatestByChatId(chatId, limit);
+        } else {
+            MessageCursor position = MessageCursor.decode(cursor);
+            messages = messageRepository.findByChatIdBefore(chatId, position.sentAt(), position.id(), limit);
+        }
+
+        boolean hasMore = messages.size() > sliceSize;
+        List<Message> slice = hasMore ? messages.subList(0, sliceSize) : messages;
+
+        return MessageSliceResponse.builder()
+                .messages(slice)
+                .nextCursor(hasMore ? MessageCursor.of(slice.get(slice.size() - 1)).encode() : null)
+                .hasMore(hasMore)
+                .build();
+    }
+
     @Override
     public List<Message> findAllMessagesByChatId(UUID chatId) {
         return messageRepository.findAllByChat_Id(chatId)
@@ -100,24 +141,9 @@ public class MessageServiceImpl implements MessageService {
     }
 
     @Override
-    public UnreadMessagesResponse getUnreadMessages() {
+    public UnreadMessagesResponse getUnreadMessages(int limit) {
         UUID currentUserId = userService.getCurrentUser().getId();
-        List<Chat> chats = chatService.findAllChatsByUserId(currentUserId);
-        List<Message> unreadMessages = new ArrayList<>();
-
-        chats.forEach(chat -> {
-            List<Message> chatMessages = findAllMessagesByChatId(chat.getId())
-                    .stream()
-                    .filter(msg -> msg.getAuthor().getId() != currentUserId && !msg.getIsRead())
-                    .toList();
-
-            unreadMessages.addAll(chatMessages);
-        });
-
-        return UnreadMessagesResponse.builder()
-                .messages(unreadMessages)
-                .count(unreadMessages.size())
-                .build();
+        return unreadMessageService.getUnreadMessages(currentUserId, limit);
     }
 
     @Override
@@ -133,6 +159,8 @@ public class MessageServiceImpl implements MessageService {
 
         if (message.getAuthor().getId().equals(reqUser.getId())) {
             messageRepository.deleteById(message.getId());
+            messageCountService.messageRemoved(message.getChat().getId());
+            unreadMessageService.messageDeleted(message);
         } else {
             throw new ApiException(HttpStatus.FORBIDDEN, Constants.PERMISSION_MESSAGE);
         }
@@ -153,11 +181,57 @@ public class MessageServiceImpl implements MessageService {
     }
 
     @Override
+    @Transactional
     public Message markMessageAsRead(UUID messageId) {
         Message message = findMessageById(messageId);
+
+        if (messageRepository.markReadById(messageId) > 0) {
+            unreadMessageService.messageRead(message);
+        }
         message.setIsRead(true);
-        messageRepository.save(message);
 
         return message;
     }
+
+    @Override
+    @Transactional
+    public ReadReceiptDto markMessagesAsRead(ReadReceiptRequest request) {
+        Chat chat = chatService.getChatById(request.getChatId());
+        User reader = userService.getUserById(request.getUserId());
+
+        if (!chat.getParticipants().contains(reader)) {
+            throw new ApiException(HttpStatus.FORBIDDEN, Constants.CHAT_NOT_CONTAINS_USER);
+        }
+
+        int readCount;
+        if (request.getUpToMessageId() != null) {
+            Message lastRead = findMessageById(request.getUpToMessageId());
+
+            if (!lastRead.getChatId().equals(chat.getId())) {
+                throw new ApiException(
+                        HttpStatus.BAD_REQUEST,
+                        String.format(Constants.MESSAGE_NOT_IN_CHAT, lastRead.getId(), chat.getId())
+                );
+            }
+
+            readCount = messageRepository.markReadUpTo(chat.getId(), reader.getId(), lastRead.getSentAt(), lastRead.getId());
+        } else if (request.getMessageIds() != null && !request.getMessageIds().isEmpty()) {
+            readCount = messageRepository.markReadByIds(chat.getId(), reader.getId(), request.getMessageIds());
+        } else {
+            throw new ApiException(HttpStatus.BAD_REQUEST, Constants.EMPTY_READ_RECEIPT);
+        }
+
+        log.debug("markMessagesAsRead[1]: {} messages of chat {} read by {}", readCount, chat.getId(), reader.getId());
+        if (readCount > 0) {
+            unreadMessageService.messagesRead(chat, reader.getId(), readCount);
+        }
+
+        return ReadReceiptDto.builder()
+                .chatId(chat.getId())
+                .readerId(reader.getId())
+                .upToMessageId(request.getUpToMessageId())
+                .messageIds(request.getUpToMessageId() == null ? request.getMessageIds() : null)
+                .readCount(readCount)
+                .build();
+    }
 }
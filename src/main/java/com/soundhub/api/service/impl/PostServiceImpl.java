@@ -10,8 +10,6 @@ import com.soundhub.api.repository.PostRepository;
 import com.soundhub.api.service.FileService;
 import com.soundhub.api.service.PostService;
 import com.soundhub.api.service.UserService;
-import com.soundhub.api.service.strategies.media.MediaFileSourceStrategy;
-import com.soundhub.api.service.strategies.media.MediaFileSourceStrategyFactory;
 import com.soundhub.api.util.mappers.PostMapper;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -39,9 +37,6 @@ public class PostServiceImpl implements PostService {
 	@Autowired
 	private PostMapper postMapper;
 
-	@Autowired
-	private MediaFileSourceStrategyFactory mediaFileSourceFactory;
-
 	@Value("${media.folder.posts}")
 	private String basePostFolder;
 
@@ -106,15 +101,13 @@ public class PostServiceImpl implements PostService {
 
 	@Override
 	public UUID deletePost(UUID postId) {
-		MediaFileSourceStrategy mediaSource = mediaFileSourceFactory.getStrategy();
-
 		Post post = validatePostAuthorAndGetPostOrThrow(postId);
 		String postFolder = getPostFolder(post.getId());
 
 		List<String> postImages = post.getImages();
 		log.info("deletePost[1]: Getting the post images urls {}", postImages);
 
-		postImages.forEach(file -> mediaSource.deleteFile(postFolder, file));
+		postImages.forEach(file -> fileService.deleteFile(postFolder, file));
 
 		postRepository.delete(post);
 		log.info("deletePost[2]: Images was successfully deleted from the disk. Post ID {} deleted", postId);
@@ -153,11 +146,11 @@ public class PostServiceImpl implements PostService {
 		postImages.addAll(newImages);
 
 		deleteReplacingFiles(replaceFilesUrls, postImages, postId);
-		postDto.setImages(postImages);
 
 		log.debug("updatePost[1]: Updating post: files after insert {}", postImages);
 
 		postMapper.updatePostFromDto(postDto, post);
+		post.setImages(postImages);
 		return postRepository.save(post);
 	}
 
@@ -182,16 +175,18 @@ public class PostServiceImpl implements PostService {
 			return;
 		}
 
-		MediaFileSourceStrategy mediaSource = mediaFileSourceFactory.getStrategy();
-
-		replaceFilesUrls.forEach(file -> {
-			String postFolder = getPostFolder(postId);
+		String postFolder = getPostFolder(postId);
 
-			mediaSource.deleteFile(postFolder, file);
-			postImages.remove(file);
+		// only this post's images may be released: a shared content key names a blob of every post using it
+		replaceFilesUrls.stream()
+				.distinct()
+				.filter(postImages::contains)
+				.forEach(file -> {
+					fileService.deleteFile(postFolder, file);
+					postImages.remove(file);
 
-			log.debug("deleteReplacingFiles[1]: File deleted {}", file);
-		});
+					log.debug("deleteReplacingFiles[1]: File deleted {}", file);
+				});
 
 		log.debug("deleteReplacingFiles[2]: Files remain {}", postImages);
 	}
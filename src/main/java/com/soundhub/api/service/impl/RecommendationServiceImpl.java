@@ -2,46 +2,148 @@ package com.soundhub.api.service.impl;
 
 import com.soundhub.api.exception.ApiException;
 import com.soundhub.api.service.RecommendationService;
+import com.soundhub.api.service.recommendation.RecommendationClient;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.core.ParameterizedTypeReference;
-import org.springframework.http.HttpMethod;
-import org.springframework.http.HttpStatus;
-import org.springframework.http.ResponseEntity;
+import org.springframework.context.annotation.Primary;
 import org.springframework.stereotype.Service;
-import org.springframework.web.client.RestTemplate;
 
-import java.util.List;
-import java.util.UUID;
+import java.util.*;
+import java.util.concurrent.*;
 
 @Service
+@Primary
 @Slf4j
 public class RecommendationServiceImpl implements RecommendationService {
-    @Value("${recommendation.url}")
-    private String recommendationApi;
+    // remote: ask the external recommender, local: use the in-process one only
+    @Value("${recommendation.backend:remote}")
+    private String backend;
 
+    @Value("${recommendation.fallback:true}")
+    private boolean fallbackEnabled;
+
+    @Value("${recommendation.cache.ttl-ms:300000}")
+    private long ttlMs;
+
+    @Value("${recommendation.cache.stale-ms:3600000}")
+    private long staleMs;
+
+    @Value("${recommendation.cache.maxSize:10000}")
+    private int maxSize;
+
+    @Value("${recommendation.cache.refresh-threads:2}")
+    private int refreshThreads;
+
+    @Autowired
+    private RecommendationClient recommendationClient;
+
+    @Autowired
+    private LocalRecommendationServiceImpl localRecommendationService;
+
+    // user id -> last recommendations fetched for that user, least recently used evicted first
+    private Map<UUID, CachedRecommendations> cache;
+    private final Set<UUID> refreshing = ConcurrentHashMap.newKeySet();
+    private ExecutorService refreshExecutor;
+
+    @PostConstruct
+    private void init() {
+        cache = Collections.synchronizedMap(new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<UUID, CachedRecommendations> eldest) {
+                return size() > maxSize;
+            }
+        });
+        refreshExecutor = new ThreadPoolExecutor(
+                refreshThreads, refreshThreads,
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(maxSize),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "recommendation-refresh");
+                    thread.setDaemon(true);
+                    return thread;
+                }
+        );
+    }
+
+    @PreDestroy
+    private void shutdown() {
+        refreshExecutor.shutdownNow();
+    }
+
+    /**
+     * Returns cached recommendations while they are fresh. Within the stale window the cached list is
+     * returned immediately and refreshed in the background; past it, or on a miss, the recommender is
+     * called inline. If that call fails, the last known recommendations are returned when there are any,
+     * otherwise the in-process recommender answers when the fallback is enabled.
+     */
     @Override
     public List<UUID> getRecommendedUsers(UUID userId) {
         log.info("recommendUsers[1]: searching friends for user with id: {}", userId);
 
-        if (recommendationApi == null) {
-            throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, "Recommendation service is unavailable.");
+        if ("local".equalsIgnoreCase(backend)) {
+            return localRecommendationService.getRecommendedUsers(userId);
         }
 
-        String url = recommendationApi + "/" + userId;
-        RestTemplate restTemplate = new RestTemplate();
+        CachedRecommendations cached = cache.get(userId);
+        if (cached != null) {
+            long age = System.currentTimeMillis() - cached.fetchedAt();
 
-        ParameterizedTypeReference<List<UUID>> responseType = new ParameterizedTypeReference<>() {
-        };
+            if (age < ttlMs) {
+                return cached.userIds();
+            }
 
-        ResponseEntity<List<UUID>> response = restTemplate.exchange(
-                url,
-                HttpMethod.GET,
-                null,
-                responseType
-        );
+            if (age < ttlMs + staleMs) {
+                refreshInBackground(userId);
+                return cached.userIds();
+            }
+        }
+
+        try {
+            return load(userId);
+        } catch (ApiException e) {
+            if (cached == null) {
+                if (!fallbackEnabled) {
+                    throw e;
+                }
 
-        return response.getBody();
+                log.warn("recommendUsers[3]: recommender unavailable, using local recommendations for user {}", userId);
+                return localRecommendationService.getRecommendedUsers(userId);
+            }
+
+            log.warn("recommendUsers[2]: recommender unavailable, serving expired recommendations for user {}", userId);
+            return cached.userIds();
+        }
+    }
+
+    private List<UUID> load(UUID userId) {
+        List<UUID> userIds = List.copyOf(recommendationClient.fetchRecommendedUsers(userId));
+        cache.put(userId, new CachedRecommendations(userIds, System.currentTimeMillis()));
+        return userIds;
     }
-}
 
+    private void refreshInBackground(UUID userId) {
+        if (!refreshing.add(userId)) {
+            return;
+        }
+
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    load(userId);
+                } catch (RuntimeException e) {
+                    log.warn("refreshInBackground[1]: failed to refresh recommendations for user {}: {}", userId, e.getMessage());
+                } finally {
+                    refreshing.remove(userId);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            refreshing.remove(userId);
+        }
+    }
+
+    private record CachedRecommendations(List<UUID> userIds, long fetchedAt) {
+    }
+}
@@ -0,0 +1,51 @@
+package com.soundhub.api.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.soundhub.api.service.MessageBroadcaster;
+import com.soundhub.api.service.strategies.broadcast.BroadcastChannel;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+
+/**
+ * Fans messages out to every API node through a shared {@link BroadcastChannel}.
+ * Each node, the sender included, delivers what it receives from the channel to the
+ * STOMP clients connected to it, so subscribers see the same stream whichever node
+ * they are connected to.
+ */
+@Slf4j
+public class RelayMessageBroadcaster implements MessageBroadcaster {
+	private final SimpMessageSendingOperations messagingTemplate;
+	private final BroadcastChannel channel;
+	private final ObjectMapper objectMapper = new ObjectMapper();
+
+	public RelayMessageBroadcaster(SimpMessageSendingOperations messagingTemplate, BroadcastChannel channel) {
+		this.messagingTemplate = messagingTemplate;
+		this.channel = channel;
+		channel.subscribe(this::deliver);
+	}
+
+	@Override
+	public void broadcast(String destination, Object payload) {
+		try {
+			Envelope envelope = new Envelope(destination, objectMapper.valueToTree(payload));
+			channel.publish(objectMapper.writeValueAsString(envelope));
+		} catch (JsonProcessingException | RuntimeException e) {
+			// clients of this node still get the message if it can't be relayed
+			log.error("broadcast[1]: couldn't relay message to {}: {}", destination, e.getMessage());
+			messagingTemplate.convertAndSend(destination, payload);
+		}
+	}
+
+	private void deliver(String message) {
+		try {
+			Envelope envelope = objectMapper.readValue(message, Envelope.class);
+			messagingTemplate.convertAndSend(envelope.destination(), envelope.payload());
+		} catch (JsonProcessingException | RuntimeException e) {
+			log.error("deliver[1]: couldn't deliver relayed message: {}", e.getMessage());
+		}
+	}
+
+	private record Envelope(String destination, JsonNode payload) {}
+}
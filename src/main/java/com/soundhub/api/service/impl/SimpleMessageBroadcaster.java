@@ -0,0 +1,20 @@
+package com.soundhub.api.service.impl;
+
+import com.soundhub.api.service.MessageBroadcaster;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+
+/**
+ * Delivers messages to the in-memory broker of this node only.
+ */
+public class SimpleMessageBroadcaster implements MessageBroadcaster {
+	private final SimpMessageSendingOperations messagingTemplate;
+
+	public SimpleMessageBroadcaster(SimpMessageSendingOperations messagingTemplate) {
+		this.messagingTemplate = messagingTemplate;
+	}
+
+	@Override
+	public void broadcast(String destination, Object payload) {
+		messagingTemplate.convertAndSend(destination, payload);
+	}
+}
@@ -0,0 +1,114 @@
+package com.soundhub.api.service.impl;
+
+import com.soundhub.api.dto.response.UnreadMessagesResponse;
+import com.soundhub.api.model.Chat;
+import com.soundhub.api.model.ChatUnreadCounter;
+import com.soundhub.api.model.Message;
+import com.soundhub.api.repository.ChatUnreadCounterRepository;
+import com.soundhub.api.repository.MessageRepository;
+import com.soundhub.api.service.UnreadMessageService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Keeps a per-(chat, participant) unread counter next to the messages, so the unread
+ * summary of a user is read from one row per chat instead of scanning chat histories.
+ * Counters are adjusted when messages are sent, read or deleted and are periodically
+ * recounted from the messages table to repair any drift.
+ */
+@Service
+@Slf4j
+public class UnreadMessageServiceImpl implements UnreadMessageService {
+	@Autowired
+	private ChatUnreadCounterRepository counterRepository;
+
+	@Autowired
+	private MessageRepository messageRepository;
+
+	@Override
+	public void messageSent(Message message) {
+		counterRepository.incrementForRecipients(message.getChatId(), message.getAuthor().getId());
+	}
+
+	@Override
+	public void messageRead(Message message) {
+		counterRepository.decrementForRecipients(message.getChatId(), message.getAuthor().getId(), 1);
+	}
+
+	/**
+	 * Read flags are shared by all participants. In a private chat every message the reader marks
+	 * was written by the other participant, so only the reader's counter changes. In a group chat
+	 * the messages stop counting for everyone but their authors, so the chat is recounted.
+	 */
+	@Override
+	public void messagesRead(Chat chat, UUID readerId, int count) {
+		if (Boolean.TRUE.equals(chat.getIsGroup())) {
+			counterRepository.recountChat(chat.getId());
+			return;
+		}
+
+		counterRepository.decrementForUser(chat.getId(), readerId, count);
+	}
+
+	@Override
+	public void messageDeleted(Message message) {
+		if (Boolean.FALSE.equals(message.getIsRead())) {
+			messageRead(message);
+		}
+	}
+
+	@Override
+	public void participantAdded(UUID chatId) {
+		counterRepository.recountChat(chatId);
+	}
+
+	@Override
+	public void participantRemoved(UUID chatId, UUID userId) {
+		counterRepository.deleteById(new ChatUnreadCounter.Key(chatId, userId));
+	}
+
+	@Override
+	public void chatDeleted(UUID chatId) {
+		counterRepository.deleteAllByChatId(chatId);
+	}
+
+	@Override
+	public UnreadMessagesResponse getUnreadMessages(UUID userId, int limit) {
+		Map<UUID, Long> chatCounts = new LinkedHashMap<>();
+		long total = 0;
+
+		for (ChatUnreadCounter counter : counterRepository.findNonZeroByUserId(userId)) {
+			chatCounts.put(counter.getChatId(), counter.getUnreadCount());
+			total += counter.getUnreadCount();
+		}
+
+		List<Message> messages = total > 0 && limit > 0
+				? messageRepository.findUnreadByRecipientId(userId, PageRequest.of(0, limit))
+				: List.of();
+
+		log.debug("getUnreadMessages[1]: user {} has {} unread messages in {} chats", userId, total, chatCounts.size());
+		return UnreadMessagesResponse.builder()
+				.messages(messages)
+				.count(total)
+				.chats(chatCounts)
+				.build();
+	}
+
+	@Override
+	@Scheduled(cron = "${chat.unread-count.reconcile-cron:0 30 4 * * *}")
+	public int reconcile() {
+		int removed = counterRepository.deleteDetached();
+		int fixed = counterRepository.recountAll();
+		log.info("reconcile[1]: unread counters fixed: {}, removed: {}", fixed, removed);
+
+		return fixed;
+	}
+}
@@ -1,18 +1,26 @@
 package com.soundhub.api.service.impl;
 
+import com.soundhub.api.Constants;
 import com.soundhub.api.dto.UserCompatibilityDto;
 import com.soundhub.api.dto.response.CompatibleUsersResponse;
-import com.soundhub.api.model.Genre;
 import com.soundhub.api.model.User;
 import com.soundhub.api.service.UserCompatibilityService;
 import com.soundhub.api.service.UserService;
+import com.soundhub.api.service.compatibility.CompatibilityEngine;
+import com.soundhub.api.service.compatibility.CompatibilityScorer;
+import com.soundhub.api.service.compatibility.ScoredUser;
+import com.soundhub.api.service.compatibility.TasteIndex;
+import com.soundhub.api.service.compatibility.TasteProfile;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
-import java.util.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Function;
 import java.util.stream.Collectors;
-import java.util.stream.Stream;
 
 @Slf4j
 @Service
@@ -20,76 +28,90 @@ public class UserCompatibilityServiceImpl implements UserCompatibilityService {
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private CompatibilityEngine compatibilityEngine;
+
+    @Autowired
+    private TasteIndex tasteIndex;
+
+    @Autowired
+    private CompatibilityScorer compatibilityScorer;
+
     @Override
     public CompatibleUsersResponse findCompatibilityPercentage(List<UUID> listUsersCompareWith) {
+        return findCompatibilityPercentage(listUsersCompareWith, false, null);
+    }
+
+    @Override
+    public CompatibleUsersResponse findCompatibilityPercentage(List<UUID> listUsersCompareWith, boolean sortByCompatibility, Integer limit) {
         User userCompareTo = userService.getCurrentUser();
         List<User> usersCompareWith = userService.getUsersByIds(listUsersCompareWith);
 
-        Map<User, Float> compatibilityMap = calculateCompatibilityMap(userCompareTo, usersCompareWith);
-
-        List<UserCompatibilityDto> userCompatibilityList = convertToDtoList(compatibilityMap);
+        List<UserCompatibilityDto> userCompatibilityList = calculateCompatibilities(
+                userCompareTo, usersCompareWith, sortByCompatibility, limit == null ? 0 : limit
+        );
 
         return new CompatibleUsersResponse(userCompatibilityList);
     }
 
-    private Map<User, Float> calculateCompatibilityMap(User userCompareTo, List<User> usersCompareWith) {
-        Map<User, Float> compatibilityMap = new HashMap<>();
-
-        List<UUID> artistsCompareTo = userCompareTo.getFavoriteArtistsMbids();
-        List<UUID> genresCompareTo = extractGenreIds(userCompareTo.getFavoriteGenres());
-
-        usersCompareWith.forEach(userCompareWith -> {
-            List<UUID> artistsCompareWith = userCompareWith.getFavoriteArtistsMbids();
-            List<UUID> genresCompareWith = extractGenreIds(userCompareWith.getFavoriteGenres());
+    @Override
+    public CompatibleUsersResponse findMostCompatibleUsers(int limit) {
+        User currentUser = userService.getCurrentUser();
+        int boundedLimit = Math.min(limit, Constants.MAX_COMPATIBLE_USERS_LIMIT);
 
-            float artistCompatibility = calculateCompatibilityForUserBy(artistsCompareWith, artistsCompareTo);
-            float genreCompatibility = calculateCompatibilityForUserBy(genresCompareWith, genresCompareTo);
+        TasteProfile profile = tasteIndex.getProfile(currentUser.getId())
+                .orElseGet(() -> tasteIndex.index(currentUser));
 
-            float meanCompatibility = calculateMeanCompatibility(artistCompatibility, genreCompatibility);
+        List<ScoredUser> topUsers = tasteIndex.findTopCompatible(currentUser.getId(), profile, boundedLimit);
+        log.debug("findMostCompatibleUsers[1]: found {} compatible users for user {}", topUsers.size(), currentUser.getId());
 
-            if (meanCompatibility > 0) {
-                compatibilityMap.put(userCompareWith, meanCompatibility);
-            }
-        });
+        if (topUsers.isEmpty()) {
+            return new CompatibleUsersResponse(List.of());
+        }
 
-        return compatibilityMap;
-    }
+        Map<UUID, User> usersById = userService.getUsersByIds(topUsers.stream().map(ScoredUser::userId).toList())
+                .stream()
+                .collect(Collectors.toMap(User::getId, Function.identity()));
 
-    private List<UserCompatibilityDto> convertToDtoList(Map<User, Float> compatibilityMap) {
-        return compatibilityMap.entrySet().stream()
-                .map(entry -> UserCompatibilityDto.builder()
-                        .user(entry.getKey())
-                        .compatibility(entry.getValue())
+        List<UserCompatibilityDto> userCompatibilityList = topUsers.stream()
+                .filter(scoredUser -> usersById.containsKey(scoredUser.userId()))
+                .map(scoredUser -> UserCompatibilityDto.builder()
+                        .user(usersById.get(scoredUser.userId()))
+                        .compatibility(scoredUser.compatibility())
                         .build())
-                .collect(Collectors.toList());
-    }
-
-    private List<UUID> extractGenreIds(List<Genre> genres) {
-        return genres.stream()
-                .map(Genre::getId)
                 .toList();
+
+        return new CompatibleUsersResponse(userCompatibilityList);
     }
 
-    private <T> float calculateCompatibilityForUserBy(List<T> entityCompareWith, List<T> entityCompareTo) {
-        if (entityCompareTo.isEmpty() || entityCompareWith.isEmpty()) {
-            return 0f;
-        }
+    private List<UserCompatibilityDto> calculateCompatibilities(
+            User userCompareTo,
+            List<User> usersCompareWith,
+            boolean sortByCompatibility,
+            int limit
+    ) {
+        TasteProfile profileCompareTo = compatibilityEngine.profileOf(userCompareTo);
 
-        Set<T> intersection = entityCompareWith.stream()
-                .filter(entityCompareTo::contains)
-                .collect(Collectors.toSet());
+        if (profileCompareTo.isEmpty() || usersCompareWith.isEmpty()) {
+            return List.of();
+        }
 
-        Set<T> total = Stream.concat(entityCompareWith.stream(), entityCompareTo.stream())
-                .collect(Collectors.toSet());
+        // profiles read lazy collections, so they are built on the request thread; only scoring is parallel
+        List<TasteProfile> profilesCompareWith = new ArrayList<>(usersCompareWith.size());
+        usersCompareWith.forEach(user -> profilesCompareWith.add(compatibilityEngine.profileOf(user)));
 
-        return ((float) intersection.size() / (float) total.size()) * 100;
-    }
+        float[] scores = compatibilityScorer.score(profileCompareTo, profilesCompareWith);
+        int[] positions = CompatibilityScorer.rank(scores, sortByCompatibility, limit);
+        log.debug("calculateCompatibilities[1]: {} of {} users are compatible", positions.length, scores.length);
 
-    private float calculateMeanCompatibility(float artistCompatibility, float genreCompatibility) {
-        if (artistCompatibility == 0 || genreCompatibility == 0) {
-            return Math.max(artistCompatibility, genreCompatibility);
+        List<UserCompatibilityDto> userCompatibilityList = new ArrayList<>(positions.length);
+        for (int position : positions) {
+            userCompatibilityList.add(UserCompatibilityDto.builder()
+                    .user(usersCompareWith.get(position))
+                    .compatibility(scores[position])
+                    .build());
         }
 
-        return (artistCompatibility + genreCompatibility) / 2;
+        return userCompatibilityList;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,156 @@
+package com.soundhub.api.service.impl;
+
+import com.soundhub.api.model.User;
+import com.soundhub.api.repository.UserRepository;
+import com.soundhub.api.service.compatibility.TasteIndex;
+import com.soundhub.api.service.search.UserNameIndex;
+import com.soundhub.api.service.strategies.broadcast.BroadcastChannel;
+import com.soundhub.api.service.strategies.broadcast.RedisBroadcastChannel;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.UUID;
+
+/**
+ * Applies profile changes to the in-memory {@link TasteIndex} and {@link UserNameIndex} of every node.
+ * The change is indexed locally right away, and other nodes are told the id of the changed user
+ * and reload it from the database. With {@code websocket.broker.mode=redis} the notices go
+ * through Redis pub/sub. In other modes the API runs as a single node and nothing is published.
+ */
+@Slf4j
+@Component
+public class UserIndexSync {
+	private static final String SEPARATOR = "|";
+	private static final String INDEX = "index";
+	private static final String REMOVE = "remove";
+
+	private final String nodeId = UUID.randomUUID().toString();
+	private BroadcastChannel channel;
+
+	@Value("${websocket.broker.mode:simple}")
+	private String brokerMode;
+
+	@Value("${user.index.channel:soundhub:user-index}")
+	private String channelName;
+
+	@Autowired
+	private TasteIndex tasteIndex;
+
+	@Autowired
+	private UserNameIndex userNameIndex;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ObjectProvider<RedisConnectionFactory> redisConnectionFactory;
+
+	@Autowired
+	private ObjectProvider<RedisMessageListenerContainer> redisMessageListenerContainer;
+
+	@PostConstruct
+	public void init() {
+		if (!"redis".equalsIgnoreCase(brokerMode)) {
+			return;
+		}
+
+		connect(new RedisBroadcastChannel(
+				new StringRedisTemplate(redisConnectionFactory.getObject()),
+				redisMessageListenerContainer.getObject(),
+				channelName
+		));
+	}
+
+	public void index(User user) {
+		tasteIndex.index(user);
+		userNameIndex.index(user);
+		publish(INDEX, user.getId());
+	}
+
+	public void remove(UUID userId) {
+		tasteIndex.remove(userId);
+		userNameIndex.remove(userId);
+		publish(REMOVE, userId);
+	}
+
+	private void connect(BroadcastChannel channel) {
+		this.channel = channel;
+		channel.subscribe(this::receive);
+	}
+
+	/**
+	 * Other nodes read the user back from the database, so the notice waits for the change to commit.
+	 */
+	private void publish(String action, UUID userId) {
+		if (channel == null) {
+			return;
+		}
+
+		String message = String.join(SEPARATOR, nodeId, action, userId.toString());
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					send(message);
+				}
+			});
+		} else {
+			send(message);
+		}
+	}
+
+	private void send(String message) {
+		try {
+			channel.publish(message);
+		} catch (RuntimeException e) {
+			// other nodes catch up on their next start
+			log.error("send[1]: couldn't publish user index change {}: {}", message, e.getMessage());
+		}
+	}
+
+	private void receive(String message) {
+		try {
+			String[] parts = message.split("\\" + SEPARATOR);
+
+			if (parts[0].equals(nodeId)) {
+				return;
+			}
+
+			UUID userId = UUID.fromString(parts[2]);
+
+			if (parts[1].equals(REMOVE)) {
+				tasteIndex.remove(userId);
+				userNameIndex.remove(userId);
+				return;
+			}
+
+			// the taste profile reads the user's lazy collections
+			new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+					userRepository.findById(userId).ifPresentOrElse(user -> {
+						tasteIndex.index(user);
+						userNameIndex.index(user);
+					}, () -> {
+						tasteIndex.remove(userId);
+						userNameIndex.remove(userId);
+					})
+			);
+		} catch (RuntimeException e) {
+			log.error("receive[1]: couldn't apply user index change {}: {}", message, e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,158 @@
+package com.soundhub.api.service.impl;
+
+import com.soundhub.api.Constants;
+import com.soundhub.api.model.User;
+import com.soundhub.api.service.UserSearchService;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Query;
+import jakarta.persistence.criteria.*;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.dialect.PostgreSQLDialect;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Searches users by name. Every word of the query has to occur in the user's full name.
+ * On PostgreSQL with pg_trgm the match runs against the trigram index on the full name
+ * (see SchemaIndexInitializer) and results are ranked by similarity; elsewhere a portable
+ * Criteria query is used and prefix matches rank first.
+ */
+@Slf4j
+@Service
+public class UserSearchServiceImpl implements UserSearchService {
+    // must stay identical to the expression of idx_users_full_name_trgm
+    private static final String FULL_NAME_SQL = "lower(coalesce(u.first_name, '') || ' ' || coalesce(u.last_name, ''))";
+
+    // auto: trigram when available, trigram or portable to force one
+    @Value("${user.search.engine:auto}")
+    private String engine;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Boolean trigramAvailable;
+
+    @Override
+    public List<User> searchByFullName(String query, int page, int size) {
+        List<String> tokens = tokenize(query);
+        log.debug("searchByFullName[1]: tokens: {}, page: {}, size: {}", tokens, page, size);
+
+        if (tokens.isEmpty()) {
+            return List.of();
+        }
+
+        return useTrigram()
+                ? searchByTrigram(tokens, page, size)
+                : searchPortable(tokens, page, size);
+    }
+
+    static List<String> tokenize(String query) {
+        if (query == null) {
+            return List.of();
+        }
+
+        return Arrays.stream(query.trim().toLowerCase(Locale.ROOT).split("\\s+"))
+                .filter(token -> !token.isEmpty())
+                .distinct()
+                .limit(Constants.MAX_USER_SEARCH_TOKENS)
+                .toList();
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<User> searchByTrigram(List<String> tokens, int page, int size) {
+        StringBuilder sql = new StringBuilder("SELECT u.* FROM users u WHERE ");
+        for (int i = 0; i < tokens.size(); i++) {
+            if (i > 0) {
+                sql.append(" AND ");
+            }
+            sql.append(FULL_NAME_SQL).append(" LIKE :token").append(i).append(" ESCAPE '\\'");
+        }
+        sql.append(" ORDER BY similarity(").append(FULL_NAME_SQL).append(", :query) DESC, u.id");
+
+        Query nativeQuery = entityManager.createNativeQuery(sql.toString(), User.class)
+                .setParameter("query", String.join(" ", tokens))
+                .setFirstResult(page * size)
+                .setMaxResults(size);
+        for (int i = 0; i < tokens.size(); i++) {
+            nativeQuery.setParameter("token" + i, containsPattern(tokens.get(i)));
+        }
+
+        return nativeQuery.getResultList();
+    }
+
+    private List<User> searchPortable(List<String> tokens, int page, int size) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<User> criteria = cb.createQuery(User.class);
+        Root<User> user = criteria.from(User.class);
+
+        Expression<String> firstName = cb.lower(cb.coalesce(user.get("firstName"), ""));
+        Expression<String> lastName = cb.lower(cb.coalesce(user.get("lastName"), ""));
+        Expression<String> fullName = cb.concat(cb.concat(firstName, " "), lastName);
+
+        List<Predicate> predicates = new ArrayList<>(tokens.size());
+        tokens.forEach(token -> predicates.add(cb.like(fullName, containsPattern(token), '\\')));
+
+        Expression<Integer> rank = cb.<Integer>selectCase()
+                .when(cb.like(fullName, escape(String.join(" ", tokens)) + "%", '\\'), 0)
+                .when(cb.like(firstName, escape(tokens.get(0)) + "%", '\\'), 1)
+                .when(cb.like(lastName, escape(tokens.get(0)) + "%", '\\'), 1)
+                .otherwise(2);
+
+        criteria.select(user)
+                .where(predicates.toArray(Predicate[]::new))
+                .orderBy(cb.asc(rank), cb.asc(firstName), cb.asc(lastName), cb.asc(user.get("id")));
+
+        return entityManager.createQuery(criteria)
+                .setFirstResult(page * size)
+                .setMaxResults(size)
+                .getResultList();
+    }
+
+    private boolean useTrigram() {
+        if ("portable".equalsIgnoreCase(engine)) {
+            return false;
+        }
+
+        Boolean available = trigramAvailable;
+        if (available == null) {
+            available = "trigram".equalsIgnoreCase(engine) || detectTrigram();
+            trigramAvailable = available;
+            log.info("useTrigram[1]: user search uses the {} engine", available ? "trigram" : "portable");
+        }
+
+        return available;
+    }
+
+    private boolean detectTrigram() {
+        SessionFactoryImplementor sessionFactory = entityManager.getEntityManagerFactory()
+                .unwrap(SessionFactoryImplementor.class);
+
+        if (!(sessionFactory.getJdbcServices().getDialect() instanceof PostgreSQLDialect)) {
+            return false;
+        }
+
+        // the index exists only where pg_trgm is installed, and without it a trigram match scans every user
+        Number indexed = (Number) entityManager
+                .createNativeQuery("SELECT count(*) FROM pg_indexes WHERE indexname = 'idx_users_full_name_trgm'")
+                .getSingleResult();
+        return indexed.intValue() > 0;
+    }
+
+    private static String containsPattern(String token) {
+        return "%" + escape(token) + "%";
+    }
+
+    private static String escape(String token) {
+        return token
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -2,40 +2,47 @@ package com.soundhub.api.service.impl;
 
 import com.soundhub.api.Constants;
 import com.soundhub.api.dto.UserDto;
+import com.soundhub.api.dto.UserSummaryDto;
+import com.soundhub.api.dto.UserSuggestionDto;
 import com.soundhub.api.dto.response.UserExistenceResponse;
+import com.soundhub.api.enums.InviteStatus;
 import com.soundhub.api.enums.Role;
 import com.soundhub.api.exception.ApiException;
 import com.soundhub.api.exception.ResourceNotFoundException;
 import com.soundhub.api.model.User;
+import com.soundhub.api.repository.UserRecommendationRepository;
 import com.soundhub.api.repository.UserRepository;
+import com.soundhub.api.repository.projection.UserCardView;
 import com.soundhub.api.service.FileService;
 import com.soundhub.api.service.RecommendationService;
+import com.soundhub.api.service.UserSearchService;
 import com.soundhub.api.service.UserService;
-import com.soundhub.api.service.strategies.media.MediaFileSourceStrategy;
-import com.soundhub.api.service.strategies.media.MediaFileSourceStrategyFactory;
-import com.soundhub.api.util.FileUtils;
+import com.soundhub.api.service.search.UserNameIndex;
 import com.soundhub.api.util.mappers.UserMapper;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Set;
-import java.util.UUID;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @Slf4j
 public class UserServiceImpl implements UserService {
+	private static final String CURRENT_USER_ATTRIBUTE = UserServiceImpl.class.getName() + ".currentUser";
+
 	@Value("${media.folder.avatars:avatars}")
 	private String avatarFolderName;
 
@@ -55,7 +62,16 @@ public class UserServiceImpl implements UserService {
 	private UserMapper userMapper;
 
 	@Autowired
-	private MediaFileSourceStrategyFactory mediaFileSourceStrategyFactory;
+	private UserIndexSync userIndexSync;
+
+	@Autowired
+	private UserRecommendationRepository userRecommendationRepository;
+
+	@Autowired
+	private UserSearchService userSearchService;
+
+	@Autowired
+	private UserNameIndex userNameIndex;
 
 	@Override
 	public User addUser(UserDto userDto, MultipartFile file) throws IOException {
@@ -80,6 +96,7 @@ public class UserServiceImpl implements UserService {
 				.build();
 
 		user = userRepository.save(user);
+		userIndexSync.index(user);
 
 		return user;
 	}
@@ -130,12 +147,29 @@ public class UserServiceImpl implements UserService {
 				);
 
 		String fileName = user.getAvatarUrl();
-		Files.deleteIfExists(FileUtils.getStaticFilePath(avatarFolderName, fileName));
 
 		userRepository.delete(user);
+		userIndexSync.remove(user.getId());
+		userRecommendationRepository.deleteAllInvolving(user.getId());
+		deleteAvatar(fileName);
 		return user.getId();
 	}
 
+	/**
+	 * Releases the avatar through the media source, which keeps it while other users still reference it.
+	 */
+	private void deleteAvatar(String fileName) {
+		if (fileName == null || fileName.matches(Constants.HOST_REGEX)) {
+			return;
+		}
+
+		try {
+			fileService.deleteFile(avatarFolderName, fileName);
+		} catch (ResourceNotFoundException e) {
+			log.warn("deleteAvatar[1]: avatar {} is already gone", fileName);
+		}
+	}
+
 	@Override
 	public UserDto updateUser(UUID userId, UserDto userDto) {
 		User user = userRepository.findById(userId)
@@ -146,6 +180,7 @@ public class UserServiceImpl implements UserService {
 
 		userMapper.updateUserFromDto(userDto, user);
 		userRepository.save(user);
+		userIndexSync.index(user);
 		return userMapper.userToUserDto(user);
 	}
 
@@ -158,18 +193,20 @@ public class UserServiceImpl implements UserService {
 
 		String fileName = user.getAvatarUrl();
 
+		// the new avatar is stored before the old one is released, so re-uploading the same image keeps its blob
 		if (file != null) {
-			if (fileName != null) {
-				MediaFileSourceStrategy strategy = mediaFileSourceStrategyFactory.getStrategy();
-				strategy.deleteFile(avatarFolderName, fileName);
-			}
-
+			String previousFileName = fileName;
 			fileName = fileService.uploadFile(avatarFolderName, file);
+
+			if (previousFileName != null) {
+				fileService.deleteFile(avatarFolderName, previousFileName);
+			}
 		}
 
 		userMapper.updateUserFromDto(userDto, user);
 		user.setAvatarUrl(fileName);
 		userRepository.save(user);
+		userIndexSync.index(user);
 
 		return userMapper.userToUserDto(user);
 	}
@@ -205,17 +242,34 @@ public class UserServiceImpl implements UserService {
 
 	@Override
 	public User getCurrentUser() {
-		String username = SecurityContextHolder.getContext()
-				.getAuthentication()
-				.getName();
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+
+		// JwtAuthenticationFilter has already loaded the user within this request's persistence context
+		if (authentication.getPrincipal() instanceof User principal) {
+			return principal;
+		}
+
+		RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+		if (requestAttributes != null
+				&& requestAttributes.getAttribute(CURRENT_USER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof User cachedUser) {
+			return cachedUser;
+		}
+
+		User user = getUserByEmail(authentication.getName());
+		if (requestAttributes != null) {
+			requestAttributes.setAttribute(CURRENT_USER_ATTRIBUTE, user, RequestAttributes.SCOPE_REQUEST);
+		}
 
-		return getUserByEmail(username);
+		return user;
 	}
 
 	@Override
 	public List<User> getUserFriendsById(UUID id) {
 		log.info("getUserFriendsById[1]: getting user's: {} friends", id);
-		User user = getUserById(id);
+		User user = userRepository.findWithFriendsById(id)
+				.orElseThrow(() -> new ResourceNotFoundException(
+						Constants.USER_RESOURCE_NAME, Constants.ID_FIELD, id)
+				);
 
 		log.info("getUserFriendsById[2]: user: {}", user);
 		log.info("getUserFriendsById[3]: user's friends: {}", user.getFriends());
@@ -224,18 +278,26 @@ public class UserServiceImpl implements UserService {
 	}
 
 	@Override
-	public List<User> searchByFullName(String name) {
+	public List<User> searchByFullName(String name, int page, int size) {
 		log.info("searchByFullName[1]: searching users with name: {}", name);
 
-		if (name.contains(" ")) {
-			String[] parts = name.split("\\s+");
-			String firstName = parts[0];
-			String lastName = parts[1];
+		if (page < 0 || size <= 0) {
+			throw new ApiException(HttpStatus.BAD_REQUEST, Constants.INVALID_PAGE_REQUEST);
+		}
+
+		return userSearchService.searchByFullName(name, page, Math.min(size, Constants.MAX_USER_SEARCH_PAGE_SIZE));
+	}
 
-			return userRepository.searchByFirstNameAndLastName(firstName, lastName);
-		} else {
-			return userRepository.searchByFirstNameOrLastName(name, name);
+	/**
+	 * Answers typeahead requests from the in-memory name index without touching the database.
+	 */
+	@Override
+	public List<UserSuggestionDto> autocomplete(String query, int limit) {
+		if (limit <= 0) {
+			throw new ApiException(HttpStatus.BAD_REQUEST, Constants.INVALID_PAGE_REQUEST);
 		}
+
+		return userNameIndex.suggest(query, Math.min(limit, Constants.MAX_AUTOCOMPLETE_LIMIT));
 	}
 
 	@Override
@@ -258,20 +320,43 @@ public class UserServiceImpl implements UserService {
 		return currentUser;
 	}
 
+	/**
+	 * Pages through the recommender's candidates in its order. Friends and users with a pending invite
+	 * are filtered out by the database, which returns only the fields needed for a user card.
+	 */
 	@Override
-	public List<User> getRecommendedFriends() {
-		User currentUser = getCurrentUser();
-		Set<UUID> friends = currentUser.getFriends()
-				.stream()
-				.map(User::getId)
-				.collect(Collectors.toSet());
+	public List<UserSummaryDto> getRecommendedFriends(int page, int size) {
+		if (page < 0 || size <= 0) {
+			throw new ApiException(HttpStatus.BAD_REQUEST, Constants.INVALID_PAGE_REQUEST);
+		}
 
-		List<UUID> ids = recommendationService.getRecommendedUsers(currentUser.getId());
+		UUID userId = getCurrentUser().getId();
+		List<UUID> recommendedIds = recommendationService.getRecommendedUsers(userId);
 
-		List<UUID> potentialFriends = ids.stream()
-				.filter(id -> !friends.contains(id))
-				.toList();
+		if (recommendedIds == null || recommendedIds.isEmpty()) {
+			return List.of();
+		}
 
-		return userRepository.findAllById(potentialFriends);
+		Map<UUID, UserCardView> cards = userRepository
+				.findRecommendationCards(userId, new HashSet<>(recommendedIds), InviteStatus.CONSIDERED)
+				.stream()
+				.collect(Collectors.toMap(UserCardView::getId, Function.identity()));
+		log.debug("getRecommendedFriends[1]: {} of {} recommended users can be invited", cards.size(), recommendedIds.size());
+
+		return recommendedIds.stream()
+				.distinct()
+				.map(cards::get)
+				.filter(Objects::nonNull)
+				.skip((long) page * size)
+				.limit(size)
+				.map(card -> UserSummaryDto.builder()
+						.id(card.getId())
+						.firstName(card.getFirstName())
+						.lastName(card.getLastName())
+						.avatarUrl(card.getAvatarUrl())
+						.online(card.isOnline())
+						.lastOnline(card.getLastOnline())
+						.build())
+				.toList();
 	}
 }
@@ -0,0 +1,67 @@
+package com.soundhub.api.service.recommendation;
+
+import java.time.Clock;
+
+/**
+ * Consecutive-failure circuit breaker.
+ * After {@code failureThreshold} failures in a row the circuit opens and calls are refused
+ * for {@code openDurationMs}; then a single trial call is let through and its outcome
+ * closes the circuit again or reopens it.
+ */
+public class CircuitBreaker {
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private final int failureThreshold;
+	private final long openDurationMs;
+	private final Clock clock;
+
+	private State state = State.CLOSED;
+	private int consecutiveFailures;
+	private long openedAt;
+
+	public CircuitBreaker(int failureThreshold, long openDurationMs) {
+		this(failureThreshold, openDurationMs, Clock.systemUTC());
+	}
+
+	public CircuitBreaker(int failureThreshold, long openDurationMs, Clock clock) {
+		this.failureThreshold = failureThreshold;
+		this.openDurationMs = openDurationMs;
+		this.clock = clock;
+	}
+
+	/**
+	 * Returns whether a call may be attempted now. In the half-open state only one caller gets a permit.
+	 */
+	public synchronized boolean tryAcquire() {
+		if (state == State.CLOSED) {
+			return true;
+		}
+
+		if (state == State.OPEN && clock.millis() - openedAt >= openDurationMs) {
+			state = State.HALF_OPEN;
+			return true;
+		}
+
+		return false;
+	}
+
+	public synchronized void onSuccess() {
+		state = State.CLOSED;
+		consecutiveFailures = 0;
+	}
+
+	public synchronized void onFailure() {
+		consecutiveFailures++;
+
+		if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+			state = State.OPEN;
+			openedAt = clock.millis();
+		}
+	}
+
+	public synchronized State getState() {
+		return state;
+	}
+}
@@ -0,0 +1,82 @@
+package com.soundhub.api.service.recommendation;
+
+import com.soundhub.api.Constants;
+import com.soundhub.api.exception.ApiException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestClientException;
+import org.springframework.web.client.RestTemplate;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * HTTP client of the external recommendation service.
+ * Server errors and I/O failures are retried up to {@code maxAttempts} times; a call that still fails
+ * counts against the circuit breaker, which then refuses calls until the recommender has had time to recover.
+ */
+@Slf4j
+@Component
+public class RecommendationClient {
+	private static final ParameterizedTypeReference<List<UUID>> RESPONSE_TYPE = new ParameterizedTypeReference<>() {
+	};
+
+	private final RestTemplate restTemplate;
+	private final String recommendationApi;
+	private final int maxAttempts;
+	private final CircuitBreaker circuitBreaker;
+
+	public RecommendationClient(
+			@Qualifier("recommendationRestTemplate") RestTemplate restTemplate,
+			@Value("${recommendation.url:}") String recommendationApi,
+			@Value("${recommendation.client.max-attempts:2}") int maxAttempts,
+			@Value("${recommendation.client.failure-threshold:5}") int failureThreshold,
+			@Value("${recommendation.client.open-duration-ms:30000}") long openDurationMs
+	) {
+		this.restTemplate = restTemplate;
+		this.recommendationApi = recommendationApi;
+		this.maxAttempts = Math.max(1, maxAttempts);
+		this.circuitBreaker = new CircuitBreaker(failureThreshold, openDurationMs);
+	}
+
+	public List<UUID> fetchRecommendedUsers(UUID userId) {
+		if (recommendationApi == null || recommendationApi.isBlank() || !circuitBreaker.tryAcquire()) {
+			throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, Constants.RECOMMENDATION_SERVICE_UNAVAILABLE);
+		}
+
+		String url = recommendationApi + "/" + userId;
+		RestClientException lastError = null;
+
+		for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+			try {
+				List<UUID> body = restTemplate.exchange(url, HttpMethod.GET, null, RESPONSE_TYPE).getBody();
+				circuitBreaker.onSuccess();
+				return body == null ? List.of() : body;
+			} catch (HttpClientErrorException e) {
+				// the recommender answered, so it is healthy; the request itself is wrong
+				circuitBreaker.onSuccess();
+				throw e;
+			} catch (RestClientException e) {
+				lastError = e;
+				log.warn("fetchRecommendedUsers[1]: attempt {} of {} failed for user {}: {}",
+						attempt, maxAttempts, userId, e.getMessage());
+			} catch (RuntimeException e) {
+				circuitBreaker.onFailure();
+				throw e;
+			}
+		}
+
+		circuitBreaker.onFailure();
+		throw new ApiException(HttpStatus.SERVICE_UNAVAILABLE, Constants.RECOMMENDATION_SERVICE_UNAVAILABLE, lastError);
+	}
+
+	public CircuitBreaker.State getCircuitState() {
+		return circuitBreaker.getState();
+	}
+}
@@ -0,0 +1,64 @@
+package com.soundhub.api.service.scheduling;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+/**
+ * Keeps a scheduled job from running on several API nodes at once. On PostgreSQL the job holds
+ * a session advisory lock named after it for as long as it runs, and nodes that cannot take the
+ * lock skip their run. Other databases serve a single node, so the job simply runs.
+ */
+@Slf4j
+@Component
+public class ScheduledJobLock {
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	/**
+	 * Returns {@code false} without running the job if another node is running it.
+	 */
+	public boolean runExclusively(String jobName, Runnable job) {
+		Boolean ran = jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+			if (!"PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName())) {
+				job.run();
+				return true;
+			}
+
+			// String.hashCode is specified, so every node derives the same key
+			long key = jobName.hashCode();
+
+			if (!advisoryLock(connection, "SELECT pg_try_advisory_lock(?)", key)) {
+				return false;
+			}
+
+			try {
+				job.run();
+				return true;
+			} finally {
+				if (!advisoryLock(connection, "SELECT pg_advisory_unlock(?)", key)) {
+					log.warn("runExclusively[1]: lock of {} was already released", jobName);
+				}
+			}
+		});
+
+		return Boolean.TRUE.equals(ran);
+	}
+
+	private static boolean advisoryLock(Connection connection, String sql, long key) throws SQLException {
+		try (PreparedStatement statement = connection.prepareStatement(sql)) {
+			statement.setLong(1, key);
+
+			try (ResultSet resultSet = statement.executeQuery()) {
+				return resultSet.next() && resultSet.getBoolean(1);
+			}
+		}
+	}
+}
@@ -0,0 +1,198 @@
+package com.soundhub.api.service.search;
+
+import com.soundhub.api.dto.UserSuggestionDto;
+import com.soundhub.api.model.User;
+import com.soundhub.api.repository.UserRepository;
+import com.soundhub.api.repository.projection.UserNameView;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * In-memory prefix index over normalized first and last name tokens, used for typeahead.
+ * Keys are {@code token + '\0' + userId} in a sorted map, so all users with a token starting
+ * with a prefix are one contiguous range. A second map keyed by {@code fullName + '\0' + userId}
+ * keeps users in full-name order. The index is loaded on startup and kept current
+ * on every node by {@link com.soundhub.api.service.impl.UserIndexSync}.
+ */
+@Slf4j
+@Component
+public class UserNameIndex {
+	private static final char SEPARATOR = '\u0000';
+	private static final char RANGE_END = '\uffff';
+	private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+	private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+	private final ConcurrentSkipListMap<String, UUID> tokens = new ConcurrentSkipListMap<>();
+	private final ConcurrentSkipListMap<String, UUID> fullNames = new ConcurrentSkipListMap<>();
+	private final Map<UUID, Entry> entries = new ConcurrentHashMap<>();
+
+	@Value("${user.search.autocomplete.warm-up:true}")
+	private boolean warmUpEnabled = true;
+
+	@Value("${user.search.autocomplete.batch-size:1000}")
+	private int batchSize = 1000;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void warmUp() {
+		if (!warmUpEnabled) {
+			return;
+		}
+
+		Pageable pageable = PageRequest.of(0, batchSize);
+		Slice<UserNameView> slice;
+
+		// users indexed by concurrent updates while loading are newer than the snapshot
+		do {
+			slice = userRepository.findAllNames(pageable);
+			slice.forEach(view -> indexIfAbsent(view.getId(), Entry.of(
+					view.getId(), view.getFirstName(), view.getLastName(), view.getAvatarUrl()
+			)));
+			pageable = slice.nextPageable();
+		} while (slice.hasNext());
+
+		log.info("warmUp[1]: indexed names of {} users", entries.size());
+	}
+
+	public void index(User user) {
+		index(user.getId(), Entry.of(user.getId(), user.getFirstName(), user.getLastName(), user.getAvatarUrl()));
+	}
+
+	public synchronized void remove(UUID userId) {
+		unlink(entries.remove(userId));
+	}
+
+	public int size() {
+		return entries.size();
+	}
+
+	/**
+	 * Returns up to {@code limit} users whose name tokens start with every token of {@code query}.
+	 * Users whose full name starts with the query come first, read in order from the full-name range.
+	 * The remaining places are filled from the range of the longest query token, checking the other
+	 * tokens against the candidate's own.
+	 */
+	public List<UserSuggestionDto> suggest(String query, int limit) {
+		List<String> queryTokens = tokenize(query);
+
+		if (limit <= 0 || queryTokens.isEmpty()) {
+			return List.of();
+		}
+
+		String normalizedQuery = String.join(" ", queryTokens);
+
+		List<Entry> prefixMatches = range(fullNames, normalizedQuery)
+				.limit(limit)
+				.toList();
+
+		Set<UUID> taken = new HashSet<>();
+		prefixMatches.forEach(entry -> taken.add(entry.id()));
+
+		String driver = Collections.max(queryTokens, Comparator.comparingInt(String::length));
+		List<Entry> otherMatches = range(tokens, driver)
+				.filter(entry -> entry.matches(queryTokens) && taken.add(entry.id()))
+				.limit(limit - prefixMatches.size())
+				.sorted(Comparator.comparing(Entry::fullName))
+				.toList();
+
+		return Stream.concat(prefixMatches.stream(), otherMatches.stream())
+				.map(Entry::toDto)
+				.toList();
+	}
+
+	/**
+	 * Entries with a key starting with {@code prefix}, in key order; in the token map a user appears
+	 * once per matching token.
+	 */
+	private Stream<Entry> range(ConcurrentSkipListMap<String, UUID> keys, String prefix) {
+		return keys.subMap(prefix, prefix + RANGE_END).values().stream()
+				.map(entries::get)
+				.filter(Objects::nonNull);
+	}
+
+	static List<String> tokenize(String value) {
+		if (value == null) {
+			return List.of();
+		}
+
+		String normalized = COMBINING_MARKS
+				.matcher(Normalizer.normalize(value, Normalizer.Form.NFD))
+				.replaceAll("")
+				.toLowerCase(Locale.ROOT)
+				.trim();
+
+		if (normalized.isEmpty()) {
+			return List.of();
+		}
+
+		return Arrays.stream(WHITESPACE.split(normalized))
+				.filter(token -> token.indexOf(SEPARATOR) < 0 && token.indexOf(RANGE_END) < 0)
+				.distinct()
+				.toList();
+	}
+
+	private synchronized void index(UUID userId, Entry entry) {
+		unlink(entries.remove(userId));
+		link(entry);
+	}
+
+	private synchronized void indexIfAbsent(UUID userId, Entry entry) {
+		if (!entries.containsKey(userId)) {
+			link(entry);
+		}
+	}
+
+	private void link(Entry entry) {
+		if (entry.tokens().isEmpty()) {
+			return;
+		}
+
+		entries.put(entry.id(), entry);
+		entry.tokens().forEach(token -> tokens.put(token + SEPARATOR + entry.id(), entry.id()));
+		fullNames.put(entry.fullName() + SEPARATOR + entry.id(), entry.id());
+	}
+
+	private void unlink(Entry entry) {
+		if (entry != null) {
+			entry.tokens().forEach(token -> tokens.remove(token + SEPARATOR + entry.id()));
+			fullNames.remove(entry.fullName() + SEPARATOR + entry.id());
+		}
+	}
+
+	private record Entry(UUID id, String firstName, String lastName, String avatarUrl,
+						 List<String> tokens, String fullName) {
+		static Entry of(UUID id, String firstName, String lastName, String avatarUrl) {
+			List<String> tokens = tokenize(Objects.toString(firstName, "") + " " + Objects.toString(lastName, ""));
+			return new Entry(id, firstName, lastName, avatarUrl, tokens, String.join(" ", tokens));
+		}
+
+		boolean matches(List<String> queryTokens) {
+			return queryTokens.stream().allMatch(query -> tokens.stream().anyMatch(token -> token.startsWith(query)));
+		}
+
+		UserSuggestionDto toDto() {
+			return UserSuggestionDto.builder()
+					.id(id)
+					.firstName(firstName)
+					.lastName(lastName)
+					.avatarUrl(avatarUrl)
+					.build();
+		}
+	}
+}
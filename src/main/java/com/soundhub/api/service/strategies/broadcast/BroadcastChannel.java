@@ -0,0 +1,9 @@
+package com.soundhub.api.service.strategies.broadcast;
+
+import java.util.function.Consumer;
+
+public interface BroadcastChannel {
+	void publish(String message);
+
+	void subscribe(Consumer<String> listener);
+}
@@ -0,0 +1,23 @@
+package com.soundhub.api.service.strategies.broadcast;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process stand-in for a pub/sub backbone, for local runs and tests.
+ * Every subscriber receives every published message synchronously.
+ */
+public class InMemoryBroadcastChannel implements BroadcastChannel {
+	private final List<Consumer<String>> listeners = new CopyOnWriteArrayList<>();
+
+	@Override
+	public void publish(String message) {
+		listeners.forEach(listener -> listener.accept(message));
+	}
+
+	@Override
+	public void subscribe(Consumer<String> listener) {
+		listeners.add(listener);
+	}
+}
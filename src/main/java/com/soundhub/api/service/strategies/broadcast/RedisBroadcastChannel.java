@@ -0,0 +1,37 @@
+package com.soundhub.api.service.strategies.broadcast;
+
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+public class RedisBroadcastChannel implements BroadcastChannel {
+	private final StringRedisTemplate redisTemplate;
+	private final RedisMessageListenerContainer listenerContainer;
+	private final ChannelTopic topic;
+
+	public RedisBroadcastChannel(
+			StringRedisTemplate redisTemplate,
+			RedisMessageListenerContainer listenerContainer,
+			String channelName
+	) {
+		this.redisTemplate = redisTemplate;
+		this.listenerContainer = listenerContainer;
+		this.topic = new ChannelTopic(channelName);
+	}
+
+	@Override
+	public void publish(String message) {
+		redisTemplate.convertAndSend(topic.getTopic(), message);
+	}
+
+	@Override
+	public void subscribe(Consumer<String> listener) {
+		listenerContainer.addMessageListener(
+				(message, pattern) -> listener.accept(new String(message.getBody(), StandardCharsets.UTF_8)),
+				topic
+		);
+	}
+}
@@ -0,0 +1,350 @@
+package com.soundhub.api.service.strategies.media;
+
+import com.soundhub.api.exception.ApiException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Keeps recently read files of a remote source on the local disk, up to {@code maxBytes} in total,
+ * evicting the least recently used ones. A file is cached together with its metadata, so a cached
+ * file is served without any request to the source. Concurrent misses for the same file share one
+ * download, and files written or deleted through this source are dropped from the cache.
+ * The index lives in memory, so files left in the cache folder by a previous run are deleted on start.
+ */
+@Slf4j
+public class CachingMediaFileSource implements MediaFileSourceStrategy {
+	private static final String CACHE_FILE_SUFFIX = ".cache";
+
+	private final MediaFileSourceStrategy delegate;
+	private final Path cacheFolder;
+	private final long maxBytes;
+	private final long maxFileBytes;
+
+	// access-ordered, so iteration starts at the least recently used file
+	private final LinkedHashMap<String, CachedFile> files = new LinkedHashMap<>(16, 0.75f, true);
+	private final Map<String, Download> loading = new ConcurrentHashMap<>();
+	private long cachedBytes;
+
+	private final LongAdder hits = new LongAdder();
+	private final LongAdder misses = new LongAdder();
+	private final LongAdder evictions = new LongAdder();
+
+	/**
+	 * A file read from the source; {@code file} is {@code null} when it was too large to be cached.
+	 */
+	private record CachedFile(Path file, MediaFileMetadata metadata) {
+	}
+
+	/**
+	 * A running download; {@code stale} is set when its file is written or deleted meanwhile.
+	 */
+	private record Download(CompletableFuture<CachedFile> result, AtomicBoolean stale) {
+	}
+
+	public record Stats(long hits, long misses, long evictions, int files, long bytes) {
+	}
+
+	public CachingMediaFileSource(
+			MediaFileSourceStrategy delegate,
+			Path cacheFolder,
+			long maxBytes,
+			long maxFileBytes
+	) {
+		this.delegate = delegate;
+		this.cacheFolder = cacheFolder;
+		this.maxBytes = maxBytes;
+		this.maxFileBytes = Math.min(maxFileBytes, maxBytes);
+
+		clearCacheFolder();
+	}
+
+	public MediaFileSourceStrategy getDelegate() {
+		return delegate;
+	}
+
+	/**
+	 * Hits and misses are counted per read, and a download reads a file twice: for its metadata and its body.
+	 */
+	public Stats getStats() {
+		synchronized (files) {
+			return new Stats(hits.sum(), misses.sum(), evictions.sum(), files.size(), cachedBytes);
+		}
+	}
+
+	@Override
+	public InputStream getFile(String path) {
+		Optional<Path> file = lookup(path).map(CachedFile::file);
+
+		if (file.isPresent()) {
+			try {
+				return Files.newInputStream(file.get());
+			} catch (IOException e) {
+				log.debug("getFile[1]: {} was evicted while being opened", path);
+			}
+		}
+
+		return delegate.getFile(path);
+	}
+
+	@Override
+	public MediaFileMetadata getMetadata(String path) {
+		return lookup(path).map(CachedFile::metadata).orElseGet(() -> delegate.getMetadata(path));
+	}
+
+	@Override
+	public void writeTo(String path, long offset, long length, OutputStream outputStream) throws IOException {
+		FileChannel channel = lookup(path).map(CachedFile::file).map(this::open).orElse(null);
+
+		if (channel == null) {
+			delegate.writeTo(path, offset, length, outputStream);
+			return;
+		}
+
+		try (channel) {
+			WritableByteChannel target = Channels.newChannel(outputStream);
+			long position = offset;
+			long remaining = length;
+
+			while (remaining > 0) {
+				long transferred = channel.transferTo(position, remaining, target);
+
+				if (transferred <= 0) {
+					break;
+				}
+
+				position += transferred;
+				remaining -= transferred;
+			}
+		}
+	}
+
+	/**
+	 * Cached files are not handed out for sendfile, as they may be evicted before the container opens them.
+	 */
+	@Override
+	public Optional<Path> getLocalPath(String path) {
+		return delegate.getLocalPath(path);
+	}
+
+	@Override
+	public Optional<String> getDownloadUrl(String path) {
+		return delegate.getDownloadUrl(path);
+	}
+
+	@Override
+	public Optional<PresignedUpload> presignUpload(String path, String contentType, long contentLength) {
+		return delegate.presignUpload(path, contentType, contentLength);
+	}
+
+	@Override
+	public boolean moveFile(String sourcePath, String targetPath) {
+		boolean moved = delegate.moveFile(sourcePath, targetPath);
+		invalidate(sourcePath);
+		invalidate(targetPath);
+
+		return moved;
+	}
+
+	@Override
+	public String uploadFile(String folder, MultipartFile file) {
+		String fileName = delegate.uploadFile(folder, file);
+		invalidate(Paths.get(folder, fileName).toString());
+
+		return fileName;
+	}
+
+	@Override
+	public String uploadFile(String folder, String fileName, MultipartFile file) {
+		String storedName = delegate.uploadFile(folder, fileName, file);
+		invalidate(Paths.get(folder, storedName).toString());
+
+		return storedName;
+	}
+
+	@Override
+	public void deleteFile(String folder, String fileName) {
+		delegate.deleteFile(folder, fileName);
+		invalidate(Paths.get(folder, fileName).toString());
+	}
+
+	/**
+	 * Returns the cached file, downloading it first on a miss. Empty means it has to be read from the source.
+	 */
+	private Optional<CachedFile> lookup(String path) {
+		synchronized (files) {
+			CachedFile cached = files.get(path);
+
+			if (cached != null) {
+				hits.increment();
+				return Optional.of(cached);
+			}
+		}
+
+		misses.increment();
+		Download download = new Download(new CompletableFuture<>(), new AtomicBoolean());
+		Download running = loading.putIfAbsent(path, download);
+
+		if (running != null) {
+			return Optional.ofNullable(await(running.result()));
+		}
+
+		try {
+			CachedFile cached = load(path, download);
+			download.result().complete(cached);
+
+			return Optional.ofNullable(cached);
+		} catch (RuntimeException e) {
+			download.result().completeExceptionally(e);
+			throw e;
+		} finally {
+			loading.remove(path, download);
+		}
+	}
+
+	private CachedFile load(String path, Download download) {
+		MediaFileMetadata metadata = delegate.getMetadata(path);
+
+		if (metadata.contentLength() > maxFileBytes) {
+			return new CachedFile(null, metadata);
+		}
+
+		Path file = cacheFolder.resolve(UUID.randomUUID() + CACHE_FILE_SUFFIX);
+
+		try {
+			try (OutputStream outputStream = Files.newOutputStream(file, StandardOpenOption.CREATE_NEW)) {
+				if (metadata.contentLength() > 0) {
+					delegate.writeTo(path, 0, metadata.contentLength(), outputStream);
+				}
+			}
+
+			if (Files.size(file) != metadata.contentLength()) {
+				// the file changed between reading its metadata and its content
+				delete(file);
+				return null;
+			}
+		} catch (IOException e) {
+			delete(file);
+			throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+		} catch (RuntimeException e) {
+			delete(file);
+			throw e;
+		}
+
+		CachedFile cached = new CachedFile(file, metadata);
+
+		synchronized (files) {
+			// the file was written or deleted while downloading
+			if (download.stale().get()) {
+				delete(file);
+				return null;
+			}
+
+			files.put(path, cached);
+			cachedBytes += metadata.contentLength();
+			evict();
+		}
+
+		log.debug("load[1]: cached {} ({} bytes)", path, metadata.contentLength());
+		return cached;
+	}
+
+	private void evict() {
+		Iterator<CachedFile> iterator = files.values().iterator();
+
+		while (cachedBytes > maxBytes && iterator.hasNext()) {
+			CachedFile eldest = iterator.next();
+			iterator.remove();
+
+			cachedBytes -= eldest.metadata().contentLength();
+			evictions.increment();
+			delete(eldest.file());
+		}
+	}
+
+	private void invalidate(String path) {
+		// marked before removing, so a download that is not stale yet is cached before the removal below
+		Download running = loading.get(path);
+		if (running != null) {
+			running.stale().set(true);
+		}
+
+		synchronized (files) {
+			CachedFile removed = files.remove(path);
+
+			if (removed != null) {
+				cachedBytes -= removed.metadata().contentLength();
+				delete(removed.file());
+			}
+		}
+	}
+
+	private static CachedFile await(CompletableFuture<CachedFile> download) {
+		try {
+			return download.join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+
+			throw e;
+		}
+	}
+
+	/**
+	 * Returns {@code null} when the file was evicted after the lookup, so the caller reads the source instead.
+	 */
+	private FileChannel open(Path file) {
+		try {
+			return FileChannel.open(file, StandardOpenOption.READ);
+		} catch (NoSuchFileException e) {
+			return null;
+		} catch (IOException e) {
+			throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+		}
+	}
+
+	private void clearCacheFolder() {
+		try {
+			Files.createDirectories(cacheFolder);
+
+			try (Stream<Path> leftovers = Files.list(cacheFolder)) {
+				leftovers.filter(file -> file.getFileName().toString().endsWith(CACHE_FILE_SUFFIX))
+						.forEach(CachingMediaFileSource::delete);
+			}
+		} catch (IOException e) {
+			throw new IllegalStateException("Cannot prepare media cache folder " + cacheFolder, e);
+		}
+	}
+
+	private static void delete(Path file) {
+		try {
+			Files.deleteIfExists(file);
+		} catch (IOException e) {
+			log.warn("delete[1]: cannot delete cached file {}: {}", file, e.getMessage());
+		}
+	}
+}
@@ -0,0 +1,262 @@
+package com.soundhub.api.service.strategies.media;
+
+import com.soundhub.api.Constants;
+import com.soundhub.api.exception.ApiException;
+import com.soundhub.api.model.MediaBlob;
+import com.soundhub.api.repository.MediaBlobRepository;
+import com.soundhub.api.util.ImageVariants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.StringUtils;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Stores media under the SHA-256 of its content, so identical uploads share one file in the
+ * blob folder whatever folder the caller names. Reading a path whose file name is a content key,
+ * or a resized variant of one, resolves to the blob folder; files stored under their original
+ * names keep working as before.
+ * References are counted in {@link MediaBlob} rows and a blob is deleted together with its last
+ * reference. The striped locks only serialize this instance; across instances the blob is deleted
+ * while its row is locked, so an upload of the same content elsewhere waits until both are gone.
+ */
+@Slf4j
+public class ContentAddressedMediaFileSource implements MediaFileSourceStrategy {
+	private static final Pattern CONTENT_KEY = Pattern.compile("[0-9a-f]{64}(\\.[a-z0-9]{1,10})?");
+	private static final Pattern EXTENSION = Pattern.compile("[a-z0-9]{1,10}");
+	private static final int LOCK_STRIPES = 64;
+
+	private final MediaFileSourceStrategy delegate;
+	private final MediaBlobRepository mediaBlobRepository;
+	private final String blobFolder;
+	private final TransactionTemplate transactionTemplate;
+	private final Object[] locks = new Object[LOCK_STRIPES];
+
+	public ContentAddressedMediaFileSource(
+			MediaFileSourceStrategy delegate,
+			MediaBlobRepository mediaBlobRepository,
+			PlatformTransactionManager transactionManager,
+			String blobFolder
+	) {
+		this.delegate = delegate;
+		this.mediaBlobRepository = mediaBlobRepository;
+		this.blobFolder = blobFolder;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+		for (int i = 0; i < LOCK_STRIPES; i++) {
+			locks[i] = new Object();
+		}
+	}
+
+	public MediaFileSourceStrategy getDelegate() {
+		return delegate;
+	}
+
+	public static boolean isContentKey(String fileName) {
+		return fileName != null && CONTENT_KEY.matcher(fileName).matches();
+	}
+
+	/**
+	 * Returns the content key a resized variant was made from, if {@code fileName} names one.
+	 */
+	private static Optional<String> variantOf(String fileName) {
+		return ImageVariants.parse(fileName)
+				.map(ImageVariants.Variant::originalName)
+				.filter(ContentAddressedMediaFileSource::isContentKey);
+	}
+
+	private static boolean isBlobName(String fileName) {
+		return isContentKey(fileName) || variantOf(fileName).isPresent();
+	}
+
+	@Override
+	public InputStream getFile(String path) {
+		return delegate.getFile(resolve(path));
+	}
+
+	@Override
+	public MediaFileMetadata getMetadata(String path) {
+		return delegate.getMetadata(resolve(path));
+	}
+
+	@Override
+	public void writeTo(String path, long offset, long length, OutputStream outputStream) throws IOException {
+		delegate.writeTo(resolve(path), offset, length, outputStream);
+	}
+
+	@Override
+	public Optional<Path> getLocalPath(String path) {
+		return delegate.getLocalPath(resolve(path));
+	}
+
+	@Override
+	public Optional<String> getDownloadUrl(String path) {
+		return delegate.getDownloadUrl(resolve(path));
+	}
+
+	/**
+	 * Direct uploads never pass through the API, so they are stored under their own names.
+	 */
+	@Override
+	public Optional<PresignedUpload> presignUpload(String path, String contentType, long contentLength) {
+		return delegate.presignUpload(path, contentType, contentLength);
+	}
+
+	@Override
+	public boolean moveFile(String sourcePath, String targetPath) {
+		return delegate.moveFile(sourcePath, targetPath);
+	}
+
+	/**
+	 * Hashes the upload, then stores it only if no blob with the same content exists yet.
+	 * The upload is read twice, which costs a local read but saves writing duplicates to storage.
+	 */
+	@Override
+	public String uploadFile(String folder, MultipartFile file) {
+		if (file == null || folder == null) {
+			throw new ApiException(HttpStatus.BAD_REQUEST, Constants.INVALID_MULTIPART);
+		}
+
+		String contentKey = contentKeyOf(file);
+
+		synchronized (lockFor(contentKey)) {
+			if (mediaBlobRepository.incrementRefCount(contentKey) > 0) {
+				log.debug("uploadFile[1]: {} is already stored as {}", file.getOriginalFilename(), contentKey);
+				return contentKey;
+			}
+
+			delegate.uploadFile(blobFolder, contentKey, file);
+
+			try {
+				mediaBlobRepository.insertFirstReference(
+						contentKey, file.getSize(), file.getContentType(), LocalDateTime.now()
+				);
+			} catch (DataIntegrityViolationException e) {
+				// another instance stored the same content in the meantime
+				mediaBlobRepository.incrementRefCount(contentKey);
+			}
+		}
+
+		log.debug("uploadFile[2]: stored {} as {}", file.getOriginalFilename(), contentKey);
+		return contentKey;
+	}
+
+	/**
+	 * Variants of a blob are stored beside it and shared like the blob itself.
+	 */
+	@Override
+	public String uploadFile(String folder, String fileName, MultipartFile file) {
+		return delegate.uploadFile(isBlobName(fileName) ? blobFolder : folder, fileName, file);
+	}
+
+	@Override
+	public void deleteFile(String folder, String fileName) {
+		Optional<String> variantOf = variantOf(fileName);
+
+		if (variantOf.isPresent()) {
+			deleteVariant(variantOf.get(), fileName);
+			return;
+		}
+
+		if (!isContentKey(fileName)) {
+			delegate.deleteFile(folder, fileName);
+			return;
+		}
+
+		synchronized (lockFor(fileName)) {
+			transactionTemplate.executeWithoutResult(status -> releaseReference(fileName));
+		}
+	}
+
+	/**
+	 * Runs in a transaction holding the row lock. An upload of the same content on another instance
+	 * blocks on its reference count update until the row is deleted, so it stores the file again
+	 * instead of counting a reference to a blob that is about to disappear. A failed delete rolls
+	 * the reference back.
+	 */
+	private void releaseReference(String contentKey) {
+		Optional<MediaBlob> blob = mediaBlobRepository.findByIdForUpdate(contentKey);
+
+		if (blob.isEmpty()) {
+			log.warn("releaseReference[1]: {} has no references to release", contentKey);
+			return;
+		}
+
+		if (blob.get().getRefCount() > 1) {
+			blob.get().setRefCount(blob.get().getRefCount() - 1);
+			return;
+		}
+
+		log.debug("releaseReference[2]: last reference to {} released, deleting the blob", contentKey);
+		delegate.deleteFile(blobFolder, contentKey);
+		mediaBlobRepository.delete(blob.get());
+	}
+
+	private void deleteVariant(String contentKey, String fileName) {
+		synchronized (lockFor(contentKey)) {
+			if (mediaBlobRepository.existsById(contentKey)) {
+				log.debug("deleteVariant[1]: {} is still referenced, keeping {}", contentKey, fileName);
+				return;
+			}
+
+			delegate.deleteFile(blobFolder, fileName);
+		}
+	}
+
+	static String contentKeyOf(MultipartFile file) {
+		try (DigestInputStream inputStream = new DigestInputStream(file.getInputStream(), sha256())) {
+			inputStream.transferTo(OutputStream.nullOutputStream());
+
+			String hash = HexFormat.of().formatHex(inputStream.getMessageDigest().digest());
+			String extension = StringUtils.getFilenameExtension(file.getOriginalFilename());
+
+			if (extension != null && EXTENSION.matcher(extension.toLowerCase(Locale.ROOT)).matches()) {
+				return hash + "." + extension.toLowerCase(Locale.ROOT);
+			}
+
+			return hash;
+		} catch (IOException e) {
+			throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+		}
+	}
+
+	private String resolve(String path) {
+		Path fileName = Paths.get(path).getFileName();
+
+		if (fileName != null && isBlobName(fileName.toString())) {
+			return Paths.get(blobFolder, fileName.toString()).toString();
+		}
+
+		return path;
+	}
+
+	private Object lockFor(String contentKey) {
+		return locks[Math.floorMod(contentKey.hashCode(), LOCK_STRIPES)];
+	}
+
+	private static MessageDigest sha256() {
+		try {
+			return MessageDigest.getInstance("SHA-256");
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
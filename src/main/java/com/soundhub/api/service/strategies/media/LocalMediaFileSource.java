@@ -10,11 +10,23 @@ import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.multipart.MultipartFile;
 
-import java.io.*;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.CopyOption;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.Instant;
 import java.util.Objects;
+import java.util.Optional;
 
 @Slf4j
 @Service
@@ -28,23 +40,52 @@ public class LocalMediaFileSource implements MediaFileSourceStrategy {
 	@Override
 	public InputStream getFile(String path) {
 		try {
-			Path staticFilePath = Paths.get(resourcesPath, staticFolder, path);
-			File staticFile = staticFilePath.toFile();
+			return Files.newInputStream(resolveFile(path));
+		} catch (IOException exception) {
+			String message = String.format(Constants.FILE_NOT_FOUND, path);
 
-			if (!staticFile.exists()) {
-				String message = String.format(Constants.FILE_NOT_FOUND, path);
+			throw new ResourceNotFoundException(message);
+		}
+	}
 
-				throw new ResourceNotFoundException(message);
-			}
+	@Override
+	public MediaFileMetadata getMetadata(String path) {
+		try {
+			BasicFileAttributes attributes = Files.readAttributes(resolveFile(path), BasicFileAttributes.class);
+			long lastModified = attributes.lastModifiedTime().toMillis();
+			String eTag = String.format("\"%x-%x\"", attributes.size(), lastModified);
 
-			return new FileInputStream(staticFile);
-		} catch (FileNotFoundException exception) {
-			String message = String.format(Constants.FILE_NOT_FOUND, path);
+			return new MediaFileMetadata(attributes.size(), Instant.ofEpochMilli(lastModified), eTag, null);
+		} catch (IOException exception) {
+			throw new ResourceNotFoundException(String.format(Constants.FILE_NOT_FOUND, path));
+		}
+	}
 
-			throw new ResourceNotFoundException(message);
+	@Override
+	public void writeTo(String path, long offset, long length, OutputStream outputStream) throws IOException {
+		try (FileChannel channel = FileChannel.open(resolveFile(path), StandardOpenOption.READ)) {
+			WritableByteChannel target = Channels.newChannel(outputStream);
+			long position = offset;
+			long end = offset + length;
+
+			while (position < end) {
+				long transferred = channel.transferTo(position, end - position, target);
+
+				// the file was truncated after its length was sent
+				if (transferred <= 0) {
+					break;
+				}
+
+				position += transferred;
+			}
 		}
 	}
 
+	@Override
+	public Optional<Path> getLocalPath(String path) {
+		return Optional.of(resolveFile(path));
+	}
+
 	@Override
 	public String uploadFile(String folder, MultipartFile file) {
 		log.debug("LocaleMediaFileSource.upload[1]: multipart file is {}", file);
@@ -53,8 +94,19 @@ public class LocalMediaFileSource implements MediaFileSourceStrategy {
 			throw new ApiException(HttpStatus.BAD_REQUEST, Constants.INVALID_MULTIPART);
 		}
 
-		String fileName = file.getOriginalFilename();
+		return store(folder, file.getOriginalFilename(), file);
+	}
+
+	@Override
+	public String uploadFile(String folder, String fileName, MultipartFile file) {
+		if (file == null || folder == null || fileName == null) {
+			throw new ApiException(HttpStatus.BAD_REQUEST, Constants.INVALID_MULTIPART);
+		}
 
+		return store(folder, fileName, file, StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private String store(String folder, String fileName, MultipartFile file, CopyOption... options) {
 		File fileFolder = getStaticPath(folder).toFile();
 		File staticResourcesPath = Paths.get(resourcesPath, staticFolder).toFile();
 
@@ -72,8 +124,8 @@ public class LocalMediaFileSource implements MediaFileSourceStrategy {
 		log.debug("uploadFile[1]: {}", resourcesPath);
 		log.debug("uploadFile[2]: {}", fileFolder);
 
-		try {
-			Files.copy(file.getInputStream(), filePath);
+		try (InputStream inputStream = file.getInputStream()) {
+			Files.copy(inputStream, filePath, options);
 
 			return fileName;
 		} catch (IOException e) {
@@ -101,4 +153,18 @@ public class LocalMediaFileSource implements MediaFileSourceStrategy {
 	public Path getStaticPath(String path) {
 		return Paths.get(resourcesPath, staticFolder, path);
 	}
+
+	/**
+	 * Resolves a regular file under the static folder; paths escaping it are treated as missing.
+	 */
+	private Path resolveFile(String path) {
+		Path root = Paths.get(resourcesPath, staticFolder).toAbsolutePath().normalize();
+		Path file = root.resolve(path).normalize();
+
+		if (!file.startsWith(root) || !Files.isRegularFile(file)) {
+			throw new ResourceNotFoundException(String.format(Constants.FILE_NOT_FOUND, path));
+		}
+
+		return file;
+	}
 }
@@ -0,0 +1,10 @@
+package com.soundhub.api.service.strategies.media;
+
+import java.time.Instant;
+
+/**
+ * What a media source knows about a stored file without reading it.
+ * {@code lastModified}, {@code eTag} and {@code contentType} are {@code null} when the source cannot tell.
+ */
+public record MediaFileMetadata(long contentLength, Instant lastModified, String eTag, String contentType) {
+}
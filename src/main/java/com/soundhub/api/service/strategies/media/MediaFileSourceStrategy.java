@@ -2,12 +2,57 @@ package com.soundhub.api.service.strategies.media;
 
 import org.springframework.web.multipart.MultipartFile;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Path;
+import java.util.Optional;
 
 public interface MediaFileSourceStrategy {
 	InputStream getFile(String path);
 
+	MediaFileMetadata getMetadata(String path);
+
+	/**
+	 * Streams {@code length} bytes of the file starting at {@code offset} and closes the source afterwards.
+	 */
+	void writeTo(String path, long offset, long length, OutputStream outputStream) throws IOException;
+
+	/**
+	 * Returns the file on the local disk, if the source keeps one, so it can be sent without copying.
+	 */
+	default Optional<Path> getLocalPath(String path) {
+		return Optional.empty();
+	}
+
+	/**
+	 * Returns a URL the client can download the file from without going through the API, if the source offers one.
+	 */
+	default Optional<String> getDownloadUrl(String path) {
+		return Optional.empty();
+	}
+
+	/**
+	 * Returns a URL the client can upload exactly {@code contentLength} bytes to, if the source accepts direct uploads.
+	 */
+	default Optional<PresignedUpload> presignUpload(String path, String contentType, long contentLength) {
+		return Optional.empty();
+	}
+
+	/**
+	 * Moves a file within the source. Returns {@code false} if the source cannot move files;
+	 * only sources that presign uploads need to.
+	 */
+	default boolean moveFile(String sourcePath, String targetPath) {
+		return false;
+	}
+
 	String uploadFile(String folder, MultipartFile file);
 
+	/**
+	 * Stores the file under {@code fileName} instead of its original name, replacing an existing file.
+	 */
+	String uploadFile(String folder, String fileName, MultipartFile file);
+
 	void deleteFile(String folder, String fileName);
 }
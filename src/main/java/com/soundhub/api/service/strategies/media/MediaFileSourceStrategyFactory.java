@@ -1,10 +1,17 @@
 package com.soundhub.api.service.strategies.media;
 
+import com.soundhub.api.repository.MediaBlobRepository;
 import com.soundhub.api.util.MediaSourceType;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.nio.file.Paths;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Component
 @Slf4j
@@ -15,14 +22,72 @@ public class MediaFileSourceStrategyFactory {
 	@Autowired
 	private S3MediaFileSource s3Strategy;
 
+	@Autowired
+	private MediaBlobRepository mediaBlobRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
 	@Value("${media.source}")
 	private String mediaSourceType;
 
+	@Value("${media.content-addressed:true}")
+	private boolean contentAddressed;
+
+	@Value("${media.folder.blobs:blobs/}")
+	private String blobFolder;
+
+	@Value("${media.cache.enabled:true}")
+	private boolean cacheEnabled;
+
+	@Value("${media.cache.folder:${java.io.tmpdir}/soundhub-media-cache}")
+	private String cacheFolder;
+
+	@Value("${media.cache.max-size:1073741824}")
+	private long cacheMaxSize;
+
+	@Value("${media.cache.max-file-size:16777216}")
+	private long cacheMaxFileSize;
+
+	private final Map<MediaSourceType, MediaFileSourceStrategy> contentAddressedStrategies = new ConcurrentHashMap<>();
+
+	private final Map<MediaSourceType, CachingMediaFileSource> cachingStrategies = new ConcurrentHashMap<>();
+
+	/**
+	 * Returns the configured source, storing uploads by content unless {@code media.content-addressed} is off.
+	 * Remote sources are read through a local disk cache unless {@code media.cache.enabled} is off.
+	 */
 	public MediaFileSourceStrategy getStrategy() {
 		log.debug("MediaFileSourceStrategyFactory[getStrategy]: {}", mediaSourceType);
 		MediaSourceType type = MediaSourceType.valueOf(mediaSourceType.toUpperCase());
 
-		return getStrategy(type);
+		if (!contentAddressed) {
+			return getCachingStrategy(type);
+		}
+
+		return contentAddressedStrategies.computeIfAbsent(type, key ->
+				new ContentAddressedMediaFileSource(
+						getCachingStrategy(key), mediaBlobRepository, transactionManager, blobFolder
+				));
+	}
+
+	private MediaFileSourceStrategy getCachingStrategy(MediaSourceType type) {
+		if (!cacheEnabled || type == MediaSourceType.LOCAL) {
+			return getStrategy(type);
+		}
+
+		return cachingStrategies.computeIfAbsent(type, key -> new CachingMediaFileSource(
+				getStrategy(key), Paths.get(cacheFolder), cacheMaxSize, cacheMaxFileSize
+		));
+	}
+
+	@Scheduled(fixedDelayString = "${media.cache.stats-interval-ms:300000}")
+	public void logCacheStats() {
+		cachingStrategies.forEach((type, cache) -> {
+			CachingMediaFileSource.Stats stats = cache.getStats();
+			log.info("logCacheStats[1]: {} cache hits={} misses={} evictions={} files={} bytes={}",
+					type, stats.hits(), stats.misses(), stats.evictions(), stats.files(), stats.bytes());
+		});
 	}
 
 	public MediaFileSourceStrategy getStrategy(MediaSourceType type) {
@@ -0,0 +1,10 @@
+package com.soundhub.api.service.strategies.media;
+
+import java.time.Instant;
+import java.util.Map;
+
+/**
+ * A short-lived URL the client uploads the file to with a PUT, sending {@code headers} unchanged.
+ */
+public record PresignedUpload(String url, Map<String, String> headers, Instant expiresAt) {
+}
@@ -4,29 +4,54 @@ import com.soundhub.api.Constants;
 import com.soundhub.api.exception.ApiException;
 import com.soundhub.api.exception.ResourceNotFoundException;
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
+import org.springframework.web.util.UriUtils;
 import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
 import software.amazon.awssdk.auth.credentials.AwsCredentials;
 import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
+import software.amazon.awssdk.core.async.AsyncRequestBody;
+import software.amazon.awssdk.core.async.BlockingInputStreamAsyncRequestBody;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.nio.netty.NettyNioAsyncHttpClient;
 import software.amazon.awssdk.regions.Region;
+import software.amazon.awssdk.services.s3.S3AsyncClient;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
 import software.amazon.awssdk.services.s3.model.*;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
+import software.amazon.awssdk.services.s3.presigner.model.GetObjectPresignRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PresignedPutObjectRequest;
+import software.amazon.awssdk.services.s3.presigner.model.PutObjectPresignRequest;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URI;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @Slf4j
 @Service
 public class S3MediaFileSource implements MediaFileSourceStrategy {
 	private S3Client client;
 
+	private S3AsyncClient asyncClient;
+
+	private S3Presigner presigner;
+
 	@Value("${s3.bucket.name}")
 	private String bucketName;
 
@@ -45,6 +70,27 @@ public class S3MediaFileSource implements MediaFileSourceStrategy {
 	@Value("${s3.region}")
 	private String region;
 
+	@Value("${s3.multipart.threshold:16777216}")
+	private long multipartThreshold;
+
+	@Value("${s3.multipart.part-size:8388608}")
+	private long multipartPartSize;
+
+	@Value("${s3.multipart.max-concurrency:32}")
+	private int multipartMaxConcurrency;
+
+	@Value("${s3.presign.enabled:false}")
+	private boolean presignEnabled;
+
+	@Value("${s3.presign.download-ttl-seconds:3600}")
+	private long presignDownloadTtlSeconds;
+
+	@Value("${s3.presign.upload-ttl-seconds:900}")
+	private long presignUploadTtlSeconds;
+
+	@Value("${s3.cdn.base-url:}")
+	private String cdnBaseUrl;
+
 	@PostConstruct
 	private void initClient() {
 		String accessKey = getAccessKey();
@@ -59,6 +105,34 @@ public class S3MediaFileSource implements MediaFileSourceStrategy {
 				.serviceConfiguration(builder -> builder.pathStyleAccessEnabled(true))
 				.region(Region.of(region))
 				.build();
+
+		// parts of one upload are sent in parallel; the buffer caps the memory used per upload
+		this.asyncClient = S3AsyncClient.builder()
+				.endpointOverride(endpointUri)
+				.credentialsProvider(credentialsProvider)
+				.serviceConfiguration(builder -> builder.pathStyleAccessEnabled(true))
+				.region(Region.of(region))
+				.httpClientBuilder(NettyNioAsyncHttpClient.builder().maxConcurrency(multipartMaxConcurrency))
+				.multipartEnabled(true)
+				.multipartConfiguration(builder -> builder
+						.thresholdInBytes(multipartThreshold)
+						.minimumPartSizeInBytes(multipartPartSize)
+						.apiCallBufferSizeInBytes(multipartPartSize * 4))
+				.build();
+
+		this.presigner = S3Presigner.builder()
+				.endpointOverride(endpointUri)
+				.credentialsProvider(credentialsProvider)
+				.serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+				.region(Region.of(region))
+				.build();
+	}
+
+	@PreDestroy
+	private void closeClients() {
+		client.close();
+		asyncClient.close();
+		presigner.close();
 	}
 
 	private String getAccessKey() {
@@ -83,12 +157,148 @@ public class S3MediaFileSource implements MediaFileSourceStrategy {
 		}
 	}
 
+	@Override
+	public MediaFileMetadata getMetadata(String path) {
+		HeadObjectRequest request = HeadObjectRequest.builder()
+				.bucket(bucketName)
+				.key(path)
+				.build();
+
+		try {
+			HeadObjectResponse response = client.headObject(request);
+
+			return new MediaFileMetadata(
+					response.contentLength(),
+					response.lastModified(),
+					response.eTag(),
+					response.contentType()
+			);
+		} catch (NoSuchKeyException e) {
+			throw new ResourceNotFoundException(String.format(Constants.FILE_NOT_FOUND, path));
+		} catch (NoSuchBucketException e) {
+			throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+		}
+	}
+
+	/**
+	 * Requests only the needed bytes from the bucket, so seeking in a large file does not download it whole.
+	 */
+	@Override
+	public void writeTo(String path, long offset, long length, OutputStream outputStream) throws IOException {
+		GetObjectRequest request = GetObjectRequest.builder()
+				.bucket(bucketName)
+				.key(path)
+				.range(String.format("bytes=%d-%d", offset, offset + length - 1))
+				.build();
+
+		try (InputStream inputStream = client.getObject(request)) {
+			inputStream.transferTo(outputStream);
+		} catch (NoSuchKeyException e) {
+			throw new ResourceNotFoundException(String.format(Constants.FILE_NOT_FOUND, path));
+		} catch (NoSuchBucketException e) {
+			throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+		}
+	}
+
+	/**
+	 * Points at the CDN in front of the bucket when {@code s3.cdn.base-url} is set, otherwise
+	 * presigns a GET when {@code s3.presign.enabled} is on. Signing is local, no request is made.
+	 */
+	@Override
+	public Optional<String> getDownloadUrl(String path) {
+		if (StringUtils.hasText(cdnBaseUrl)) {
+			String baseUrl = StringUtils.trimTrailingCharacter(cdnBaseUrl, '/');
+			return Optional.of(baseUrl + "/" + UriUtils.encodePath(path, StandardCharsets.UTF_8));
+		}
+
+		if (!presignEnabled) {
+			return Optional.empty();
+		}
+
+		GetObjectPresignRequest request = GetObjectPresignRequest.builder()
+				.signatureDuration(Duration.ofSeconds(presignDownloadTtlSeconds))
+				.getObjectRequest(builder -> builder.bucket(bucketName).key(path))
+				.build();
+
+		return Optional.of(presigner.presignGetObject(request).url().toString());
+	}
+
+	/**
+	 * The content type and length are signed, so the bucket rejects any other body.
+	 */
+	@Override
+	public Optional<PresignedUpload> presignUpload(String path, String contentType, long contentLength) {
+		if (!presignEnabled) {
+			return Optional.empty();
+		}
+
+		PutObjectPresignRequest request = PutObjectPresignRequest.builder()
+				.signatureDuration(Duration.ofSeconds(presignUploadTtlSeconds))
+				.putObjectRequest(builder -> builder
+						.bucket(bucketName)
+						.key(path)
+						.contentType(contentType)
+						.contentLength(contentLength))
+				.build();
+
+		PresignedPutObjectRequest presigned = presigner.presignPutObject(request);
+		Map<String, String> headers = new LinkedHashMap<>();
+
+		presigned.signedHeaders().forEach((name, values) -> {
+			// the HTTP client sets the host itself
+			if (!name.equalsIgnoreCase("host")) {
+				headers.put(name, String.join(",", values));
+			}
+		});
+
+		return Optional.of(new PresignedUpload(presigned.url().toString(), headers, presigned.expiration()));
+	}
+
+	/**
+	 * Copies the object inside the bucket, so the bytes do not pass through the API.
+	 */
+	@Override
+	public boolean moveFile(String sourcePath, String targetPath) {
+		CopyObjectRequest copyRequest = CopyObjectRequest.builder()
+				.sourceBucket(bucketName)
+				.sourceKey(sourcePath)
+				.destinationBucket(bucketName)
+				.destinationKey(targetPath)
+				.build();
+
+		DeleteObjectRequest deleteRequest = DeleteObjectRequest.builder()
+				.bucket(bucketName)
+				.key(sourcePath)
+				.build();
+
+		try {
+			client.copyObject(copyRequest);
+			client.deleteObject(deleteRequest);
+
+			return true;
+		} catch (NoSuchKeyException e) {
+			throw new ResourceNotFoundException(String.format(Constants.FILE_NOT_FOUND, sourcePath));
+		} catch (Exception e) {
+			throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+		}
+	}
+
 	@Override
 	public String uploadFile(String folder, MultipartFile file) {
+		return uploadFile(folder, file.getOriginalFilename(), file);
+	}
+
+	/**
+	 * Files up to {@code s3.multipart.threshold} bytes are sent with a single PUT. Larger files are
+	 * streamed from the multipart part into a multipart upload, whose parts are sent in parallel
+	 * and which is aborted on failure, so no incomplete parts are left in the bucket.
+	 */
+	@Override
+	public String uploadFile(String folder, String fileName, MultipartFile file) {
 		log.debug("uploadFile[1]: resources path: {}", folder);
 
 		try (InputStream inputStream = file.getInputStream()) {
-			Path path = Paths.get(folder, file.getOriginalFilename());
+			Path path = Paths.get(folder, fileName);
 
 			PutObjectRequest request = PutObjectRequest.builder()
 					.bucket(bucketName)
@@ -97,14 +307,32 @@ public class S3MediaFileSource implements MediaFileSourceStrategy {
 					.build();
 
 			long fileSize = file.getSize();
-			RequestBody body = RequestBody.fromInputStream(inputStream, fileSize);
 
-			client.putObject(request, body);
+			if (fileSize > multipartThreshold) {
+				log.debug("uploadFile[2]: multipart upload of {} bytes to {}", fileSize, path);
+				uploadMultipart(request, inputStream, fileSize);
+			} else {
+				RequestBody body = RequestBody.fromInputStream(inputStream, fileSize);
+				client.putObject(request, body);
+			}
 		} catch (Exception e) {
-			throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, e.getMessage());
+			Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+			throw new ApiException(HttpStatus.INTERNAL_SERVER_ERROR, cause.getMessage());
 		}
 
-		return file.getOriginalFilename();
+		return fileName;
+	}
+
+	private void uploadMultipart(PutObjectRequest request, InputStream inputStream, long fileSize) {
+		BlockingInputStreamAsyncRequestBody body = AsyncRequestBody.forBlockingInputStream(fileSize);
+		CompletableFuture<PutObjectResponse> upload = asyncClient.putObject(request, body);
+
+		try {
+			body.writeInputStream(inputStream);
+		} finally {
+			// reports the upload failure rather than the broken stream it caused
+			upload.join();
+		}
 	}
 
 	@Override
@@ -0,0 +1,46 @@
+package com.soundhub.api.util;
+
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Naming of resized image variants: {@code photo.jpg} at 256 px is stored next to it as {@code photo_256.jpg}.
+ */
+public final class ImageVariants {
+    private static final Pattern VARIANT = Pattern.compile("(.+)_(\\d{1,5})(\\.[^._/]+)?");
+
+    private ImageVariants() {
+    }
+
+    public record Variant(String originalName, int width) {
+    }
+
+    public static String variantName(String fileName, int width) {
+        int dot = fileName.lastIndexOf('.');
+
+        if (dot <= 0) {
+            return fileName + "_" + width;
+        }
+
+        return fileName.substring(0, dot) + "_" + width + fileName.substring(dot);
+    }
+
+    /**
+     * Splits a variant name into its original file name and width; any name with a numeric suffix parses.
+     */
+    public static Optional<Variant> parse(String fileName) {
+        if (fileName == null) {
+            return Optional.empty();
+        }
+
+        Matcher matcher = VARIANT.matcher(fileName);
+
+        if (!matcher.matches()) {
+            return Optional.empty();
+        }
+
+        String extension = matcher.group(3) != null ? matcher.group(3) : "";
+        return Optional.of(new Variant(matcher.group(1) + extension, Integer.parseInt(matcher.group(2))));
+    }
+}
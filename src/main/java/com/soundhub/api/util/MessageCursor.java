@@ -0,0 +1,42 @@
+package com.soundhub.api.util;
+
+import com.soundhub.api.Constants;
+import com.soundhub.api.exception.ApiException;
+import com.soundhub.api.model.Message;
+import org.springframework.http.HttpStatus;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+import java.util.UUID;
+
+/**
+ * Position in a chat history: the send time and id of the last message a client has seen.
+ * Clients get it as an opaque token and send it back to fetch the next (older) slice.
+ */
+public record MessageCursor(LocalDateTime sentAt, UUID id) {
+	private static final String SEPARATOR = "|";
+
+	public static MessageCursor of(Message message) {
+		return new MessageCursor(message.getSentAt(), message.getId());
+	}
+
+	public static MessageCursor decode(String token) throws ApiException {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+			int separatorIndex = raw.indexOf(SEPARATOR);
+
+			return new MessageCursor(
+					LocalDateTime.parse(raw.substring(0, separatorIndex)),
+					UUID.fromString(raw.substring(separatorIndex + 1))
+			);
+		} catch (RuntimeException e) {
+			throw new ApiException(HttpStatus.BAD_REQUEST, Constants.INVALID_MESSAGE_CURSOR, e);
+		}
+	}
+
+	public String encode() {
+		String raw = sentAt + SEPARATOR + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+	}
+}
@@ -1,7 +1,7 @@
 package com.soundhub.api.util.interceptor;
 
 import com.soundhub.api.controller.UserController;
-import com.soundhub.api.dto.UserDto;
+import com.soundhub.api.model.TransformableUser;
 import com.soundhub.api.service.impl.FileUrlTransformer;
 import com.soundhub.api.util.interceptor.transformer.url.UserTransformHandler;
 import lombok.extern.slf4j.Slf4j;
@@ -16,7 +16,7 @@ import org.springframework.web.bind.annotation.RestControllerAdvice;
 
 @Slf4j
 @RestControllerAdvice(basePackageClasses = {UserController.class})
-class UserControllerPreHandler extends AbstractResponseBodyAdvice<UserDto> {
+class UserControllerPreHandler extends AbstractResponseBodyAdvice<TransformableUser> {
     @Autowired
     private FileUrlTransformer urlTransformer;
 
@@ -0,0 +1,29 @@
+package com.soundhub.api.util.interceptor.transformer.url;
+
+import com.soundhub.api.dto.ChatSummaryDto;
+import com.soundhub.api.service.ValueTransformer;
+
+import java.util.Collection;
+
+public class ChatSummaryTransformHandler extends ObjectTransformHandler {
+    private final ValueTransformer<String> valueTransformer;
+
+    public ChatSummaryTransformHandler(ValueTransformer<String> valueTransformer) {
+        this.valueTransformer = valueTransformer;
+    }
+
+    @Override
+    boolean supports(Object object) {
+        if (object instanceof Collection<?> && ((Collection<?>) object).stream().allMatch(this::supports)) {
+            return true;
+        }
+
+        return object instanceof ChatSummaryDto;
+    }
+
+    @Override
+    protected void doTransform(Object object) throws IllegalArgumentException {
+        UserTransformHandler handler = new UserTransformHandler(valueTransformer);
+        ((ChatSummaryDto) object).getParticipants().forEach(handler::transform);
+    }
+}
@@ -5,6 +5,7 @@ import com.soundhub.api.model.TransformableUser;
 import com.soundhub.api.model.User;
 import com.soundhub.api.service.ValueTransformer;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
 
 import java.util.Collection;
 import java.util.HashSet;
@@ -32,11 +33,20 @@ public class UserTransformHandler extends ObjectTransformHandler {
 
     @Override
     protected void doTransform(Object object) throws IllegalArgumentException {
-        GenreTransformHandler genreHandler = new GenreTransformHandler(valueTransformer);
-
         if (!(object instanceof TransformableUser user))
             throw new IllegalArgumentException("Unsupported object type: " + object.getClass().getName());
 
+        transformProfile(user);
+
+        // only direct friends can be part of the response, and a collection that is still lazy is not serialized
+        List<User> friends = user.getFriends();
+        if (friends != null && Hibernate.isInitialized(friends))
+            friends.forEach(this::transformProfile);
+    }
+
+    private void transformProfile(TransformableUser user) {
+        GenreTransformHandler genreHandler = new GenreTransformHandler(valueTransformer);
+
         if (processedUsers.contains(user))
             return;
 
@@ -52,8 +62,5 @@ public class UserTransformHandler extends ObjectTransformHandler {
         user.setAvatarUrl(url);
 
         processedUsers.add(user);
-
-        List<User> friends = user.getFriends();
-        friends.forEach(this::transform);
     }
 }
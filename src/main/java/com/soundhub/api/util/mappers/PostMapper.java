@@ -4,12 +4,15 @@ import com.soundhub.api.dto.PostDto;
 import com.soundhub.api.model.Post;
 import org.mapstruct.BeanMapping;
 import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
 import org.mapstruct.MappingTarget;
 import org.mapstruct.NullValuePropertyMappingStrategy;
 
 @Mapper(componentModel = "spring")
 public interface PostMapper {
+    // images name stored files, so only the service may change them
     @BeanMapping(nullValuePropertyMappingStrategy = NullValuePropertyMappingStrategy.IGNORE)
+    @Mapping(target = "images", ignore = true)
     void updatePostFromDto(PostDto postResponse, @MappingTarget Post entity);
 
     PostDto toPostDto(Post post);
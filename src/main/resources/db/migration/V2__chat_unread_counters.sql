@@ -0,0 +1,24 @@
+-- Per-(chat, participant) unread counters, see UnreadMessageService.
+CREATE TABLE IF NOT EXISTS public.chat_unread_counters (
+    chat_id      UUID   NOT NULL,
+    user_id      UUID   NOT NULL,
+    unread_count BIGINT NOT NULL DEFAULT 0,
+    PRIMARY KEY (chat_id, user_id)
+);
+
+CREATE INDEX IF NOT EXISTS idx_chat_unread_counters_user
+    ON public.chat_unread_counters (user_id) WHERE unread_count > 0;
+
+-- Counts the unread messages of an existing database; a fresh one has no messages table yet.
+DO $$
+BEGIN
+    IF to_regclass('public.messages') IS NOT NULL THEN
+        INSERT INTO public.chat_unread_counters (chat_id, user_id, unread_count)
+        SELECT p.chat_id, p.participant_id, COUNT(m.id)
+        FROM public.chat_participants p
+        LEFT JOIN (public.messages m JOIN public.content_entity ce ON ce.id = m.id)
+            ON m.chat_id = p.chat_id AND m.is_read = false AND ce.user_id <> p.participant_id
+        GROUP BY p.chat_id, p.participant_id
+        ON CONFLICT (chat_id, user_id) DO UPDATE SET unread_count = EXCLUDED.unread_count;
+    END IF;
+END $$;
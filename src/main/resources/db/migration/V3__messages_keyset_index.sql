@@ -0,0 +1,16 @@
+-- messages.sent_at duplicates content_entity.created_at, so chat history can be
+-- paged by (chat_id, sent_at, id) without joining the parent table.
+DO $$
+BEGIN
+    IF to_regclass('public.messages') IS NOT NULL THEN
+        ALTER TABLE public.messages ADD COLUMN IF NOT EXISTS sent_at TIMESTAMP(6);
+
+        UPDATE public.messages m
+        SET sent_at = ce.created_at
+        FROM public.content_entity ce
+        WHERE ce.id = m.id AND m.sent_at IS NULL;
+
+        CREATE INDEX IF NOT EXISTS idx_messages_chat_sent_at
+            ON public.messages (chat_id, sent_at, id);
+    END IF;
+END $$;
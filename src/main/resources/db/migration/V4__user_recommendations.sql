@@ -0,0 +1,8 @@
+-- Precomputed friend candidates of the local recommender, see LocalRecommendationServiceImpl.
+CREATE TABLE IF NOT EXISTS public.user_recommendations (
+    user_id      UUID         NOT NULL,
+    candidate_id UUID         NOT NULL,
+    score        REAL         NOT NULL,
+    computed_at  TIMESTAMP(6) NOT NULL,
+    PRIMARY KEY (user_id, candidate_id)
+);
@@ -0,0 +1,11 @@
+-- Trigram support for user search, see UserSearchServiceImpl. The index itself is created
+-- by SchemaIndexInitializer once the users table exists.
+-- pg_trgm needs CREATE privilege on the database; without it search falls back
+-- to the portable engine and this migration only logs a notice.
+DO $$
+BEGIN
+    CREATE EXTENSION IF NOT EXISTS pg_trgm;
+EXCEPTION
+    WHEN insufficient_privilege THEN
+        RAISE NOTICE 'pg_trgm is not installed, user search will not use a trigram index';
+END $$;
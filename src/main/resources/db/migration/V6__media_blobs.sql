@@ -0,0 +1,8 @@
+-- Content-addressed media files and their reference counts, see ContentAddressedMediaFileSource.
+CREATE TABLE IF NOT EXISTS public.media_blobs (
+    content_key    VARCHAR(80)  NOT NULL PRIMARY KEY,
+    ref_count      BIGINT       NOT NULL,
+    content_length BIGINT       NOT NULL,
+    content_type   VARCHAR(255),
+    created_at     TIMESTAMP(6) NOT NULL
+);
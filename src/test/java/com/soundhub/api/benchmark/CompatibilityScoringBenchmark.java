@@ -0,0 +1,94 @@
+package com.soundhub.api.benchmark;
+
+import com.soundhub.api.model.Genre;
+import com.soundhub.api.service.compatibility.CompatibilityEngine;
+import com.soundhub.api.service.compatibility.CompatibilityScorer;
+import com.soundhub.api.service.compatibility.TasteProfile;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Compares sequential and fork-join scoring of compatibility requests.
+ * Run with {@code mvn test-compile exec:java -Dexec.classpathScope=test
+ * -Dexec.mainClass=com.soundhub.api.benchmark.CompatibilityScoringBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CompatibilityScoringBenchmark {
+	private static final int ARTISTS = 20_000;
+	private static final int GENRES = 300;
+
+	@Param({"10", "1000", "100000"})
+	private int candidates;
+
+	private TasteProfile profile;
+	private List<TasteProfile> profiles;
+	private CompatibilityScorer sequential;
+	private CompatibilityScorer parallel;
+
+	@Setup
+	public void setUp() {
+		Random random = new Random(7);
+		CompatibilityEngine engine = new CompatibilityEngine();
+		List<UUID> artists = IntStream.range(0, ARTISTS).mapToObj(i -> UUID.randomUUID()).toList();
+		List<Genre> genres = IntStream.range(0, GENRES)
+				.mapToObj(i -> Genre.builder().id(UUID.randomUUID()).build())
+				.toList();
+
+		profile = randomProfile(engine, random, artists, genres);
+		profiles = new ArrayList<>(candidates);
+		for (int i = 0; i < candidates; i++) {
+			profiles.add(randomProfile(engine, random, artists, genres));
+		}
+
+		sequential = new CompatibilityScorer(Integer.MAX_VALUE, 0);
+		parallel = new CompatibilityScorer(0, 0);
+	}
+
+	@TearDown
+	public void tearDown() {
+		sequential.shutdown();
+		parallel.shutdown();
+	}
+
+	@Benchmark
+	public int[] sequential() {
+		return CompatibilityScorer.rank(sequential.score(profile, profiles), true, 50);
+	}
+
+	@Benchmark
+	public int[] parallel() {
+		return CompatibilityScorer.rank(parallel.score(profile, profiles), true, 50);
+	}
+
+	private static TasteProfile randomProfile(CompatibilityEngine engine, Random random, List<UUID> artists, List<Genre> genres) {
+		List<UUID> favoriteArtists = IntStream.range(0, 5 + random.nextInt(40))
+				.mapToObj(i -> artists.get(random.nextInt(ARTISTS)))
+				.toList();
+		List<Genre> favoriteGenres = IntStream.range(0, 1 + random.nextInt(10))
+				.mapToObj(i -> genres.get(random.nextInt(GENRES)))
+				.toList();
+
+		return engine.profileOf(favoriteArtists, favoriteGenres);
+	}
+
+	public static void main(String[] args) throws RunnerException {
+		new Runner(new OptionsBuilder()
+				.include(CompatibilityScoringBenchmark.class.getSimpleName())
+				.build()
+		).run();
+	}
+}
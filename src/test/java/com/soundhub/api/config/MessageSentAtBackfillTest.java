@@ -0,0 +1,59 @@
+package com.soundhub.api.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * The backfill alters the table, which commits on its own, so the test runs without a surrounding transaction.
+ */
+@DataJpaTest(properties = {
+		"spring.flyway.enabled=false",
+		"spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import(MessageSentAtBackfill.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class MessageSentAtBackfillTest {
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private MessageSentAtBackfill backfill;
+
+	@AfterEach
+	void tearDown() {
+		jdbcTemplate.update("DELETE FROM messages");
+		jdbcTemplate.update("DELETE FROM content_entity");
+	}
+
+	@Test
+	void backfill_ShouldCopyCreationTimeAndMakeColumnNotNull() {
+		UUID id = UUID.randomUUID();
+		LocalDateTime createdAt = LocalDateTime.of(2023, 5, 1, 12, 30);
+		jdbcTemplate.execute("ALTER TABLE messages ALTER COLUMN sent_at SET NULL");
+		jdbcTemplate.update("INSERT INTO content_entity (id, created_at) VALUES (?, ?)", id, Timestamp.valueOf(createdAt));
+		jdbcTemplate.update("INSERT INTO messages (id) VALUES (?)", id);
+
+		backfill.backfill();
+
+		assertEquals(
+				createdAt,
+				jdbcTemplate.queryForObject("SELECT sent_at FROM messages WHERE id = ?", LocalDateTime.class, id)
+		);
+		assertThrows(
+				Exception.class,
+				() -> jdbcTemplate.update("INSERT INTO messages (id) VALUES (?)", UUID.randomUUID())
+		);
+	}
+}
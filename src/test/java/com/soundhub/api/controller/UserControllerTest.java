@@ -3,6 +3,7 @@ package com.soundhub.api.controller;
 import com.soundhub.api.BaseTest;
 import com.soundhub.api.dto.UserCompatibilityDto;
 import com.soundhub.api.dto.UserDto;
+import com.soundhub.api.dto.UserSummaryDto;
 import com.soundhub.api.dto.request.CompatibleUsersRequest;
 import com.soundhub.api.dto.response.CompatibleUsersResponse;
 import com.soundhub.api.dto.response.UserExistenceResponse;
@@ -259,9 +260,10 @@ public class UserControllerTest extends BaseTest {
                 .build();
 
         List<User> rawFriends = List.of(potentialFriend);
+        List<UserSummaryDto> recommendedCards = List.of(UserSummaryDto.builder().id(potentialFriend.getId()).build());
 
         when(userService.getCurrentUser()).thenReturn(currentUser);
-        when(userService.getRecommendedFriends()).thenReturn(rawFriends);
+        when(userService.getRecommendedFriends(0, 20)).thenReturn(recommendedCards);
 
         User currentUserActual = userService.getCurrentUser();
         List<UUID> recommendedUserArtistIds = rawFriends.stream()
@@ -274,14 +276,14 @@ public class UserControllerTest extends BaseTest {
                 .filter(recommendedUserArtistIds::contains)
                 .toList();
 
-        ResponseEntity<List<UserDto>> response = userController.getRecommendedFriends();
+        ResponseEntity<List<UserSummaryDto>> response = userController.getRecommendedFriends(0, 20);
         log.debug("testGetRecommendedFriends[1]: response: {}", response.getBody());
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertFalse(intersectionArtistIds.isEmpty());
         assertFalse(Objects.requireNonNull(response.getBody()).isEmpty());
 
-        verify(userService, times(1)).getRecommendedFriends();
+        verify(userService, times(1)).getRecommendedFriends(0, 20);
     }
 
     @Test
@@ -308,15 +310,15 @@ public class UserControllerTest extends BaseTest {
         List<User> users = List.of(user);
         List<UserDto> usersDto = List.of(userDto);
 
-        when(userService.searchByFullName("John")).thenReturn(users);
+        when(userService.searchByFullName("John", 0, 20)).thenReturn(users);
         when(userMapper.userToUserDto(user)).thenReturn(userDto);
 
-        ResponseEntity<List<UserDto>> response = userController.searchUsersByFullName("John");
+        ResponseEntity<List<UserDto>> response = userController.searchUsersByFullName("John", 0, 20);
         log.debug("testSearchUsersByFullName[2]: response: {}", response);
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(usersDto, response.getBody());
-        verify(userService, times(1)).searchByFullName("John");
+        verify(userService, times(1)).searchByFullName("John", 0, 20);
     }
 
     @Test
@@ -343,7 +345,7 @@ public class UserControllerTest extends BaseTest {
                         .compatibility(95.5f)
                         .build())).build();
 
-        when(userCompatibilityService.findCompatibilityPercentage(userIds)).thenReturn(compatibleUsersResponse);
+        when(userCompatibilityService.findCompatibilityPercentage(userIds, false, null)).thenReturn(compatibleUsersResponse);
 
         ResponseEntity<CompatibleUsersResponse> response = userController.findCompatibilityPercentage(CompatibleUsersRequest.builder()
                 .listUsersCompareWith(userIds).build());
@@ -351,7 +353,7 @@ public class UserControllerTest extends BaseTest {
 
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(compatibleUsersResponse, response.getBody());
-        verify(userCompatibilityService, times(1)).findCompatibilityPercentage(userIds);
+        verify(userCompatibilityService, times(1)).findCompatibilityPercentage(userIds, false, null);
     }
 
     @Test
@@ -386,15 +388,15 @@ public class UserControllerTest extends BaseTest {
 
     @Test
     public void testGetRecommendedFriendsNotFound() throws Exception {
-        List<User> empty = new ArrayList<>();
-        when(userService.getRecommendedFriends()).thenReturn(empty);
+        List<UserSummaryDto> empty = new ArrayList<>();
+        when(userService.getRecommendedFriends(0, 20)).thenReturn(empty);
 
-        ResponseEntity<List<UserDto>> response = userController.getRecommendedFriends();
+        ResponseEntity<List<UserSummaryDto>> response = userController.getRecommendedFriends(0, 20);
         log.debug("testGetRecommendedFriendsNotFound[1]: response: {}", response);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(Objects.requireNonNull(response.getBody()).isEmpty());
 
-        verify(userService, times(1)).getRecommendedFriends();
+        verify(userService, times(1)).getRecommendedFriends(0, 20);
     }
 
     @Test
@@ -415,14 +417,14 @@ public class UserControllerTest extends BaseTest {
     @Test
     public void testSearchUsersByFullNameNotFound() {
         log.debug("testSearchUsersByFullNameNotFound[1]: start test");
-        when(userService.searchByFullName("NonExistentName")).thenReturn(new ArrayList<>());
+        when(userService.searchByFullName("NonExistentName", 0, 20)).thenReturn(new ArrayList<>());
 
-        ResponseEntity<List<UserDto>> response = userController.searchUsersByFullName("NonExistentName");
+        ResponseEntity<List<UserDto>> response = userController.searchUsersByFullName("NonExistentName", 0, 20);
         log.debug("testSearchUsersByFullNameNotFound[2]: response: {}", response);
 
         assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
         assertNull(response.getBody());
-        verify(userService, times(1)).searchByFullName("NonExistentName");
+        verify(userService, times(1)).searchByFullName("NonExistentName", 0, 20);
     }
 
     @Test
@@ -445,7 +447,7 @@ public class UserControllerTest extends BaseTest {
         log.debug("testFindCompatibilityPercentageNotFound[1]: start test");
         List<UUID> userIds = List.of(userId);
         assertThrows(ResourceNotFoundException.class, () -> {
-            when(userCompatibilityService.findCompatibilityPercentage(userIds)).thenThrow(new ResourceNotFoundException("User", "id", userId));
+            when(userCompatibilityService.findCompatibilityPercentage(userIds, false, null)).thenThrow(new ResourceNotFoundException("User", "id", userId));
 
             ResponseEntity<CompatibleUsersResponse> response = userController.findCompatibilityPercentage(CompatibleUsersRequest.builder()
                     .listUsersCompareWith(userIds).build());
@@ -454,6 +456,6 @@ public class UserControllerTest extends BaseTest {
             assertNull(response.getBody());
         });
 
-        verify(userCompatibilityService, times(1)).findCompatibilityPercentage(userIds);
+        verify(userCompatibilityService, times(1)).findCompatibilityPercentage(userIds, false, null);
     }
 }
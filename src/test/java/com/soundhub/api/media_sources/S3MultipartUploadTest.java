@@ -0,0 +1,266 @@
+package com.soundhub.api.media_sources;
+
+import com.soundhub.api.exception.ApiException;
+import com.soundhub.api.service.strategies.media.S3MediaFileSource;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs uploads against a minimal S3-compatible stand-in, so the multipart protocol
+ * the SDK speaks is exercised end to end.
+ */
+class S3MultipartUploadTest {
+	private static final long PART_SIZE = 1024 * 1024;
+
+	private HttpServer server;
+	private S3MediaFileSource s3MediaFileSource;
+
+	private final List<String> requests = new CopyOnWriteArrayList<>();
+	private final Map<String, byte[]> objects = new ConcurrentHashMap<>();
+	private final Map<Integer, byte[]> parts = new ConcurrentHashMap<>();
+	private final AtomicInteger activeParts = new AtomicInteger();
+	private final AtomicInteger maxActiveParts = new AtomicInteger();
+	private volatile Integer failingPart;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+		server.createContext("/", this::handle);
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+
+		s3MediaFileSource = new S3MediaFileSource();
+		ReflectionTestUtils.setField(s3MediaFileSource, "bucketName", "bucket");
+		ReflectionTestUtils.setField(s3MediaFileSource, "bucketTenantId", "tenant");
+		ReflectionTestUtils.setField(s3MediaFileSource, "endpoint", "http://localhost:" + server.getAddress().getPort());
+		ReflectionTestUtils.setField(s3MediaFileSource, "secretKey", "secret");
+		ReflectionTestUtils.setField(s3MediaFileSource, "keyId", "key");
+		ReflectionTestUtils.setField(s3MediaFileSource, "region", "us-east-1");
+		ReflectionTestUtils.setField(s3MediaFileSource, "multipartThreshold", 2 * PART_SIZE);
+		ReflectionTestUtils.setField(s3MediaFileSource, "multipartPartSize", PART_SIZE);
+		ReflectionTestUtils.setField(s3MediaFileSource, "multipartMaxConcurrency", 8);
+		ReflectionTestUtils.invokeMethod(s3MediaFileSource, "initClient");
+	}
+
+	@AfterEach
+	void tearDown() {
+		ReflectionTestUtils.invokeMethod(s3MediaFileSource, "closeClients");
+		server.stop(0);
+	}
+
+	@Test
+	void uploadFile_AboveThreshold_UploadsPartsAndCompletes() {
+		byte[] content = randomBytes((int) (4.5 * PART_SIZE));
+		MockMultipartFile file = new MockMultipartFile("file", "track.mp3", "audio/mpeg", content);
+
+		String result = s3MediaFileSource.uploadFile("audio", file);
+
+		assertEquals("track.mp3", result);
+		assertTrue(requests.contains("POST /bucket/audio/track.mp3 uploads"));
+		assertEquals(5, requests.stream().filter(request -> request.contains("partNumber=")).count());
+		assertTrue(requests.contains("POST /bucket/audio/track.mp3 uploadId=upload-1"));
+		assertArrayEquals(content, objects.get("/bucket/audio/track.mp3"));
+		assertTrue(maxActiveParts.get() > 1, "parts should be uploaded in parallel");
+	}
+
+	@Test
+	void uploadFile_UpToThreshold_UsesSinglePut() {
+		byte[] content = randomBytes((int) PART_SIZE);
+		MockMultipartFile file = new MockMultipartFile("file", "avatar.png", "image/png", content);
+
+		s3MediaFileSource.uploadFile("avatars", file);
+
+		assertEquals(List.of("PUT /bucket/avatars/avatar.png"), requests);
+		assertArrayEquals(content, objects.get("/bucket/avatars/avatar.png"));
+	}
+
+	@Test
+	void uploadFile_WhenPartFails_AbortsUploadAndThrows() throws InterruptedException {
+		failingPart = 2;
+		MockMultipartFile file = new MockMultipartFile("file", "track.mp3", "audio/mpeg", randomBytes((int) (3 * PART_SIZE)));
+
+		ApiException ex = assertThrows(ApiException.class, () -> s3MediaFileSource.uploadFile("audio", file));
+
+		assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, ex.getHttpStatus());
+		assertTrue(ex.getMessage().contains("part rejected"));
+		// the SDK aborts the upload after failing the request, so the abort may arrive slightly later
+		assertTrue(awaitRequest("DELETE /bucket/audio/track.mp3 uploadId=upload-1"));
+		assertFalse(objects.containsKey("/bucket/audio/track.mp3"));
+	}
+
+	private boolean awaitRequest(String request) throws InterruptedException {
+		long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+
+		while (!requests.contains(request)) {
+			if (System.nanoTime() > deadline)
+				return false;
+
+			Thread.sleep(20);
+		}
+
+		return true;
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		String method = exchange.getRequestMethod();
+		String path = exchange.getRequestURI().getPath();
+		String query = exchange.getRequestURI().getQuery();
+		requests.add(query == null ? method + " " + path : method + " " + path + " " + query);
+
+		byte[] body = readBody(exchange);
+
+		if (method.equals("POST") && "uploads".equals(query)) {
+			respond(exchange, 200, "<InitiateMultipartUploadResult><Bucket>bucket</Bucket>"
+					+ "<Key>" + path + "</Key><UploadId>upload-1</UploadId></InitiateMultipartUploadResult>");
+		} else if (method.equals("PUT") && query != null && query.contains("partNumber=")) {
+			handlePart(exchange, query, body);
+		} else if (method.equals("POST") && query != null && query.startsWith("uploadId=")) {
+			ByteArrayOutputStream object = new ByteArrayOutputStream();
+			parts.keySet().stream().sorted().forEach(partNumber -> object.writeBytes(parts.get(partNumber)));
+			objects.put(path, object.toByteArray());
+			respond(exchange, 200, "<CompleteMultipartUploadResult><Bucket>bucket</Bucket>"
+					+ "<Key>" + path + "</Key><ETag>\"complete\"</ETag></CompleteMultipartUploadResult>");
+		} else if (method.equals("DELETE") && query != null && query.startsWith("uploadId=")) {
+			parts.clear();
+			respond(exchange, 204, null);
+		} else if (method.equals("PUT")) {
+			objects.put(path, body);
+			exchange.getResponseHeaders().add("ETag", eTag(body));
+			respond(exchange, 200, null);
+		} else {
+			respond(exchange, 400, "<Error><Code>InvalidRequest</Code><Message>unexpected request</Message></Error>");
+		}
+	}
+
+	private void handlePart(HttpExchange exchange, String query, byte[] body) throws IOException {
+		int partNumber = Integer.parseInt(queryParam(query, "partNumber"));
+		maxActiveParts.accumulateAndGet(activeParts.incrementAndGet(), Math::max);
+
+		try {
+			// keeps the part in flight long enough for the next ones to start
+			Thread.sleep(100);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			activeParts.decrementAndGet();
+		}
+
+		if (failingPart != null && failingPart == partNumber) {
+			respond(exchange, 403, "<Error><Code>AccessDenied</Code><Message>part rejected</Message></Error>");
+			return;
+		}
+
+		parts.put(partNumber, body);
+		exchange.getResponseHeaders().add("ETag", eTag(body));
+		respond(exchange, 200, null);
+	}
+
+	private static byte[] readBody(HttpExchange exchange) throws IOException {
+		try (InputStream inputStream = exchange.getRequestBody()) {
+			byte[] body = inputStream.readAllBytes();
+			String contentSha = exchange.getRequestHeaders().getFirst("x-amz-content-sha256");
+
+			return contentSha != null && contentSha.startsWith("STREAMING-") ? decodeChunked(body) : body;
+		}
+	}
+
+	/**
+	 * Strips the aws-chunked framing ({@code <hex size>;chunk-signature=...\r\n<data>\r\n}) used for signed streaming bodies.
+	 */
+	private static byte[] decodeChunked(byte[] body) {
+		ByteArrayOutputStream decoded = new ByteArrayOutputStream();
+		int position = 0;
+
+		while (position < body.length) {
+			int lineEnd = indexOfCrlf(body, position);
+			String header = new String(body, position, lineEnd - position, StandardCharsets.US_ASCII);
+			int size = Integer.parseInt(header.split(";")[0], 16);
+
+			if (size == 0)
+				break;
+
+			decoded.write(body, lineEnd + 2, size);
+			position = lineEnd + 2 + size + 2;
+		}
+
+		return decoded.toByteArray();
+	}
+
+	private static int indexOfCrlf(byte[] body, int from) {
+		for (int i = from; i < body.length - 1; i++) {
+			if (body[i] == '\r' && body[i + 1] == '\n')
+				return i;
+		}
+
+		throw new IllegalStateException("malformed chunked body");
+	}
+
+	private static String queryParam(String query, String name) {
+		for (String pair : query.split("&")) {
+			String[] keyValue = pair.split("=", 2);
+
+			if (keyValue[0].equals(name))
+				return keyValue[1];
+		}
+
+		throw new IllegalArgumentException(name);
+	}
+
+	private static void respond(HttpExchange exchange, int status, String xml) throws IOException {
+		if (xml == null) {
+			exchange.sendResponseHeaders(status, -1);
+			exchange.close();
+			return;
+		}
+
+		byte[] response = xml.getBytes(StandardCharsets.UTF_8);
+		exchange.getResponseHeaders().add("Content-Type", "application/xml");
+		exchange.sendResponseHeaders(status, response.length);
+
+		try (var outputStream = exchange.getResponseBody()) {
+			outputStream.write(response);
+		}
+	}
+
+	/**
+	 * S3 returns the MD5 of the body as the ETag of single-part objects and parts, and the SDK checks it.
+	 */
+	private static String eTag(byte[] body) {
+		try {
+			return "\"" + HexFormat.of().formatHex(MessageDigest.getInstance("MD5").digest(body)) + "\"";
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static byte[] randomBytes(int size) {
+		byte[] bytes = new byte[size];
+		new Random(size).nextBytes(bytes);
+		return bytes;
+	}
+}
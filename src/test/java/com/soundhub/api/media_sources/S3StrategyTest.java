@@ -2,25 +2,40 @@ package com.soundhub.api.media_sources;
 
 import com.soundhub.api.exception.ApiException;
 import com.soundhub.api.exception.ResourceNotFoundException;
+import com.soundhub.api.service.strategies.media.MediaFileMetadata;
+import com.soundhub.api.service.strategies.media.PresignedUpload;
 import com.soundhub.api.service.strategies.media.S3MediaFileSource;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
+import software.amazon.awssdk.auth.credentials.AwsBasicCredentials;
+import software.amazon.awssdk.auth.credentials.StaticCredentialsProvider;
 import software.amazon.awssdk.core.ResponseInputStream;
 import software.amazon.awssdk.core.sync.RequestBody;
+import software.amazon.awssdk.http.AbortableInputStream;
+import software.amazon.awssdk.regions.Region;
 import software.amazon.awssdk.services.s3.S3Client;
+import software.amazon.awssdk.services.s3.S3Configuration;
 import software.amazon.awssdk.services.s3.model.*;
+import software.amazon.awssdk.services.s3.presigner.S3Presigner;
 
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.net.URI;
+import java.time.Instant;
+import java.util.Optional;
 
-import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
 
 @SpringBootTest
@@ -58,6 +73,45 @@ class S3StrategyTest {
 		assertThrows(ResourceNotFoundException.class, () -> s3MediaFileSource.getFile("bad/file.mp3"));
 	}
 
+	@Test
+	void testGetMetadata_Success() {
+		Instant lastModified = Instant.parse("2024-01-01T00:00:00Z");
+		when(mockClient.headObject(any(HeadObjectRequest.class))).thenReturn(HeadObjectResponse.builder()
+				.contentLength(42L)
+				.lastModified(lastModified)
+				.eTag("\"abc\"")
+				.contentType("audio/mpeg")
+				.build());
+
+		MediaFileMetadata metadata = s3MediaFileSource.getMetadata("media/audio.mp3");
+
+		assertEquals(new MediaFileMetadata(42L, lastModified, "\"abc\"", "audio/mpeg"), metadata);
+	}
+
+	@Test
+	void testGetMetadata_NoSuchKey() {
+		when(mockClient.headObject(any(HeadObjectRequest.class))).thenThrow(NoSuchKeyException.builder().build());
+
+		assertThrows(ResourceNotFoundException.class, () -> s3MediaFileSource.getMetadata("bad/file.mp3"));
+	}
+
+	@Test
+	void testWriteTo_RequestsRangeAndClosesStream() throws IOException {
+		ResponseInputStream<GetObjectResponse> responseStream = spy(new ResponseInputStream<>(
+				GetObjectResponse.builder().build(),
+				AbortableInputStream.create(new ByteArrayInputStream("4567".getBytes()))
+		));
+		ArgumentCaptor<GetObjectRequest> captor = ArgumentCaptor.forClass(GetObjectRequest.class);
+		when(mockClient.getObject(captor.capture())).thenReturn(responseStream);
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+		s3MediaFileSource.writeTo("media/audio.mp3", 4, 4, outputStream);
+
+		assertEquals("bytes=4-7", captor.getValue().range());
+		assertEquals("4567", outputStream.toString());
+		verify(responseStream).close();
+	}
+
 	@Test
 	void testUploadFile_Success() throws IOException {
 		when(mockFile.getOriginalFilename()).thenReturn("song.mp3");
@@ -79,6 +133,79 @@ class S3StrategyTest {
 		assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, ex.getHttpStatus());
 	}
 
+	@Test
+	void testGetDownloadUrl_EmptyWhenPresignDisabled() {
+		assertTrue(s3MediaFileSource.getDownloadUrl("blobs/abc.png").isEmpty());
+	}
+
+	@Test
+	void testGetDownloadUrl_Presigned() {
+		enablePresign();
+		ReflectionTestUtils.setField(s3MediaFileSource, "presignDownloadTtlSeconds", 60L);
+
+		String url = s3MediaFileSource.getDownloadUrl("blobs/abc.png").orElseThrow();
+
+		assertTrue(url.startsWith("https://s3.test/bucket/blobs/abc.png?"), url);
+		assertTrue(url.contains("X-Amz-Expires=60"), url);
+		assertTrue(url.contains("X-Amz-Signature="), url);
+	}
+
+	@Test
+	void testGetDownloadUrl_Cdn() {
+		ReflectionTestUtils.setField(s3MediaFileSource, "cdnBaseUrl", "https://cdn.test/");
+
+		assertEquals(Optional.of("https://cdn.test/blobs/abc.png"), s3MediaFileSource.getDownloadUrl("blobs/abc.png"));
+	}
+
+	@Test
+	void testPresignUpload_SignsContentTypeAndLength() {
+		enablePresign();
+		ReflectionTestUtils.setField(s3MediaFileSource, "presignUploadTtlSeconds", 900L);
+
+		PresignedUpload upload = s3MediaFileSource.presignUpload("pending/a.mp3", "audio/mpeg", 42).orElseThrow();
+
+		assertTrue(upload.url().startsWith("https://s3.test/bucket/pending/a.mp3?"), upload.url());
+		assertEquals("audio/mpeg", upload.headers().get("content-type"));
+		assertEquals("42", upload.headers().get("content-length"));
+		assertFalse(upload.headers().keySet().stream().anyMatch(name -> name.equalsIgnoreCase("host")));
+		assertTrue(upload.expiresAt().isAfter(Instant.now()));
+	}
+
+	@Test
+	void testMoveFile_CopiesThenDeletesSource() {
+		ReflectionTestUtils.setField(s3MediaFileSource, "bucketName", "bucket");
+		ArgumentCaptor<CopyObjectRequest> copy = ArgumentCaptor.forClass(CopyObjectRequest.class);
+		ArgumentCaptor<DeleteObjectRequest> delete = ArgumentCaptor.forClass(DeleteObjectRequest.class);
+
+		assertTrue(s3MediaFileSource.moveFile("pending/a.mp3", "static/a.mp3"));
+
+		InOrder inOrder = inOrder(mockClient);
+		inOrder.verify(mockClient).copyObject(copy.capture());
+		inOrder.verify(mockClient).deleteObject(delete.capture());
+		assertEquals("pending/a.mp3", copy.getValue().sourceKey());
+		assertEquals("static/a.mp3", copy.getValue().destinationKey());
+		assertEquals("pending/a.mp3", delete.getValue().key());
+	}
+
+	@Test
+	void testMoveFile_NoSuchKey() {
+		when(mockClient.copyObject(any(CopyObjectRequest.class))).thenThrow(NoSuchKeyException.builder().build());
+
+		assertThrows(ResourceNotFoundException.class, () -> s3MediaFileSource.moveFile("pending/a.mp3", "static/a.mp3"));
+		verify(mockClient, never()).deleteObject(any(DeleteObjectRequest.class));
+	}
+
+	private void enablePresign() {
+		ReflectionTestUtils.setField(s3MediaFileSource, "presignEnabled", true);
+		ReflectionTestUtils.setField(s3MediaFileSource, "bucketName", "bucket");
+		ReflectionTestUtils.setField(s3MediaFileSource, "presigner", S3Presigner.builder()
+				.endpointOverride(URI.create("https://s3.test"))
+				.credentialsProvider(StaticCredentialsProvider.create(AwsBasicCredentials.create("key", "secret")))
+				.serviceConfiguration(S3Configuration.builder().pathStyleAccessEnabled(true).build())
+				.region(Region.US_EAST_1)
+				.build());
+	}
+
 	@Test
 	void testDeleteFile_Success() {
 		DeleteObjectResponse mockResponse = DeleteObjectResponse.builder().deleteMarker(true).build();
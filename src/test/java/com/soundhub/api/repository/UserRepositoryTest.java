@@ -0,0 +1,168 @@
+package com.soundhub.api.repository;
+
+import com.soundhub.api.enums.InviteStatus;
+import com.soundhub.api.model.Genre;
+import com.soundhub.api.model.Invite;
+import com.soundhub.api.model.User;
+import com.soundhub.api.repository.projection.MutualFriendsView;
+import com.soundhub.api.repository.projection.UserCardView;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DataJpaTest(properties = {
+		"spring.flyway.enabled=false",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class UserRepositoryTest {
+	private static final String EMAIL = "vasya.pupkin@gmail.com";
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private Statistics statistics;
+	private UUID userId;
+
+	@BeforeEach
+	void setUp() {
+		Genre genre = entityManager.persist(Genre.builder().name("rock").build());
+
+		List<User> friends = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			User friend = user("friend" + i + "@gmail.com");
+			friend.getFavoriteGenres().add(genre);
+			friend.getLanguages().add("en");
+			friends.add(entityManager.persist(friend));
+		}
+
+		User user = user(EMAIL);
+		user.setFriends(friends);
+		user.getFavoriteGenres().add(genre);
+		user.getLanguages().add("ru");
+		user.getFavoriteArtistsMbids().add(UUID.randomUUID());
+		userId = entityManager.persist(user).getId();
+
+		entityManager.flush();
+		entityManager.clear();
+
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void findByEmail_ShouldIssueSingleStatement_WhenAuthenticatingRequest() {
+		User user = userRepository.findByEmail(EMAIL).orElseThrow();
+
+		assertEquals(userId, user.getId());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void findWithFriendsById_ShouldFetchFriendsInSameStatement() {
+		User user = userRepository.findWithFriendsById(userId).orElseThrow();
+
+		assertEquals(3, user.getFriends().size());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void friendCollections_ShouldBeBatchFetched() {
+		User user = userRepository.findWithFriendsById(userId).orElseThrow();
+
+		user.getFriends().forEach(friend -> {
+			assertEquals(1, friend.getFavoriteGenres().size());
+			assertEquals(List.of("en"), friend.getLanguages());
+		});
+
+		// one statement for the user with friends plus one per collection, regardless of friends count
+		assertEquals(3, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void findFriendsOfFriends_ShouldRankByMutualFriends_AndSkipExistingFriends() {
+		List<User> friends = userRepository.findWithFriendsById(userId).orElseThrow().getFriends();
+		User stranger = entityManager.persist(user("stranger@gmail.com"));
+		User acquaintance = entityManager.persist(user("acquaintance@gmail.com"));
+		User self = entityManager.find(User.class, userId);
+
+		friends.get(0).getFriends().addAll(List.of(stranger, acquaintance, friends.get(1), self));
+		friends.get(1).getFriends().add(stranger);
+		entityManager.flush();
+		entityManager.clear();
+
+		List<MutualFriendsView> candidates = userRepository.findFriendsOfFriends(userId, PageRequest.of(0, 10));
+
+		assertEquals(List.of(stranger.getId(), acquaintance.getId()),
+				candidates.stream().map(MutualFriendsView::getCandidateId).toList());
+		assertEquals(2, candidates.get(0).getMutualFriends());
+		assertEquals(3, userRepository.findFriendIdsByUserId(userId).size());
+	}
+
+	@Test
+	void findRecommendationCards_ShouldSkipFriendsAndPendingInvites() {
+		List<UUID> friendIds = userRepository.findFriendIdsByUserId(userId);
+		User self = entityManager.find(User.class, userId);
+		User candidate = entityManager.persist(user("candidate@gmail.com"));
+		User invited = entityManager.persist(user("invited@gmail.com"));
+		User inviter = entityManager.persist(user("inviter@gmail.com"));
+		User rejected = entityManager.persist(user("rejected@gmail.com"));
+		entityManager.persist(invite(self, invited, InviteStatus.CONSIDERED));
+		entityManager.persist(invite(inviter, self, InviteStatus.CONSIDERED));
+		entityManager.persist(invite(self, rejected, InviteStatus.REJECTED));
+		entityManager.flush();
+		entityManager.clear();
+
+		List<UUID> candidateIds = new ArrayList<>(friendIds);
+		candidateIds.addAll(List.of(userId, candidate.getId(), invited.getId(), inviter.getId(), rejected.getId()));
+		statistics.clear();
+
+		List<UserCardView> cards = userRepository.findRecommendationCards(userId, candidateIds, InviteStatus.CONSIDERED);
+
+		assertEquals(Set.of(candidate.getId(), rejected.getId()),
+				cards.stream().map(UserCardView::getId).collect(Collectors.toSet()));
+		assertEquals("Vasya", cards.get(0).getFirstName());
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	private Invite invite(User sender, User recipient, InviteStatus status) {
+		return Invite.builder()
+				.sender(sender)
+				.recipient(recipient)
+				.status(status)
+				.createdDateTime(LocalDateTime.now())
+				.build();
+	}
+
+	private User user(String email) {
+		return User.builder()
+				.email(email)
+				.password("password")
+				.firstName("Vasya")
+				.lastName("Pupkin")
+				.birthday(LocalDate.of(2000, 1, 1))
+				.build();
+	}
+}
@@ -0,0 +1,116 @@
+package com.soundhub.api.service;
+
+import com.soundhub.api.Constants;
+import com.soundhub.api.security.BlacklistingService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.core.Cursor;
+import org.springframework.data.redis.core.ScanOptions;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.listener.Topic;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BlacklistingServiceTest {
+	private static final String TOKEN = "header.payload.signature";
+
+	@Mock
+	private StringRedisTemplate redisTemplate;
+
+	@Mock
+	private RedisMessageListenerContainer listenerContainer;
+
+	@InjectMocks
+	private BlacklistingService blacklistingService;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(blacklistingService, "jwtDuration", 60_000L);
+		ReflectionTestUtils.setField(blacklistingService, "maxLocalEntries", 100);
+	}
+
+	@Test
+	void blackListJwt_ShouldStoreHashNotRawToken() {
+		@SuppressWarnings("unchecked")
+		ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+		when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+		blacklistingService.blackListJwt(TOKEN);
+
+		ArgumentCaptor<String> key = ArgumentCaptor.forClass(String.class);
+		verify(valueOperations).set(key.capture(), anyString(), eq(Duration.ofMillis(60_000)));
+		assertTrue(key.getValue().startsWith(Constants.REVOKED_TOKEN_KEY_PREFIX));
+		assertFalse(key.getValue().contains(TOKEN));
+		verify(redisTemplate).convertAndSend(eq(Constants.REVOKED_TOKEN_CHANNEL), anyString());
+
+		assertTrue(blacklistingService.isBlacklisted(TOKEN));
+	}
+
+	@Test
+	void isBlacklisted_ShouldNotCallRedis_AfterReplicaIsLoaded() {
+		stubEmptyScan();
+		blacklistingService.resync();
+
+		assertFalse(blacklistingService.isBlacklisted(TOKEN));
+		verify(redisTemplate, never()).hasKey(anyString());
+	}
+
+	@Test
+	void isBlacklisted_ShouldAcceptToken_WhenRedisIsDownBeforeFirstSync() {
+		when(redisTemplate.hasKey(anyString())).thenThrow(new RedisConnectionFailureException("connection refused"));
+
+		assertFalse(blacklistingService.isBlacklisted(TOKEN));
+	}
+
+	@Test
+	void isBlacklisted_ShouldSeeRevocationsPublishedByOtherNodes() {
+		@SuppressWarnings("unchecked")
+		ValueOperations<String, String> valueOperations = mock(ValueOperations.class);
+		when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+
+		ArgumentCaptor<String> published = ArgumentCaptor.forClass(String.class);
+		BlacklistingService otherNode = new BlacklistingService();
+		ReflectionTestUtils.setField(otherNode, "redisTemplate", redisTemplate);
+		ReflectionTestUtils.setField(otherNode, "jwtDuration", 60_000L);
+		ReflectionTestUtils.setField(otherNode, "maxLocalEntries", 100);
+		otherNode.blackListJwt(TOKEN);
+		verify(redisTemplate).convertAndSend(eq(Constants.REVOKED_TOKEN_CHANNEL), published.capture());
+
+		ArgumentCaptor<MessageListener> listener = ArgumentCaptor.forClass(MessageListener.class);
+		ReflectionTestUtils.invokeMethod(blacklistingService, "subscribe");
+		verify(listenerContainer).addMessageListener(listener.capture(), any(Topic.class));
+		stubEmptyScan();
+		blacklistingService.resync();
+
+		listener.getValue().onMessage(new DefaultMessage(
+				Constants.REVOKED_TOKEN_CHANNEL.getBytes(StandardCharsets.UTF_8),
+				published.getValue().getBytes(StandardCharsets.UTF_8)
+		), null);
+
+		assertTrue(blacklistingService.isBlacklisted(TOKEN));
+	}
+
+	@SuppressWarnings("unchecked")
+	private void stubEmptyScan() {
+		Cursor<String> cursor = mock(Cursor.class);
+		when(redisTemplate.scan(any(ScanOptions.class))).thenReturn(cursor);
+	}
+}
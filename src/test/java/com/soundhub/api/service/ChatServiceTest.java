@@ -1,12 +1,15 @@
 package com.soundhub.api.service;
 
 import com.soundhub.api.BaseTest;
+import com.soundhub.api.dto.ChatSummaryDto;
 import com.soundhub.api.dto.request.GroupChatRequest;
 import com.soundhub.api.exception.ApiException;
 import com.soundhub.api.exception.ResourceNotFoundException;
 import com.soundhub.api.model.Chat;
 import com.soundhub.api.model.User;
 import com.soundhub.api.repository.ChatRepository;
+import com.soundhub.api.repository.projection.ChatParticipantView;
+import com.soundhub.api.repository.projection.ChatSummaryView;
 import com.soundhub.api.service.impl.ChatServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +21,7 @@ import org.mockito.junit.jupiter.MockitoExtension;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -37,6 +41,9 @@ public class ChatServiceTest extends BaseTest {
     @Mock
     private UserService userService;
 
+    @Mock
+    private UnreadMessageService unreadMessageService;
+
 
     @BeforeEach
     public void setUp() {
@@ -93,6 +100,30 @@ public class ChatServiceTest extends BaseTest {
         assertEquals(chat, result.get(0));
     }
 
+    @Test
+    public void testFindChatSummariesByUserId_Positive() {
+        ChatSummaryView summaryView = mock(ChatSummaryView.class);
+        when(summaryView.getId()).thenReturn(chatId);
+        when(summaryView.getUnreadCount()).thenReturn(3L);
+        when(summaryView.getLastMessageId()).thenReturn(UUID.randomUUID());
+        when(summaryView.getLastMessageContent()).thenReturn("hello");
+
+        ChatParticipantView participantView = mock(ChatParticipantView.class);
+        when(participantView.getChatId()).thenReturn(chatId);
+        when(participantView.getId()).thenReturn(userId);
+
+        when(chatRepository.findChatSummariesByUserId(userId)).thenReturn(List.of(summaryView));
+        when(chatRepository.findParticipantsByChatIds(Set.of(chatId))).thenReturn(List.of(participantView));
+
+        List<ChatSummaryDto> result = chatService.findChatSummariesByUserId(userId);
+
+        assertEquals(1, result.size());
+        assertEquals(3L, result.get(0).getUnreadCount());
+        assertEquals("hello", result.get(0).getLastMessage().getContent());
+        assertEquals(userId, result.get(0).getParticipants().get(0).getId());
+        verify(chatRepository, never()).findChatsByUserId(any(UUID.class));
+    }
+
     @Test
     public void testCreateGroup_Positive() {
         GroupChatRequest request = new GroupChatRequest();
@@ -0,0 +1,72 @@
+package com.soundhub.api.service;
+
+import com.soundhub.api.model.Genre;
+import com.soundhub.api.service.compatibility.CompatibilityEngine;
+import com.soundhub.api.service.compatibility.TasteProfile;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CompatibilityEngineTest {
+	private final CompatibilityEngine engine = new CompatibilityEngine();
+
+	@Test
+	void artistSimilarity_ShouldBeJaccardInPercent() {
+		UUID shared = UUID.randomUUID();
+		TasteProfile a = engine.profileOf(List.of(UUID.randomUUID(), UUID.randomUUID(), shared), List.of());
+		TasteProfile b = engine.profileOf(List.of(shared, UUID.randomUUID(), UUID.randomUUID()), List.of());
+
+		assertEquals(20f, a.artistSimilarity(b), 0.01);
+		assertEquals(20f, a.compatibilityWith(b), 0.01);
+	}
+
+	@Test
+	void profileOf_ShouldIgnoreDuplicates() {
+		UUID shared = UUID.randomUUID();
+		TasteProfile a = engine.profileOf(List.of(shared, shared), List.of());
+		TasteProfile b = engine.profileOf(List.of(shared, UUID.randomUUID()), List.of());
+
+		assertEquals(1, a.artistCount());
+		assertEquals(50f, a.artistSimilarity(b), 0.01);
+	}
+
+	@Test
+	void genreSimilarity_ShouldCountBitsAcrossWords() {
+		List<Genre> genres = IntStream.range(0, 130)
+				.mapToObj(i -> Genre.builder().id(UUID.randomUUID()).name("genre" + i).build())
+				.toList();
+		// touch every genre so the indices span three 64-bit words
+		engine.profileOf(List.of(), genres);
+
+		TasteProfile a = engine.profileOf(List.of(), List.of(genres.get(0), genres.get(64), genres.get(129)));
+		TasteProfile b = engine.profileOf(List.of(), List.of(genres.get(64), genres.get(129), genres.get(5)));
+
+		assertEquals(3, a.genreCount());
+		assertEquals(50f, a.genreSimilarity(b), 0.01);
+	}
+
+	@Test
+	void compatibilityWith_ShouldAverageArtistAndGenreScores() {
+		UUID artist = UUID.randomUUID();
+		Genre rock = Genre.builder().id(UUID.randomUUID()).name("rock").build();
+		Genre jazz = Genre.builder().id(UUID.randomUUID()).name("jazz").build();
+
+		TasteProfile a = engine.profileOf(List.of(artist), List.of(rock));
+		TasteProfile b = engine.profileOf(List.of(artist, UUID.randomUUID()), List.of(rock, jazz));
+
+		// artists 1/2 = 50%, genres 1/2 = 50%
+		assertEquals(50f, a.compatibilityWith(b), 0.01);
+	}
+
+	@Test
+	void profileOf_ShouldReturnEmpty_WhenUserHasNoTastes() {
+		assertSame(TasteProfile.EMPTY, engine.profileOf(new ArrayList<>(), null));
+		assertEquals(0f, TasteProfile.EMPTY.compatibilityWith(engine.profileOf(List.of(UUID.randomUUID()), List.of())));
+	}
+}
@@ -0,0 +1,66 @@
+package com.soundhub.api.service;
+
+import com.soundhub.api.model.Genre;
+import com.soundhub.api.service.compatibility.CompatibilityEngine;
+import com.soundhub.api.service.compatibility.CompatibilityScorer;
+import com.soundhub.api.service.compatibility.TasteProfile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Random;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompatibilityScorerTest {
+	private final CompatibilityEngine engine = new CompatibilityEngine();
+	private final CompatibilityScorer scorer = new CompatibilityScorer(100, 4);
+
+	@AfterEach
+	void tearDown() {
+		scorer.shutdown();
+	}
+
+	@Test
+	void score_ShouldMatchSequentialScores_WhenAboveThreshold() {
+		Random random = new Random(42);
+		List<UUID> artists = IntStream.range(0, 50).mapToObj(i -> UUID.randomUUID()).toList();
+		List<Genre> genres = IntStream.range(0, 20)
+				.mapToObj(i -> Genre.builder().id(UUID.randomUUID()).build())
+				.toList();
+
+		TasteProfile profile = engine.profileOf(artists.subList(0, 10), genres.subList(0, 5));
+		List<TasteProfile> candidates = IntStream.range(0, 5_000)
+				.mapToObj(i -> engine.profileOf(
+						List.of(artists.get(random.nextInt(50)), artists.get(random.nextInt(50))),
+						List.of(genres.get(random.nextInt(20)))
+				))
+				.toList();
+
+		assertTrue(scorer.isParallel(candidates.size()));
+		float[] scores = scorer.score(profile, candidates);
+
+		assertEquals(candidates.size(), scores.length);
+		for (int i = 0; i < scores.length; i++) {
+			assertEquals(profile.compatibilityWith(candidates.get(i)), scores[i]);
+		}
+	}
+
+	@Test
+	void rank_ShouldKeepCandidateOrder_WhenNotSorted() {
+		float[] scores = {0f, 30f, 10f, 0f, 20f};
+
+		assertArrayEquals(new int[]{1, 2, 4}, CompatibilityScorer.rank(scores, false, 0));
+		assertArrayEquals(new int[]{1, 2}, CompatibilityScorer.rank(scores, false, 2));
+	}
+
+	@Test
+	void rank_ShouldReturnBestFirst_WhenSorted() {
+		float[] scores = {10f, 0f, 50f, 20f, 50f};
+
+		assertArrayEquals(new int[]{2, 4, 3, 0}, CompatibilityScorer.rank(scores, true, 0));
+		assertArrayEquals(new int[]{2, 4}, CompatibilityScorer.rank(scores, true, 2));
+	}
+}
@@ -0,0 +1,143 @@
+package com.soundhub.api.service;
+
+import com.soundhub.api.Constants;
+import com.soundhub.api.dto.request.PresignedUploadRequest;
+import com.soundhub.api.dto.response.PresignedUploadResponse;
+import com.soundhub.api.exception.ApiException;
+import com.soundhub.api.exception.ResourceNotFoundException;
+import com.soundhub.api.service.impl.DirectUploadServiceImpl;
+import com.soundhub.api.service.strategies.media.MediaFileSourceStrategy;
+import com.soundhub.api.service.strategies.media.MediaFileSourceStrategyFactory;
+import com.soundhub.api.service.strategies.media.PresignedUpload;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class DirectUploadServiceTest {
+	private static final String UPLOAD_NAME = "0b6f9a1e-3c2d-4e5f-8a9b-1c2d3e4f5a6b.mp3";
+
+	@Mock
+	private MediaFileSourceStrategyFactory mediaFileSourceStrategyFactory;
+
+	@Mock
+	private MediaFileSourceStrategy strategy;
+
+	@InjectMocks
+	private DirectUploadServiceImpl directUploadService;
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(directUploadService, "staticFolder", "static");
+		ReflectionTestUtils.setField(directUploadService, "pendingFolder", "pending");
+		ReflectionTestUtils.setField(directUploadService, "maxSize", 1000L);
+	}
+
+	@Test
+	void createUpload_ShouldPresignPutForGeneratedNameInPendingFolder() {
+		Instant expiresAt = Instant.parse("2024-01-01T00:15:00Z");
+		ArgumentCaptor<String> path = ArgumentCaptor.forClass(String.class);
+		when(mediaFileSourceStrategyFactory.getStrategy()).thenReturn(strategy);
+		when(strategy.presignUpload(path.capture(), eq("audio/mpeg"), eq(500L))).thenReturn(Optional.of(
+				new PresignedUpload("https://bucket/upload", Map.of("Content-Type", "audio/mpeg"), expiresAt)
+		));
+
+		PresignedUploadResponse response = directUploadService.createUpload(
+				new PresignedUploadRequest("My Song.MP3", "audio/mpeg", 500)
+		);
+
+		assertTrue(response.getFileName().matches("[0-9a-f-]{36}\\.mp3"), response.getFileName());
+		assertEquals("pending/" + response.getFileName(), path.getValue());
+		assertEquals("https://bucket/upload", response.getUploadUrl());
+		assertEquals("PUT", response.getMethod());
+		assertEquals(Map.of("Content-Type", "audio/mpeg"), response.getHeaders());
+		assertEquals(expiresAt, response.getExpiresAt());
+	}
+
+	@Test
+	void createUpload_ShouldRejectFilesAboveMaxSize() {
+		ApiException ex = assertThrows(ApiException.class, () -> directUploadService.createUpload(
+				new PresignedUploadRequest("big.wav", "audio/wav", 1001)
+		));
+
+		assertEquals(HttpStatus.BAD_REQUEST, ex.getHttpStatus());
+		verifyNoInteractions(mediaFileSourceStrategyFactory);
+	}
+
+	@Test
+	void createUpload_ShouldFail_WhenSourceCannotPresign() {
+		when(mediaFileSourceStrategyFactory.getStrategy()).thenReturn(strategy);
+		when(strategy.presignUpload(anyString(), anyString(), anyLong())).thenReturn(Optional.empty());
+
+		ApiException ex = assertThrows(ApiException.class, () -> directUploadService.createUpload(
+				new PresignedUploadRequest("song.mp3", "audio/mpeg", 500)
+		));
+
+		assertEquals(HttpStatus.BAD_REQUEST, ex.getHttpStatus());
+	}
+
+	@Test
+	void confirmUpload_ShouldMovePendingFileToStaticFolder() {
+		when(mediaFileSourceStrategyFactory.getStrategy()).thenReturn(strategy);
+		when(strategy.moveFile(anyString(), anyString())).thenReturn(true);
+
+		String result = directUploadService.confirmUpload(UPLOAD_NAME);
+
+		assertEquals(UPLOAD_NAME, result);
+		verify(strategy).moveFile("pending/" + UPLOAD_NAME, "static/" + UPLOAD_NAME);
+	}
+
+	@Test
+	void confirmUpload_ShouldFail_WhenSourceCannotMove() {
+		when(mediaFileSourceStrategyFactory.getStrategy()).thenReturn(strategy);
+		when(strategy.moveFile(anyString(), anyString())).thenReturn(false);
+
+		ApiException ex = assertThrows(ApiException.class, () -> directUploadService.confirmUpload(UPLOAD_NAME));
+
+		assertEquals(HttpStatus.BAD_REQUEST, ex.getHttpStatus());
+		assertEquals(Constants.DIRECT_UPLOAD_NOT_SUPPORTED, ex.getMessage());
+		verify(strategy, never()).getMetadata(anyString());
+	}
+
+	@Test
+	void confirmUpload_ShouldSucceed_WhenAlreadyConfirmed() {
+		when(mediaFileSourceStrategyFactory.getStrategy()).thenReturn(strategy);
+		when(strategy.moveFile(anyString(), anyString())).thenThrow(new ResourceNotFoundException("pending"));
+
+		assertEquals(UPLOAD_NAME, directUploadService.confirmUpload(UPLOAD_NAME));
+		verify(strategy).getMetadata("static/" + UPLOAD_NAME);
+	}
+
+	@Test
+	void confirmUpload_ShouldThrowNotFound_WhenNothingWasUploaded() {
+		when(mediaFileSourceStrategyFactory.getStrategy()).thenReturn(strategy);
+		when(strategy.moveFile(anyString(), anyString())).thenThrow(new ResourceNotFoundException("pending"));
+		when(strategy.getMetadata("static/" + UPLOAD_NAME)).thenThrow(new ResourceNotFoundException("static"));
+
+		assertThrows(ResourceNotFoundException.class, () -> directUploadService.confirmUpload(UPLOAD_NAME));
+	}
+
+	@Test
+	void confirmUpload_ShouldRejectNamesThatWereNotIssued() {
+		ApiException ex = assertThrows(ApiException.class, () -> directUploadService.confirmUpload("../avatars/a.png"));
+
+		assertEquals(HttpStatus.BAD_REQUEST, ex.getHttpStatus());
+		verifyNoInteractions(mediaFileSourceStrategyFactory);
+	}
+}
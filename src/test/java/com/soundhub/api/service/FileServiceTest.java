@@ -5,6 +5,7 @@ import com.soundhub.api.exception.ResourceNotFoundException;
 import com.soundhub.api.service.impl.FileServiceImpl;
 import com.soundhub.api.service.strategies.media.MediaFileSourceStrategy;
 import com.soundhub.api.service.strategies.media.MediaFileSourceStrategyFactory;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -13,6 +14,8 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
 import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.ByteArrayInputStream;
@@ -21,6 +24,8 @@ import java.io.InputStream;
 import java.nio.file.Paths;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -36,12 +41,28 @@ class FileServiceTest {
 	@Mock
 	private MediaFileSourceStrategy strategy;
 
+	@Mock
+	private ImageVariantService imageVariantService;
+
 	@InjectMocks
 	private FileServiceImpl fileService;
 
+	private ThreadPoolTaskExecutor uploadExecutor;
+
 	@BeforeEach
 	void setUp() {
 		when(mediaFileSourceStrategyFactory.getStrategy()).thenReturn(strategy);
+
+		uploadExecutor = new ThreadPoolTaskExecutor();
+		uploadExecutor.setCorePoolSize(2);
+		uploadExecutor.setMaxPoolSize(2);
+		uploadExecutor.initialize();
+		ReflectionTestUtils.setField(fileService, "mediaUploadExecutor", uploadExecutor);
+	}
+
+	@AfterEach
+	void tearDown() {
+		uploadExecutor.shutdown();
 	}
 
 	@Test
@@ -61,6 +82,24 @@ class FileServiceTest {
 		verify(strategy, times(1)).uploadFile(path, file);
 	}
 
+	@Test
+	void uploadFile_ShouldScheduleImageVariantsForStoredName() throws IOException {
+		MockMultipartFile file = new MockMultipartFile("file", "photo.jpg", "image/jpeg", "jpeg".getBytes());
+		when(strategy.uploadFile("avatars", file)).thenReturn("stored.jpg");
+
+		fileService.uploadFile("avatars", file);
+
+		verify(imageVariantService).scheduleVariants("avatars", "stored.jpg", file);
+	}
+
+	@Test
+	void deleteFile_ShouldDeleteFileAndItsVariants() {
+		fileService.deleteFile("avatars", "stored.jpg");
+
+		verify(strategy).deleteFile("avatars", "stored.jpg");
+		verify(imageVariantService).deleteVariants("avatars", "stored.jpg");
+	}
+
 	@Test
 	void uploadFileList_ShouldReturnListOfFilenames_WhenAllSuccessful() {
 		// Arrange
@@ -74,13 +113,53 @@ class FileServiceTest {
 		);
 
 		when(strategy.uploadFile(eq(path), any(MultipartFile.class)))
-				.thenReturn("a.txt")
-				.thenReturn("b.txt");
+				.thenAnswer(invocation -> invocation.getArgument(1, MultipartFile.class).getOriginalFilename());
 
 		List<String> names = fileService.uploadFileList(path, Arrays.asList(file1, file2));
 
 		assertIterableEquals(Arrays.asList("a.txt", "b.txt"), names);
 		verify(strategy, times(2)).uploadFile(eq(path), any(MultipartFile.class));
+		verify(imageVariantService).scheduleVariants(path, "a.txt", file1);
+		verify(imageVariantService).scheduleVariants(path, "b.txt", file2);
+	}
+
+	@Test
+	void uploadFileList_ShouldPreserveInputOrder_WhenLaterFilesFinishFirst() {
+		String path = "upload";
+		CountDownLatch secondStored = new CountDownLatch(1);
+		MultipartFile file1 = new MockMultipartFile("file1", "a.txt", "text/plain", "a".getBytes());
+		MultipartFile file2 = new MockMultipartFile("file2", "b.txt", "text/plain", "b".getBytes());
+
+		when(strategy.uploadFile(path, file1)).thenAnswer(invocation -> {
+			assertTrue(secondStored.await(5, TimeUnit.SECONDS));
+			return "a.txt";
+		});
+		when(strategy.uploadFile(path, file2)).thenAnswer(invocation -> {
+			secondStored.countDown();
+			return "b.txt";
+		});
+
+		List<String> names = fileService.uploadFileList(path, List.of(file1, file2));
+
+		assertIterableEquals(List.of("a.txt", "b.txt"), names);
+	}
+
+	@Test
+	void uploadFileList_ShouldDeleteStoredFiles_WhenAnotherUploadFails() {
+		String path = "upload";
+		MultipartFile good = new MockMultipartFile("file1", "good.txt", "text/plain", "a".getBytes());
+		MultipartFile bad = new MockMultipartFile("file2", "bad.txt", "text/plain", "b".getBytes());
+
+		when(strategy.uploadFile(path, good)).thenReturn("good.txt");
+		when(strategy.uploadFile(path, bad)).thenThrow(new ApiException(HttpStatus.BAD_REQUEST, "IO failure"));
+
+		ApiException ex = assertThrows(ApiException.class, () ->
+				fileService.uploadFileList(path, List.of(good, bad))
+		);
+
+		assertEquals("IO failure", ex.getMessage());
+		verify(strategy).deleteFile(path, "good.txt");
+		verifyNoInteractions(imageVariantService);
 	}
 
 	@Test
@@ -0,0 +1,132 @@
+package com.soundhub.api.service;
+
+import com.soundhub.api.service.impl.ImageVariantServiceImpl;
+import com.soundhub.api.service.strategies.media.LocalMediaFileSource;
+import com.soundhub.api.service.strategies.media.MediaFileSourceStrategyFactory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.imageio.ImageIO;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.lenient;
+
+@ExtendWith(MockitoExtension.class)
+class ImageVariantServiceTest {
+	@Mock
+	private MediaFileSourceStrategyFactory mediaFileSourceStrategyFactory;
+
+	@InjectMocks
+	private ImageVariantServiceImpl imageVariantService;
+
+	@TempDir
+	private Path resources;
+
+	private Path folder;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		LocalMediaFileSource localSource = new LocalMediaFileSource();
+		ReflectionTestUtils.setField(localSource, "resourcesPath", resources.toString());
+		ReflectionTestUtils.setField(localSource, "staticFolder", "static");
+		folder = Files.createDirectories(resources.resolve("static/avatars"));
+
+		lenient().when(mediaFileSourceStrategyFactory.getStrategy()).thenReturn(localSource);
+		ReflectionTestUtils.invokeMethod(imageVariantService, "init");
+	}
+
+	@AfterEach
+	void tearDown() {
+		ReflectionTestUtils.invokeMethod(imageVariantService, "shutdown");
+	}
+
+	@Test
+	void scheduleVariants_ShouldStoreDownscaledJpegsNextToOriginal() throws IOException {
+		imageVariantService.scheduleVariants("avatars", "photo.jpg", image("photo.jpg", 2000, 1000, false, "jpeg"));
+		awaitPipeline();
+
+		assertDimensions(folder.resolve("photo_1024.jpg"), 1024, 512);
+		assertDimensions(folder.resolve("photo_256.jpg"), 256, 128);
+		assertDimensions(folder.resolve("photo_64.jpg"), 64, 32);
+	}
+
+	@Test
+	void scheduleVariants_ShouldNotUpscaleAndShouldKeepPngTransparency() throws IOException {
+		imageVariantService.scheduleVariants("avatars", "logo.png", image("logo.png", 200, 100, true, "png"));
+		awaitPipeline();
+
+		BufferedImage small = ImageIO.read(folder.resolve("logo_64.png").toFile());
+
+		assertEquals(64, small.getWidth());
+		assertTrue(small.getColorModel().hasAlpha());
+		assertFalse(Files.exists(folder.resolve("logo_256.png")));
+		assertFalse(Files.exists(folder.resolve("logo_1024.png")));
+	}
+
+	@Test
+	void scheduleVariants_ShouldIgnoreNonImages() throws IOException {
+		imageVariantService.scheduleVariants("avatars", "notes.txt",
+				new MockMultipartFile("file", "notes.txt", "text/plain", "text".getBytes()));
+		awaitPipeline();
+
+		try (var files = Files.list(folder)) {
+			assertEquals(0, files.count());
+		}
+	}
+
+	@Test
+	void deleteVariants_ShouldRemoveEveryWidth() throws IOException {
+		Files.writeString(folder.resolve("photo_64.jpg"), "64");
+		Files.writeString(folder.resolve("photo_256.jpg"), "256");
+
+		imageVariantService.deleteVariants("avatars", "photo.jpg");
+
+		assertFalse(Files.exists(folder.resolve("photo_64.jpg")));
+		assertFalse(Files.exists(folder.resolve("photo_256.jpg")));
+	}
+
+	private static MockMultipartFile image(String name, int width, int height, boolean alpha, String format)
+			throws IOException {
+		BufferedImage image = new BufferedImage(width, height,
+				alpha ? BufferedImage.TYPE_INT_ARGB : BufferedImage.TYPE_INT_RGB);
+		image.setRGB(0, 0, 0xFF336699);
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		ImageIO.write(image, format, outputStream);
+
+		return new MockMultipartFile("file", name, "image/" + format, outputStream.toByteArray());
+	}
+
+	private void awaitPipeline() {
+		ExecutorService executor = (ExecutorService) ReflectionTestUtils.getField(imageVariantService, "executor");
+		executor.shutdown();
+
+		try {
+			assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			fail(e);
+		}
+	}
+
+	private static void assertDimensions(Path path, int width, int height) throws IOException {
+		BufferedImage image = ImageIO.read(path.toFile());
+
+		assertEquals(width, image.getWidth());
+		assertEquals(height, image.getHeight());
+	}
+}
@@ -0,0 +1,73 @@
+package com.soundhub.api.service;
+
+import com.soundhub.api.model.User;
+import com.soundhub.api.security.JwtService;
+import com.soundhub.api.security.VerifiedToken;
+import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.security.SignatureException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JwtServiceTest {
+	private static final String SIGNING_KEY = Base64.getEncoder()
+			.encodeToString("0123456789abcdef0123456789abcdef".getBytes());
+
+	private JwtService jwtService;
+	private User user;
+
+	@BeforeEach
+	void setUp() {
+		jwtService = jwtService(60_000);
+		user = User.builder().email("vasya.pupkin@gmail.com").build();
+	}
+
+	@Test
+	void verify_ShouldReturnSubjectExpiryAndId() {
+		String token = jwtService.generateToken(user);
+
+		VerifiedToken verified = jwtService.verify(token);
+
+		assertEquals(user.getEmail(), verified.subject());
+		assertNotNull(verified.id());
+		assertFalse(verified.isExpired());
+		assertTrue(jwtService.isTokenValid(verified, user));
+	}
+
+	@Test
+	void verify_ShouldReuseCachedClaims_ForRepeatedToken() {
+		String token = jwtService.generateToken(user);
+
+		assertSame(jwtService.verify(token), jwtService.verify(token));
+	}
+
+	@Test
+	void verify_ShouldRejectTamperedToken() {
+		String token = jwtService.generateToken(user);
+		String tampered = token.substring(0, token.length() - 2) + (token.endsWith("AA") ? "BB" : "AA");
+
+		assertThrows(SignatureException.class, () -> jwtService.verify(tampered));
+	}
+
+	@Test
+	void verify_ShouldRejectExpiredToken() {
+		JwtService expiringService = jwtService(-1_000);
+		String token = expiringService.generateToken(user);
+
+		assertThrows(ExpiredJwtException.class, () -> expiringService.verify(token));
+	}
+
+	private JwtService jwtService(int expirationInMs) {
+		JwtService service = new JwtService();
+		ReflectionTestUtils.setField(service, "jwtSigningKey", SIGNING_KEY);
+		ReflectionTestUtils.setField(service, "jwtExpirationInMs", expirationInMs);
+		ReflectionTestUtils.setField(service, "verifiedTokensCacheSize", 100);
+		ReflectionTestUtils.invokeMethod(service, "init");
+
+		return service;
+	}
+}
@@ -0,0 +1,170 @@
+package com.soundhub.api.service;
+
+import com.soundhub.api.model.UserRecommendation;
+import com.soundhub.api.repository.UserRecommendationRepository;
+import com.soundhub.api.repository.UserRepository;
+import com.soundhub.api.repository.projection.MutualFriendsView;
+import com.soundhub.api.service.compatibility.ScoredUser;
+import com.soundhub.api.service.compatibility.TasteIndex;
+import com.soundhub.api.service.compatibility.TasteProfile;
+import com.soundhub.api.service.impl.LocalRecommendationServiceImpl;
+import com.soundhub.api.service.scheduling.ScheduledJobLock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LocalRecommendationServiceTest {
+	@Mock
+	private UserRepository userRepository;
+
+	@Mock
+	private UserRecommendationRepository userRecommendationRepository;
+
+	@Mock
+	private TasteIndex tasteIndex;
+
+	@Mock
+	private ScheduledJobLock scheduledJobLock;
+
+	@InjectMocks
+	private LocalRecommendationServiceImpl localRecommendationService;
+
+	private final UUID userId = UUID.randomUUID();
+	private final UUID friendOfFriend = UUID.randomUUID();
+	private final UUID soulmate = UUID.randomUUID();
+	private final UUID both = UUID.randomUUID();
+	private final UUID friend = UUID.randomUUID();
+
+	@BeforeEach
+	void setUp() {
+		ReflectionTestUtils.setField(localRecommendationService, "limit", 10);
+		ReflectionTestUtils.setField(localRecommendationService, "mutualFriendsSaturation", 5);
+		ReflectionTestUtils.setField(localRecommendationService, "batchSize", 100);
+		ReflectionTestUtils.setField(localRecommendationService, "emptyTtlMinutes", 60);
+	}
+
+	@Test
+	void getRecommendedUsers_ShouldServePrecomputedCandidates() {
+		when(userRecommendationRepository.findCandidateIdsByUserId(eq(userId), any(Pageable.class)))
+				.thenReturn(List.of(both, soulmate));
+
+		assertEquals(List.of(both, soulmate), localRecommendationService.getRecommendedUsers(userId));
+		verify(userRepository, never()).findFriendsOfFriends(any(), any());
+	}
+
+	@Test
+	void getRecommendedUsers_ShouldComputeAndStore_WhenNothingIsPrecomputed() {
+		when(userRecommendationRepository.findCandidateIdsByUserId(eq(userId), any(Pageable.class)))
+				.thenReturn(List.of());
+		stubSources();
+
+		List<UUID> recommended = localRecommendationService.getRecommendedUsers(userId);
+
+		// both sources rank first, the friend already added is never suggested
+		assertEquals(List.of(both, soulmate, friendOfFriend), recommended);
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<UserRecommendation>> stored = ArgumentCaptor.forClass(List.class);
+		verify(userRecommendationRepository).replaceForUser(eq(userId), stored.capture());
+		assertEquals(3, stored.getValue().size());
+		assertEquals(0.5f * 4 / 5 + 0.5f * 0.6f, stored.getValue().get(0).getScore(), 0.001);
+	}
+
+	@Test
+	void getRecommendedUsers_ShouldStoreMarker_WhenNoCandidatesFound() {
+		when(userRecommendationRepository.findCandidateIdsByUserId(eq(userId), any(Pageable.class)))
+				.thenReturn(List.of());
+
+		assertTrue(localRecommendationService.getRecommendedUsers(userId).isEmpty());
+
+		@SuppressWarnings("unchecked")
+		ArgumentCaptor<List<UserRecommendation>> stored = ArgumentCaptor.forClass(List.class);
+		verify(userRecommendationRepository).replaceForUser(eq(userId), stored.capture());
+		assertEquals(1, stored.getValue().size());
+		assertEquals(userId, stored.getValue().get(0).getCandidateId());
+	}
+
+	@Test
+	void getRecommendedUsers_ShouldNotRecompute_WhileEmptyMarkerIsFresh() {
+		when(userRecommendationRepository.findCandidateIdsByUserId(eq(userId), any(Pageable.class)))
+				.thenReturn(List.of());
+		when(userRecommendationRepository.existsByUserIdAndCandidateIdAndComputedAtAfter(eq(userId), eq(userId), any()))
+				.thenReturn(true);
+
+		assertTrue(localRecommendationService.getRecommendedUsers(userId).isEmpty());
+
+		verify(userRepository, never()).findFriendsOfFriends(any(), any());
+		verify(userRecommendationRepository, never()).replaceForUser(any(), any());
+	}
+
+	@Test
+	void precomputeAll_ShouldRefreshEveryUser() {
+		when(scheduledJobLock.runExclusively(anyString(), any())).thenAnswer(invocation -> {
+			invocation.getArgument(1, Runnable.class).run();
+			return true;
+		});
+		when(userRepository.findAllIds(any(Pageable.class))).thenReturn(new PageImpl<>(List.of(userId)));
+		stubSources();
+
+		localRecommendationService.precomputeAll();
+
+		verify(userRecommendationRepository).replaceForUser(eq(userId), any());
+	}
+
+	@Test
+	void precomputeAll_ShouldSkip_WhenAnotherNodeHoldsTheLock() {
+		when(scheduledJobLock.runExclusively(anyString(), any())).thenReturn(false);
+
+		localRecommendationService.precomputeAll();
+
+		verifyNoInteractions(userRepository, userRecommendationRepository);
+	}
+
+	private void stubSources() {
+		when(userRepository.findFriendsOfFriends(eq(userId), any(Pageable.class)))
+				.thenReturn(List.of(mutualFriends(both, 4), mutualFriends(friendOfFriend, 1)));
+
+		TasteProfile profile = mock(TasteProfile.class);
+		when(tasteIndex.getProfile(userId)).thenReturn(Optional.of(profile));
+		when(userRepository.findFriendIdsByUserId(userId)).thenReturn(List.of(friend));
+		when(tasteIndex.findTopCompatible(eq(userId), eq(profile), anyInt())).thenReturn(List.of(
+				new ScoredUser(soulmate, 80f),
+				new ScoredUser(both, 60f),
+				new ScoredUser(friend, 100f)
+		));
+	}
+
+	private MutualFriendsView mutualFriends(UUID candidateId, long mutualFriends) {
+		return new MutualFriendsView() {
+			@Override
+			public UUID getCandidateId() {
+				return candidateId;
+			}
+
+			@Override
+			public long getMutualFriends() {
+				return mutualFriends;
+			}
+		};
+	}
+}
@@ -0,0 +1,256 @@
+package com.soundhub.api.service;
+
+import com.soundhub.api.exception.ResourceNotFoundException;
+import com.soundhub.api.service.impl.MediaDownloadServiceImpl;
+import com.soundhub.api.service.strategies.media.LocalMediaFileSource;
+import com.soundhub.api.service.strategies.media.MediaFileMetadata;
+import com.soundhub.api.service.strategies.media.MediaFileSourceStrategy;
+import com.soundhub.api.service.strategies.media.MediaFileSourceStrategyFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MediaDownloadServiceTest {
+	private static final String CONTENT = "0123456789abcdef";
+
+	@Mock
+	private MediaFileSourceStrategyFactory mediaFileSourceStrategyFactory;
+
+	@Mock
+	private ImageVariantService imageVariantService;
+
+	@InjectMocks
+	private MediaDownloadServiceImpl mediaDownloadService;
+
+	@TempDir
+	private Path resources;
+
+	private LocalMediaFileSource localSource;
+	private String eTag;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		Files.createDirectories(resources.resolve("static/posts"));
+		Files.writeString(resources.resolve("static/posts/song.mp3"), CONTENT);
+
+		localSource = new LocalMediaFileSource();
+		ReflectionTestUtils.setField(localSource, "resourcesPath", resources.toString());
+		ReflectionTestUtils.setField(localSource, "staticFolder", "static");
+		eTag = localSource.getMetadata("posts/song.mp3").eTag();
+
+		when(mediaFileSourceStrategyFactory.getStrategy()).thenReturn(localSource);
+	}
+
+	@Test
+	void download_ShouldSendWholeFileWithCachingHeaders() throws IOException {
+		MockHttpServletResponse response = download(get());
+
+		assertEquals(200, response.getStatus());
+		assertEquals(CONTENT, response.getContentAsString());
+		assertEquals("audio/mpeg", response.getContentType());
+		assertEquals(CONTENT.length(), response.getContentLengthLong());
+		assertEquals("bytes", response.getHeader(HttpHeaders.ACCEPT_RANGES));
+		assertEquals(eTag, response.getHeader(HttpHeaders.ETAG));
+		assertNotNull(response.getHeader(HttpHeaders.LAST_MODIFIED));
+		assertTrue(response.getHeader(HttpHeaders.CACHE_CONTROL).contains("max-age=3600"));
+		assertEquals("nosniff", response.getHeader("X-Content-Type-Options"));
+		assertNull(response.getHeader(HttpHeaders.CONTENT_DISPOSITION));
+	}
+
+	@Test
+	void download_ShouldAnswerNotModified_WhenETagMatches() throws IOException {
+		MockHttpServletRequest request = get();
+		request.addHeader(HttpHeaders.IF_NONE_MATCH, eTag);
+
+		MockHttpServletResponse response = download(request);
+
+		assertEquals(304, response.getStatus());
+		assertEquals(0, response.getContentAsByteArray().length);
+	}
+
+	@Test
+	void download_ShouldSendPartialContent_ForSingleRange() throws IOException {
+		MockHttpServletRequest request = get();
+		request.addHeader(HttpHeaders.RANGE, "bytes=4-7");
+
+		MockHttpServletResponse response = download(request);
+
+		assertEquals(206, response.getStatus());
+		assertEquals("4567", response.getContentAsString());
+		assertEquals("bytes 4-7/16", response.getHeader(HttpHeaders.CONTENT_RANGE));
+		assertEquals(4, response.getContentLengthLong());
+	}
+
+	@Test
+	void download_ShouldSendSuffixRange() throws IOException {
+		MockHttpServletRequest request = get();
+		request.addHeader(HttpHeaders.RANGE, "bytes=-3");
+
+		MockHttpServletResponse response = download(request);
+
+		assertEquals(206, response.getStatus());
+		assertEquals("def", response.getContentAsString());
+	}
+
+	@Test
+	void download_ShouldRejectUnsatisfiableRange() throws IOException {
+		MockHttpServletRequest request = get();
+		request.addHeader(HttpHeaders.RANGE, "bytes=100-");
+
+		MockHttpServletResponse response = download(request);
+
+		assertEquals(416, response.getStatus());
+		assertEquals("bytes */16", response.getHeader(HttpHeaders.CONTENT_RANGE));
+	}
+
+	@Test
+	void download_ShouldIgnoreRange_WhenIfRangeDoesNotMatch() throws IOException {
+		MockHttpServletRequest request = get();
+		request.addHeader(HttpHeaders.RANGE, "bytes=0-1");
+		request.addHeader(HttpHeaders.IF_RANGE, "\"stale\"");
+
+		MockHttpServletResponse response = download(request);
+
+		assertEquals(200, response.getStatus());
+		assertEquals(CONTENT, response.getContentAsString());
+	}
+
+	@Test
+	void download_ShouldHonourRange_WhenIfRangeMatches() throws IOException {
+		MockHttpServletRequest request = get();
+		request.addHeader(HttpHeaders.RANGE, "bytes=0-1");
+		request.addHeader(HttpHeaders.IF_RANGE, eTag);
+
+		assertEquals("01", download(request).getContentAsString());
+	}
+
+	@Test
+	void download_ShouldSkipBody_ForHead() throws IOException {
+		MockHttpServletRequest request = new MockHttpServletRequest("HEAD", "/api/v1/files/song.mp3");
+
+		MockHttpServletResponse response = download(request);
+
+		assertEquals(200, response.getStatus());
+		assertEquals(CONTENT.length(), response.getContentLengthLong());
+		assertEquals(0, response.getContentAsByteArray().length);
+	}
+
+	@Test
+	void download_ShouldHandOverToSendfile_WhenConnectorSupportsIt() throws IOException {
+		ReflectionTestUtils.setField(mediaDownloadService, "sendfileMinSize", 1L);
+		MockHttpServletRequest request = get();
+		request.setAttribute("org.apache.tomcat.sendfile.support", Boolean.TRUE);
+		request.addHeader(HttpHeaders.RANGE, "bytes=2-");
+
+		MockHttpServletResponse response = download(request);
+
+		assertEquals(206, response.getStatus());
+		assertEquals(0, response.getContentAsByteArray().length);
+		assertEquals(resources.resolve("static/posts/song.mp3").toAbsolutePath().toString(),
+				request.getAttribute("org.apache.tomcat.sendfile.filename"));
+		assertEquals(2L, request.getAttribute("org.apache.tomcat.sendfile.start"));
+		assertEquals(16L, request.getAttribute("org.apache.tomcat.sendfile.end"));
+	}
+
+	@Test
+	void download_ShouldPreferStoredContentType() throws IOException {
+		MediaFileSourceStrategy strategy = mock(MediaFileSourceStrategy.class);
+		when(mediaFileSourceStrategyFactory.getStrategy()).thenReturn(strategy);
+		when(strategy.getMetadata(anyString())).thenReturn(new MediaFileMetadata(2, null, "\"s3\"", "image/png"));
+		doAnswer(invocation -> {
+			invocation.getArgument(3, OutputStream.class).write("ok".getBytes(StandardCharsets.UTF_8));
+			return null;
+		}).when(strategy).writeTo(anyString(), eq(0L), eq(2L), any(OutputStream.class));
+
+		MockHttpServletResponse response = download(get());
+
+		assertEquals("image/png", response.getContentType());
+		assertEquals("ok", response.getContentAsString());
+	}
+
+	@Test
+	void download_ShouldSendActiveContentAsAttachment() throws IOException {
+		Files.writeString(resources.resolve("static/posts/page.html"), "<script></script>");
+		MediaFileSourceStrategy strategy = mock(MediaFileSourceStrategy.class);
+		when(strategy.getMetadata(anyString())).thenReturn(new MediaFileMetadata(2, null, "\"s3\"", "image/svg+xml"));
+
+		MockHttpServletResponse html = new MockHttpServletResponse();
+		mediaDownloadService.download("posts", "page.html", get(), html);
+		when(mediaFileSourceStrategyFactory.getStrategy()).thenReturn(strategy);
+		MockHttpServletResponse svg = new MockHttpServletResponse();
+		mediaDownloadService.download("posts", "logo.png", new MockHttpServletRequest("HEAD", "/api/v1/files/logo.png"), svg);
+
+		for (MockHttpServletResponse response : List.of(html, svg)) {
+			assertEquals("application/octet-stream", response.getContentType());
+			assertTrue(response.getHeader(HttpHeaders.CONTENT_DISPOSITION).startsWith("attachment"));
+			assertEquals("nosniff", response.getHeader("X-Content-Type-Options"));
+		}
+		assertEquals("<script></script>", html.getContentAsString());
+	}
+
+	@Test
+	void download_ShouldServeVariant_WhenItExists() throws IOException {
+		Files.writeString(resources.resolve("static/posts/cover_64.jpg"), "small");
+		Files.writeString(resources.resolve("static/posts/cover.jpg"), "original");
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		mediaDownloadService.download("posts", "cover_64.jpg", get(), response);
+
+		assertEquals("small", response.getContentAsString());
+		assertEquals("image/jpeg", response.getContentType());
+		assertTrue(response.getHeader(HttpHeaders.CACHE_CONTROL).contains("max-age=3600"));
+	}
+
+	@Test
+	void download_ShouldFallBackToOriginal_WhenVariantIsMissing() throws IOException {
+		Files.writeString(resources.resolve("static/posts/cover.jpg"), "original");
+		when(imageVariantService.getVariantWidths()).thenReturn(List.of(64, 256));
+
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		mediaDownloadService.download("posts", "cover_256.jpg", get(), response);
+
+		assertEquals("original", response.getContentAsString());
+		assertEquals("no-cache", response.getHeader(HttpHeaders.CACHE_CONTROL));
+		assertThrows(ResourceNotFoundException.class, () -> mediaDownloadService.download(
+				"posts", "cover_100.jpg", get(), new MockHttpServletResponse()
+		));
+	}
+
+	@Test
+	void download_ShouldNotEscapeStaticFolder() throws IOException {
+		Files.writeString(resources.resolve("secret.txt"), "secret");
+
+		assertThrows(ResourceNotFoundException.class, () -> mediaDownloadService.download(
+				"..", "secret.txt", get(), new MockHttpServletResponse()
+		));
+	}
+
+	private MockHttpServletResponse download(MockHttpServletRequest request) throws IOException {
+		MockHttpServletResponse response = new MockHttpServletResponse();
+		mediaDownloadService.download("posts", "song.mp3", request, response);
+		return response;
+	}
+
+	private static MockHttpServletRequest get() {
+		return new MockHttpServletRequest("GET", "/api/v1/files/song.mp3");
+	}}
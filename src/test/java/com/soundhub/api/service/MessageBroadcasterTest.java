@@ -0,0 +1,88 @@
+package com.soundhub.api.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.soundhub.api.dto.ChatNotificationDto;
+import com.soundhub.api.service.impl.RelayMessageBroadcaster;
+import com.soundhub.api.service.strategies.broadcast.BroadcastChannel;
+import com.soundhub.api.service.strategies.broadcast.InMemoryBroadcastChannel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.messaging.simp.SimpMessageSendingOperations;
+
+import java.util.UUID;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class MessageBroadcasterTest {
+	private static final String DESTINATION = "/queue/messages/";
+
+	private SimpMessageSendingOperations firstNodeBroker;
+	private SimpMessageSendingOperations secondNodeBroker;
+	private MessageBroadcaster firstNode;
+	private ChatNotificationDto notification;
+
+	@BeforeEach
+	void setUp() {
+		BroadcastChannel backbone = new InMemoryBroadcastChannel();
+
+		firstNodeBroker = mock(SimpMessageSendingOperations.class);
+		secondNodeBroker = mock(SimpMessageSendingOperations.class);
+		firstNode = new RelayMessageBroadcaster(firstNodeBroker, backbone);
+		new RelayMessageBroadcaster(secondNodeBroker, backbone);
+
+		notification = ChatNotificationDto.builder()
+				.id(UUID.randomUUID())
+				.chatId(UUID.randomUUID())
+				.senderId(UUID.randomUUID())
+				.content("hello")
+				.build();
+	}
+
+	@Test
+	void broadcast_ShouldDeliverToClientsOfEveryNode() {
+		firstNode.broadcast(DESTINATION + notification.getChatId(), notification);
+
+		for (SimpMessageSendingOperations broker : new SimpMessageSendingOperations[]{firstNodeBroker, secondNodeBroker}) {
+			ArgumentCaptor<JsonNode> payload = ArgumentCaptor.forClass(JsonNode.class);
+			verify(broker, times(1)).convertAndSend(eq(DESTINATION + notification.getChatId()), payload.capture());
+
+			assertEquals(notification.getId().toString(), payload.getValue().get("id").asText());
+			assertEquals("hello", payload.getValue().get("content").asText());
+		}
+	}
+
+	@Test
+	void broadcast_ShouldDeliverLocally_WhenBackboneIsDown() {
+		BroadcastChannel brokenBackbone = new BroadcastChannel() {
+			@Override
+			public void publish(String message) {
+				throw new IllegalStateException("connection refused");
+			}
+
+			@Override
+			public void subscribe(Consumer<String> listener) {
+			}
+		};
+		MessageBroadcaster node = new RelayMessageBroadcaster(firstNodeBroker, brokenBackbone);
+
+		node.broadcast(DESTINATION, notification);
+
+		verify(firstNodeBroker, times(1)).convertAndSend(DESTINATION, notification);
+		verifyNoInteractions(secondNodeBroker);
+	}
+
+	@Test
+	void broadcast_ShouldDeliverLocally_WhenPayloadCannotBeRelayed() {
+		// Jackson has no serializer for a bean without properties
+		Object payload = new Object();
+
+		firstNode.broadcast(DESTINATION, payload);
+
+		verify(firstNodeBroker, times(1)).convertAndSend(DESTINATION, payload);
+		verifyNoInteractions(secondNodeBroker);
+	}
+}
@@ -0,0 +1,81 @@
+package com.soundhub.api.service;
+
+import com.soundhub.api.repository.ChatRepository;
+import com.soundhub.api.service.impl.MessageCountServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MessageCountServiceTest {
+	@Mock
+	private ChatRepository chatRepository;
+
+	@InjectMocks
+	private MessageCountServiceImpl messageCountService;
+
+	private final UUID chatId = UUID.randomUUID();
+
+	@Test
+	void messageAdded_ShouldIncrementImmediately_WhenWriteBehindDisabled() {
+		messageCountService.messageAdded(chatId);
+		messageCountService.messageRemoved(chatId);
+
+		verify(chatRepository).incrementTotalMessages(chatId, 1);
+		verify(chatRepository).incrementTotalMessages(chatId, -1);
+	}
+
+	@Test
+	void flush_ShouldCoalesceDeltas_WhenWriteBehindEnabled() {
+		ReflectionTestUtils.setField(messageCountService, "writeBehind", true);
+
+		messageCountService.messageAdded(chatId);
+		messageCountService.messageAdded(chatId);
+		messageCountService.messageAdded(chatId);
+		messageCountService.messageRemoved(chatId);
+
+		verify(chatRepository, never()).incrementTotalMessages(eq(chatId), anyLong());
+
+		messageCountService.flush();
+		messageCountService.flush();
+
+		verify(chatRepository, times(1)).incrementTotalMessages(chatId, 2);
+	}
+
+	@Test
+	void flush_ShouldKeepDelta_WhenUpdateFails() {
+		ReflectionTestUtils.setField(messageCountService, "writeBehind", true);
+		when(chatRepository.incrementTotalMessages(chatId, 1))
+				.thenThrow(new RuntimeException("db is down"))
+				.thenReturn(1);
+
+		messageCountService.messageAdded(chatId);
+		messageCountService.flush();
+		messageCountService.flush();
+
+		verify(chatRepository, times(2)).incrementTotalMessages(chatId, 1);
+	}
+
+	@Test
+	void reconcile_ShouldFlushPendingDeltasFirst() {
+		ReflectionTestUtils.setField(messageCountService, "writeBehind", true);
+		when(chatRepository.reconcileTotalMessages()).thenReturn(3);
+
+		messageCountService.messageAdded(chatId);
+
+		assertEquals(3, messageCountService.reconcile());
+		var inOrder = inOrder(chatRepository);
+		inOrder.verify(chatRepository).incrementTotalMessages(chatId, 1);
+		inOrder.verify(chatRepository).reconcileTotalMessages();
+	}
+}
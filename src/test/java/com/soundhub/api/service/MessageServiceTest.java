@@ -0,0 +1,175 @@
+package com.soundhub.api.service;
+
+import com.soundhub.api.Constants;
+import com.soundhub.api.dto.ReadReceiptDto;
+import com.soundhub.api.dto.request.ReadReceiptRequest;
+import com.soundhub.api.dto.response.MessageSliceResponse;
+import com.soundhub.api.exception.ApiException;
+import com.soundhub.api.model.Chat;
+import com.soundhub.api.model.Message;
+import com.soundhub.api.model.User;
+import com.soundhub.api.repository.MessageRepository;
+import com.soundhub.api.service.impl.MessageServiceImpl;
+import com.soundhub.api.util.MessageCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class MessageServiceTest {
+	@Mock
+	private MessageRepository messageRepository;
+
+	@Mock
+	private ChatService chatService;
+
+	@Mock
+	private UserService userService;
+
+	@Mock
+	private UnreadMessageService unreadMessageService;
+
+	@InjectMocks
+	private MessageServiceImpl messageService;
+
+	private final LocalDateTime now = LocalDateTime.of(2024, 5, 1, 12, 0);
+	private User user;
+	private Chat chat;
+
+	@BeforeEach
+	void setUp() {
+		user = User.builder().id(UUID.randomUUID()).build();
+		chat = Chat.builder().id(UUID.randomUUID()).participants(List.of(user)).build();
+		when(chatService.getChatById(chat.getId())).thenReturn(chat);
+	}
+
+	@Test
+	void findMessagesByChatIdBefore_ShouldReturnNextCursor_WhenOlderMessagesExist() {
+		List<Message> messages = messages(3);
+		when(messageRepository.findLatestByChatId(chat.getId(), PageRequest.of(0, 3))).thenReturn(messages);
+
+		MessageSliceResponse slice = messageService.findMessagesByChatIdBefore(chat.getId(), user, "", 2);
+
+		assertTrue(slice.isHasMore());
+		assertEquals(messages.subList(0, 2), slice.getMessages());
+		assertEquals(MessageCursor.of(messages.get(1)), MessageCursor.decode(slice.getNextCursor()));
+	}
+
+	@Test
+	void findMessagesByChatIdBefore_ShouldSeekPastCursor() {
+		List<Message> messages = messages(2);
+		MessageCursor cursor = new MessageCursor(now, UUID.randomUUID());
+		when(messageRepository.findByChatIdBefore(chat.getId(), cursor.sentAt(), cursor.id(), PageRequest.of(0, 3)))
+				.thenReturn(messages);
+
+		MessageSliceResponse slice = messageService.findMessagesByChatIdBefore(chat.getId(), user, cursor.encode(), 2);
+
+		assertFalse(slice.isHasMore());
+		assertNull(slice.getNextCursor());
+		assertEquals(messages, slice.getMessages());
+	}
+
+	@Test
+	void findMessagesByChatIdBefore_ShouldCapSliceSize() {
+		when(messageRepository.findLatestByChatId(chat.getId(), PageRequest.of(0, Constants.MAX_MESSAGE_SLICE_SIZE + 1)))
+				.thenReturn(messages(2));
+
+		MessageSliceResponse slice = messageService.findMessagesByChatIdBefore(chat.getId(), user, "", Integer.MAX_VALUE);
+
+		assertEquals(2, slice.getMessages().size());
+		assertFalse(slice.isHasMore());
+	}
+
+	@Test
+	void findMessagesByChatIdBefore_ShouldRejectMalformedCursor() {
+		ApiException e = assertThrows(
+				ApiException.class,
+				() -> messageService.findMessagesByChatIdBefore(chat.getId(), user, "not-a-cursor", 2)
+		);
+
+		assertEquals(HttpStatus.BAD_REQUEST, e.getHttpStatus());
+	}
+
+	@Test
+	void findMessagesByChatIdBefore_ShouldRejectUserOutsideChat() {
+		User stranger = User.builder().id(UUID.randomUUID()).build();
+
+		assertThrows(
+				ApiException.class,
+				() -> messageService.findMessagesByChatIdBefore(chat.getId(), stranger, "", 2)
+		);
+		verifyNoInteractions(messageRepository);
+	}
+
+	@Test
+	void markMessagesAsRead_ShouldMarkHistoryWithOneUpdate_WhenUpToMessageGiven() {
+		Message lastRead = messages(1).get(0);
+		when(userService.getUserById(user.getId())).thenReturn(user);
+		when(messageRepository.findById(lastRead.getId())).thenReturn(Optional.of(lastRead));
+		when(messageRepository.markReadUpTo(chat.getId(), user.getId(), lastRead.getSentAt(), lastRead.getId()))
+				.thenReturn(200);
+
+		ReadReceiptDto receipt = messageService.markMessagesAsRead(ReadReceiptRequest.builder()
+				.chatId(chat.getId())
+				.userId(user.getId())
+				.upToMessageId(lastRead.getId())
+				.build());
+
+		assertEquals(200, receipt.getReadCount());
+		assertEquals(lastRead.getId(), receipt.getUpToMessageId());
+		verify(messageRepository, never()).save(any());
+		verify(unreadMessageService, times(1)).messagesRead(chat, user.getId(), 200);
+	}
+
+	@Test
+	void markMessagesAsRead_ShouldMarkListedMessages() {
+		List<UUID> ids = List.of(UUID.randomUUID(), UUID.randomUUID());
+		when(userService.getUserById(user.getId())).thenReturn(user);
+		when(messageRepository.markReadByIds(chat.getId(), user.getId(), ids)).thenReturn(0);
+
+		ReadReceiptDto receipt = messageService.markMessagesAsRead(ReadReceiptRequest.builder()
+				.chatId(chat.getId())
+				.userId(user.getId())
+				.messageIds(ids)
+				.build());
+
+		assertEquals(ids, receipt.getMessageIds());
+		verifyNoInteractions(unreadMessageService);
+	}
+
+	@Test
+	void markMessagesAsRead_ShouldRejectEmptyReceipt() {
+		when(userService.getUserById(user.getId())).thenReturn(user);
+
+		assertThrows(ApiException.class, () -> messageService.markMessagesAsRead(ReadReceiptRequest.builder()
+				.chatId(chat.getId())
+				.userId(user.getId())
+				.build()));
+	}
+
+	private List<Message> messages(int count) {
+		return IntStream.range(0, count)
+				.<Message>mapToObj(i -> Message.builder()
+						.id(UUID.randomUUID())
+						.chat(chat)
+						.author(user)
+						.sentAt(now.minusMinutes(i))
+						.build())
+				.toList();
+	}
+}
@@ -9,6 +9,7 @@ import com.soundhub.api.repository.PostRepository;
 import com.soundhub.api.service.impl.PostServiceImpl;
 import com.soundhub.api.service.strategies.media.MediaFileSourceStrategyFactory;
 import com.soundhub.api.util.mappers.PostMapper;
+import com.soundhub.api.util.mappers.PostMapperImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -16,12 +17,15 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.*;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -42,6 +46,9 @@ public class PostServiceTest extends BaseTest {
 	@Mock
 	private PostMapper postMapper;
 
+	@Mock
+	private FileService fileService;
+
 	private UUID postId;
 	private UUID authorId;
 	private PostDto postDto;
@@ -161,6 +168,46 @@ public class PostServiceTest extends BaseTest {
 		assertThrows(ResourceNotFoundException.class, () -> postService.updatePost(postId, postDto));
 	}
 
+	@Test
+	public void testUpdatePost_ReleasesOnlyOwnImagesOnce() {
+		String ownKey = "a".repeat(64) + ".jpg";
+		String foreignKey = "b".repeat(64) + ".jpg";
+		post.setImages(new ArrayList<>(List.of(ownKey)));
+		ReflectionTestUtils.setField(postService, "basePostFolder", "posts");
+		when(postRepository.findById(postId)).thenReturn(Optional.of(post));
+		when(userService.getCurrentUser()).thenReturn(user);
+
+		postService.updatePost(postId, postDto, null, List.of(
+				"http://host/api/v1/files/" + foreignKey,
+				foreignKey,
+				ownKey,
+				ownKey
+		));
+
+		String postFolder = "posts/" + postId;
+		verify(fileService, times(1)).deleteFile(postFolder, ownKey);
+		verify(fileService, never()).deleteFile(anyString(), eq(foreignKey));
+		assertEquals(List.of(), post.getImages());
+	}
+
+	@Test
+	public void testUpdatePost_IgnoresClientImages() {
+		String foreignKey = "b".repeat(64) + ".jpg";
+		postDto.setImages(new ArrayList<>(List.of(foreignKey)));
+		ReflectionTestUtils.setField(postService, "postMapper", new PostMapperImpl());
+		ReflectionTestUtils.setField(postService, "basePostFolder", "posts");
+		when(postRepository.findById(postId)).thenReturn(Optional.of(post));
+		when(postRepository.save(any(Post.class))).thenAnswer(invocation -> invocation.getArgument(0));
+		when(userService.getCurrentUser()).thenReturn(user);
+
+		postService.updatePost(postId, postDto);
+		postService.deletePost(postId);
+
+		// deleting a stored file is what releases a blob reference
+		assertEquals(List.of(), post.getImages());
+		verify(fileService, never()).deleteFile(anyString(), anyString());
+	}
+
 	@Test
 	public void testGetPostsByAuthor_Positive() {
 		when(userService.getUserById(authorId)).thenReturn(user);
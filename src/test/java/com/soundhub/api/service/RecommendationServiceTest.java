@@ -0,0 +1,136 @@
+package com.soundhub.api.service;
+
+import com.soundhub.api.config.RecommendationClientConfig;
+import com.soundhub.api.exception.ApiException;
+import com.soundhub.api.service.impl.LocalRecommendationServiceImpl;
+import com.soundhub.api.service.impl.RecommendationServiceImpl;
+import com.soundhub.api.service.recommendation.CircuitBreaker;
+import com.soundhub.api.service.recommendation.RecommendationClient;
+import com.soundhub.api.stub.RecommendationStubServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.RestTemplate;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RecommendationServiceTest {
+	private RecommendationStubServer stubServer;
+	private RecommendationClient recommendationClient;
+	private RecommendationServiceImpl recommendationService;
+
+	private final UUID userId = UUID.randomUUID();
+	private final List<UUID> firstRecommendations = List.of(UUID.randomUUID(), UUID.randomUUID());
+	private final List<UUID> secondRecommendations = List.of(UUID.randomUUID());
+
+	@BeforeEach
+	void setUp() throws IOException {
+		stubServer = new RecommendationStubServer();
+		stubServer.respondWith(firstRecommendations);
+
+		RestTemplate restTemplate = new RestTemplate(
+				RecommendationClientConfig.recommendationRequestFactory(200, 300, 200, 4)
+		);
+		recommendationClient = new RecommendationClient(restTemplate, stubServer.getUrl(), 2, 2, 60_000);
+		recommendationService = createService(60_000, 60_000);
+	}
+
+	@AfterEach
+	void tearDown() {
+		ReflectionTestUtils.invokeMethod(recommendationService, "shutdown");
+		stubServer.close();
+	}
+
+	@Test
+	void getRecommendedUsers_ShouldServeFromCache_WhileFresh() {
+		assertEquals(firstRecommendations, recommendationService.getRecommendedUsers(userId));
+		assertEquals(firstRecommendations, recommendationService.getRecommendedUsers(userId));
+
+		assertEquals(1, stubServer.getRequestCount());
+	}
+
+	@Test
+	void getRecommendedUsers_ShouldServeStaleAndRevalidateInBackground() throws InterruptedException {
+		recommendationService = createService(0, 60_000);
+		assertEquals(firstRecommendations, recommendationService.getRecommendedUsers(userId));
+
+		stubServer.respondWith(secondRecommendations);
+		assertEquals(firstRecommendations, recommendationService.getRecommendedUsers(userId));
+
+		long deadline = System.currentTimeMillis() + 5_000;
+		while (!recommendationService.getRecommendedUsers(userId).equals(secondRecommendations)) {
+			assertTrue(System.currentTimeMillis() < deadline, "background refresh did not complete");
+			Thread.sleep(20);
+		}
+	}
+
+	@Test
+	void getRecommendedUsers_ShouldServeExpiredEntry_WhenRecommenderFails() {
+		recommendationService = createService(0, 0);
+		assertEquals(firstRecommendations, recommendationService.getRecommendedUsers(userId));
+
+		stubServer.respondWithStatus(503);
+
+		assertEquals(firstRecommendations, recommendationService.getRecommendedUsers(userId));
+	}
+
+	@Test
+	void fetchRecommendedUsers_ShouldTimeOut_WhenRecommenderIsSlow() {
+		stubServer.delayResponses(1_000);
+
+		long start = System.currentTimeMillis();
+		ApiException exception = assertThrows(ApiException.class, () -> recommendationClient.fetchRecommendedUsers(userId));
+
+		assertEquals(HttpStatus.SERVICE_UNAVAILABLE, exception.getHttpStatus());
+		// two attempts bounded by the 300ms read timeout, far below the stub's delay per attempt
+		assertTrue(System.currentTimeMillis() - start < 1_500);
+	}
+
+	@Test
+	void fetchRecommendedUsers_ShouldOpenCircuit_AfterRepeatedFailures() {
+		stubServer.respondWithStatus(500);
+
+		assertThrows(ApiException.class, () -> recommendationClient.fetchRecommendedUsers(userId));
+		assertThrows(ApiException.class, () -> recommendationClient.fetchRecommendedUsers(userId));
+		assertEquals(CircuitBreaker.State.OPEN, recommendationClient.getCircuitState());
+
+		int requestsBeforeOpen = stubServer.getRequestCount();
+		assertThrows(ApiException.class, () -> recommendationClient.fetchRecommendedUsers(userId));
+		assertEquals(requestsBeforeOpen, stubServer.getRequestCount());
+	}
+
+	@Test
+	void getRecommendedUsers_ShouldFallBackToLocalRecommender_WhenNothingIsCached() {
+		LocalRecommendationServiceImpl localRecommendationService = mock(LocalRecommendationServiceImpl.class);
+		List<UUID> localRecommendations = List.of(UUID.randomUUID());
+		when(localRecommendationService.getRecommendedUsers(userId)).thenReturn(localRecommendations);
+		ReflectionTestUtils.setField(recommendationService, "localRecommendationService", localRecommendationService);
+		ReflectionTestUtils.setField(recommendationService, "fallbackEnabled", true);
+		stubServer.respondWithStatus(503);
+
+		assertEquals(localRecommendations, recommendationService.getRecommendedUsers(userId));
+	}
+
+	private RecommendationServiceImpl createService(long ttlMs, long staleMs) {
+		if (recommendationService != null) {
+			ReflectionTestUtils.invokeMethod(recommendationService, "shutdown");
+		}
+
+		RecommendationServiceImpl service = new RecommendationServiceImpl();
+		ReflectionTestUtils.setField(service, "ttlMs", ttlMs);
+		ReflectionTestUtils.setField(service, "staleMs", staleMs);
+		ReflectionTestUtils.setField(service, "maxSize", 100);
+		ReflectionTestUtils.setField(service, "refreshThreads", 1);
+		ReflectionTestUtils.setField(service, "recommendationClient", recommendationClient);
+		ReflectionTestUtils.invokeMethod(service, "init");
+		return service;
+	}
+}
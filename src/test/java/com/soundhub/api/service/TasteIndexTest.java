@@ -0,0 +1,140 @@
+package com.soundhub.api.service;
+
+import com.soundhub.api.model.Genre;
+import com.soundhub.api.model.User;
+import com.soundhub.api.repository.UserRepository;
+import com.soundhub.api.repository.projection.UserTasteView;
+import com.soundhub.api.service.compatibility.CompatibilityEngine;
+import com.soundhub.api.service.compatibility.ScoredUser;
+import com.soundhub.api.service.compatibility.TasteIndex;
+import com.soundhub.api.service.compatibility.TasteProfile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TasteIndexTest {
+	@Mock
+	private UserRepository userRepository;
+
+	@Spy
+	private CompatibilityEngine compatibilityEngine = new CompatibilityEngine();
+
+	@InjectMocks
+	private TasteIndex tasteIndex;
+
+	private final UUID rock = UUID.randomUUID();
+	private final UUID jazz = UUID.randomUUID();
+	private final UUID pop = UUID.randomUUID();
+
+	@BeforeEach
+	void setUp() {
+		tasteIndex.index(user(UUID.randomUUID(), List.of(rock, jazz)));
+	}
+
+	@Test
+	void findTopCompatible_ShouldReturnBestMatchesFirst() {
+		User me = user(UUID.randomUUID(), List.of(rock, jazz, pop));
+		User close = user(UUID.randomUUID(), List.of(rock, jazz, pop));
+		User far = user(UUID.randomUUID(), List.of(pop));
+		tasteIndex.index(close);
+		tasteIndex.index(far);
+		TasteProfile profile = tasteIndex.index(me);
+
+		List<ScoredUser> top = tasteIndex.findTopCompatible(me.getId(), profile, 2);
+
+		assertEquals(2, top.size());
+		assertEquals(close.getId(), top.get(0).userId());
+		assertEquals(100f, top.get(0).compatibility(), 0.01);
+		assertTrue(top.get(1).compatibility() >= 33f);
+		assertTrue(top.stream().noneMatch(scored -> scored.userId().equals(me.getId())));
+	}
+
+	@Test
+	void findTopCompatible_ShouldSkipUsersWithoutSharedTastes() {
+		User me = user(UUID.randomUUID(), List.of(pop));
+		TasteProfile profile = tasteIndex.index(me);
+
+		assertTrue(tasteIndex.findTopCompatible(me.getId(), profile, 10).isEmpty());
+	}
+
+	@Test
+	void index_ShouldReplacePostings_WhenTastesChange() {
+		User me = user(UUID.randomUUID(), List.of(pop));
+		User other = user(UUID.randomUUID(), List.of(pop));
+		tasteIndex.index(other);
+		TasteProfile profile = tasteIndex.index(me);
+		assertEquals(1, tasteIndex.findTopCompatible(me.getId(), profile, 10).size());
+
+		other.setFavoriteGenres(genres(List.of(jazz)));
+		tasteIndex.index(other);
+
+		assertTrue(tasteIndex.findTopCompatible(me.getId(), profile, 10).isEmpty());
+	}
+
+	@Test
+	void remove_ShouldDropUserFromResults() {
+		User me = user(UUID.randomUUID(), List.of(pop));
+		User other = user(UUID.randomUUID(), List.of(pop));
+		tasteIndex.index(other);
+		TasteProfile profile = tasteIndex.index(me);
+
+		tasteIndex.remove(other.getId());
+
+		assertTrue(tasteIndex.findTopCompatible(me.getId(), profile, 10).isEmpty());
+		assertTrue(tasteIndex.getProfile(other.getId()).isEmpty());
+	}
+
+	@Test
+	void warmUp_ShouldLoadProfilesFromRepository() {
+		UUID userId = UUID.randomUUID();
+		UUID artist = UUID.randomUUID();
+		when(userRepository.findAllFavoriteArtists()).thenReturn(List.of(taste(userId, artist)));
+		when(userRepository.findAllFavoriteGenres()).thenReturn(List.of(taste(userId, rock)));
+
+		tasteIndex.warmUp();
+
+		assertEquals(2, tasteIndex.size());
+		TasteProfile profile = tasteIndex.getProfile(userId).orElseThrow();
+		assertEquals(1, profile.artistCount());
+		assertEquals(1, profile.genreCount());
+	}
+
+	private User user(UUID id, List<UUID> genreIds) {
+		User user = new User();
+		user.setId(id);
+		user.setFavoriteGenres(genres(genreIds));
+		return user;
+	}
+
+	private List<Genre> genres(List<UUID> ids) {
+		return new ArrayList<>(ids.stream()
+				.map(id -> Genre.builder().id(id).build())
+				.toList());
+	}
+
+	private UserTasteView taste(UUID userId, UUID tasteId) {
+		return new UserTasteView() {
+			@Override
+			public UUID getUserId() {
+				return userId;
+			}
+
+			@Override
+			public UUID getTasteId() {
+				return tasteId;
+			}
+		};
+	}
+}
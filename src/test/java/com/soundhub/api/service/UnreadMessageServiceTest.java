@@ -0,0 +1,122 @@
+package com.soundhub.api.service;
+
+import com.soundhub.api.dto.response.UnreadMessagesResponse;
+import com.soundhub.api.model.Chat;
+import com.soundhub.api.model.ChatUnreadCounter;
+import com.soundhub.api.model.Message;
+import com.soundhub.api.model.User;
+import com.soundhub.api.repository.ChatUnreadCounterRepository;
+import com.soundhub.api.repository.MessageRepository;
+import com.soundhub.api.service.impl.UnreadMessageServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class UnreadMessageServiceTest {
+	@Mock
+	private ChatUnreadCounterRepository counterRepository;
+
+	@Mock
+	private MessageRepository messageRepository;
+
+	@InjectMocks
+	private UnreadMessageServiceImpl unreadMessageService;
+
+	private final UUID userId = UUID.randomUUID();
+	private Message message;
+
+	@BeforeEach
+	void setUp() {
+		Chat chat = Chat.builder().id(UUID.randomUUID()).build();
+		User author = User.builder().id(UUID.randomUUID()).build();
+
+		message = Message.builder()
+				.id(UUID.randomUUID())
+				.chat(chat)
+				.author(author)
+				.isRead(false)
+				.build();
+	}
+
+	@Test
+	void getUnreadMessages_ShouldAggregateCountersPerChat() {
+		UUID firstChatId = UUID.randomUUID();
+		UUID secondChatId = UUID.randomUUID();
+
+		when(counterRepository.findNonZeroByUserId(userId)).thenReturn(List.of(
+				new ChatUnreadCounter(firstChatId, userId, 3),
+				new ChatUnreadCounter(secondChatId, userId, 2)
+		));
+		when(messageRepository.findUnreadByRecipientId(userId, PageRequest.of(0, 10)))
+				.thenReturn(List.of(message));
+
+		UnreadMessagesResponse response = unreadMessageService.getUnreadMessages(userId, 10);
+
+		assertEquals(5, response.getCount());
+		assertEquals(Map.of(firstChatId, 3L, secondChatId, 2L), response.getChats());
+		assertEquals(List.of(message), response.getMessages());
+	}
+
+	@Test
+	void getUnreadMessages_ShouldSkipMessageQuery_WhenNothingIsUnread() {
+		when(counterRepository.findNonZeroByUserId(userId)).thenReturn(List.of());
+
+		UnreadMessagesResponse response = unreadMessageService.getUnreadMessages(userId, 10);
+
+		assertEquals(0, response.getCount());
+		assertTrue(response.getMessages().isEmpty());
+		verifyNoInteractions(messageRepository);
+	}
+
+	@Test
+	void messageSent_ShouldIncrementCountersOfRecipients() {
+		unreadMessageService.messageSent(message);
+
+		verify(counterRepository).incrementForRecipients(message.getChatId(), message.getAuthor().getId());
+	}
+
+	@Test
+	void messageDeleted_ShouldDecrementCounters_OnlyWhenMessageWasUnread() {
+		unreadMessageService.messageDeleted(message);
+		verify(counterRepository).decrementForRecipients(message.getChatId(), message.getAuthor().getId(), 1);
+
+		message.setIsRead(true);
+		unreadMessageService.messageDeleted(message);
+		verify(counterRepository, times(1)).decrementForRecipients(any(UUID.class), any(UUID.class), anyLong());
+	}
+
+	@Test
+	void messagesRead_ShouldDecrementReaderByReadCount_InPrivateChat() {
+		Chat chat = Chat.builder().id(UUID.randomUUID()).isGroup(false).build();
+
+		unreadMessageService.messagesRead(chat, userId, 7);
+
+		verify(counterRepository).decrementForUser(chat.getId(), userId, 7);
+		verify(counterRepository, never()).recountChat(any(UUID.class));
+	}
+
+	@Test
+	void messagesRead_ShouldRecountGroupChat() {
+		Chat chat = Chat.builder().id(UUID.randomUUID()).isGroup(true).build();
+
+		unreadMessageService.messagesRead(chat, userId, 7);
+
+		verify(counterRepository).recountChat(chat.getId());
+		verify(counterRepository, never()).decrementForUser(any(UUID.class), any(UUID.class), anyLong());
+	}
+}
@@ -4,6 +4,9 @@ import com.soundhub.api.BaseTest;
 import com.soundhub.api.dto.UserCompatibilityDto;
 import com.soundhub.api.dto.response.CompatibleUsersResponse;
 import com.soundhub.api.model.User;
+import com.soundhub.api.service.compatibility.CompatibilityEngine;
+import com.soundhub.api.service.compatibility.CompatibilityScorer;
+import com.soundhub.api.service.compatibility.TasteIndex;
 import com.soundhub.api.service.impl.UserCompatibilityServiceImpl;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,6 +14,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.security.core.context.SecurityContext;
@@ -33,6 +37,15 @@ public class UserCompatibilityServiceTest extends BaseTest {
     @Mock
     private UserService userService;
 
+    @Spy
+    private CompatibilityEngine compatibilityEngine = new CompatibilityEngine();
+
+    @Mock
+    private TasteIndex tasteIndex;
+
+    @Spy
+    private CompatibilityScorer compatibilityScorer = new CompatibilityScorer(1000, 1);
+
     @BeforeEach
     public void setup() {
         MockitoAnnotations.openMocks(this);
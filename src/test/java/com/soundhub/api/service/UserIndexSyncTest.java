@@ -0,0 +1,80 @@
+package com.soundhub.api.service;
+
+import com.soundhub.api.model.User;
+import com.soundhub.api.repository.UserRepository;
+import com.soundhub.api.service.compatibility.TasteIndex;
+import com.soundhub.api.service.impl.UserIndexSync;
+import com.soundhub.api.service.search.UserNameIndex;
+import com.soundhub.api.service.strategies.broadcast.BroadcastChannel;
+import com.soundhub.api.service.strategies.broadcast.InMemoryBroadcastChannel;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.mockito.Mockito.*;
+
+class UserIndexSyncTest {
+	private final BroadcastChannel backbone = new InMemoryBroadcastChannel();
+	private final User user = User.builder().id(UUID.randomUUID()).firstName("Anna").build();
+
+	private Node first;
+	private Node second;
+
+	@BeforeEach
+	void setUp() {
+		first = new Node(backbone);
+		second = new Node(backbone);
+	}
+
+	@Test
+	void index_ShouldReloadUserOnOtherNodes() {
+		when(second.userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+
+		first.sync.index(user);
+
+		verify(first.tasteIndex, times(1)).index(user);
+		verify(first.userNameIndex, times(1)).index(user);
+		verifyNoInteractions(first.userRepository);
+		verify(second.tasteIndex, times(1)).index(user);
+		verify(second.userNameIndex, times(1)).index(user);
+	}
+
+	@Test
+	void remove_ShouldDropUserOnEveryNode() {
+		first.sync.remove(user.getId());
+
+		for (Node node : new Node[]{first, second}) {
+			verify(node.tasteIndex, times(1)).remove(user.getId());
+			verify(node.userNameIndex, times(1)).remove(user.getId());
+		}
+	}
+
+	@Test
+	void index_ShouldDropUserOnOtherNodes_WhenUserIsGone() {
+		when(second.userRepository.findById(user.getId())).thenReturn(Optional.empty());
+
+		first.sync.index(user);
+
+		verify(second.tasteIndex).remove(user.getId());
+		verify(second.userNameIndex).remove(user.getId());
+	}
+
+	private static class Node {
+		final TasteIndex tasteIndex = mock(TasteIndex.class);
+		final UserNameIndex userNameIndex = mock(UserNameIndex.class);
+		final UserRepository userRepository = mock(UserRepository.class);
+		final UserIndexSync sync = new UserIndexSync();
+
+		Node(BroadcastChannel backbone) {
+			ReflectionTestUtils.setField(sync, "tasteIndex", tasteIndex);
+			ReflectionTestUtils.setField(sync, "userNameIndex", userNameIndex);
+			ReflectionTestUtils.setField(sync, "userRepository", userRepository);
+			ReflectionTestUtils.setField(sync, "transactionManager", mock(PlatformTransactionManager.class));
+			ReflectionTestUtils.invokeMethod(sync, "connect", backbone);
+		}
+	}
+}
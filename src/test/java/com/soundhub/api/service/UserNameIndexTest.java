@@ -0,0 +1,143 @@
+package com.soundhub.api.service;
+
+import com.soundhub.api.dto.UserSuggestionDto;
+import com.soundhub.api.model.User;
+import com.soundhub.api.repository.UserRepository;
+import com.soundhub.api.repository.projection.UserNameView;
+import com.soundhub.api.service.search.UserNameIndex;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class UserNameIndexTest {
+	@Mock
+	private UserRepository userRepository;
+
+	@InjectMocks
+	private UserNameIndex userNameIndex;
+
+	private User anna;
+	private User ivan;
+
+	@BeforeEach
+	void setUp() {
+		anna = user("Anna", "Petrova");
+		ivan = user("Ivan", "Annenkov");
+		userNameIndex.index(anna);
+		userNameIndex.index(ivan);
+		userNameIndex.index(user("Petr", "Ivanov"));
+	}
+
+	@Test
+	void suggest_ShouldMatchTokenPrefixesAndRankFullNamePrefixFirst() {
+		List<UserSuggestionDto> suggestions = userNameIndex.suggest("Ann", 10);
+
+		assertEquals(List.of(anna.getId(), ivan.getId()), ids(suggestions));
+		assertEquals("Petrova", suggestions.get(0).getLastName());
+	}
+
+	@Test
+	void suggest_ShouldRankFullNamePrefixFirst_BeyondLimitInKeyOrder() {
+		User john = user("John", "Smith");
+		userNameIndex.index(user("Mary", "Jo"));
+		userNameIndex.index(john);
+
+		assertEquals(List.of(john.getId()), ids(userNameIndex.suggest("jo", 1)));
+	}
+
+	@Test
+	void suggest_ShouldRequireEveryToken() {
+		assertEquals(List.of(ivan.getId()), ids(userNameIndex.suggest("iv ann", 10)));
+		assertTrue(userNameIndex.suggest("anna ivanov", 10).isEmpty());
+	}
+
+	@Test
+	void suggest_ShouldIgnoreCaseAndDiacritics() {
+		User zoe = user("Zoë", "Šimková");
+		userNameIndex.index(zoe);
+
+		assertEquals(List.of(zoe.getId()), ids(userNameIndex.suggest("ZOE sim", 10)));
+	}
+
+	@Test
+	void suggest_ShouldRespectLimitAndBlankQuery() {
+		assertEquals(1, userNameIndex.suggest("a", 1).size());
+		assertTrue(userNameIndex.suggest("  ", 10).isEmpty());
+		assertTrue(userNameIndex.suggest("anna", 0).isEmpty());
+	}
+
+	@Test
+	void index_ShouldReplaceOldNameTokens() {
+		anna.setLastName("Smirnova");
+		userNameIndex.index(anna);
+
+		assertTrue(userNameIndex.suggest("petrova", 10).isEmpty());
+		assertTrue(userNameIndex.suggest("anna p", 10).isEmpty());
+		assertEquals(List.of(anna.getId()), ids(userNameIndex.suggest("anna", 10)));
+		assertEquals(List.of(anna.getId()), ids(userNameIndex.suggest("smir", 10)));
+		assertEquals(3, userNameIndex.size());
+	}
+
+	@Test
+	void remove_ShouldDropUser() {
+		userNameIndex.remove(anna.getId());
+
+		assertEquals(List.of(ivan.getId()), ids(userNameIndex.suggest("ann", 10)));
+		assertEquals(2, userNameIndex.size());
+	}
+
+	@Test
+	void warmUp_ShouldLoadAllSlicesWithoutOverwritingNewerEntries() {
+		UserNameView stale = view(anna.getId(), "Anna", "Stale");
+		UserNameView olga = view(UUID.randomUUID(), "Olga", "Sokolova");
+		Pageable first = PageRequest.of(0, 1000);
+		when(userRepository.findAllNames(any(Pageable.class))).thenAnswer(invocation -> {
+			Pageable pageable = invocation.getArgument(0);
+			return pageable.getPageNumber() == 0
+					? new SliceImpl<>(List.of(stale), first, true)
+					: new SliceImpl<>(List.of(olga), first.next(), false);
+		});
+
+		userNameIndex.warmUp();
+
+		assertEquals(4, userNameIndex.size());
+		assertEquals(List.of(olga.getId()), ids(userNameIndex.suggest("olg", 10)));
+		assertTrue(userNameIndex.suggest("stale", 10).isEmpty());
+	}
+
+	private static User user(String firstName, String lastName) {
+		return User.builder()
+				.id(UUID.randomUUID())
+				.firstName(firstName)
+				.lastName(lastName)
+				.build();
+	}
+
+	private static UserNameView view(UUID id, String firstName, String lastName) {
+		UserNameView view = mock(UserNameView.class);
+		when(view.getId()).thenReturn(id);
+		when(view.getFirstName()).thenReturn(firstName);
+		when(view.getLastName()).thenReturn(lastName);
+		return view;
+	}
+
+	private static List<UUID> ids(List<UserSuggestionDto> suggestions) {
+		return suggestions.stream().map(UserSuggestionDto::getId).toList();
+	}
+}
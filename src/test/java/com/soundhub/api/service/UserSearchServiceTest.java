@@ -0,0 +1,90 @@
+package com.soundhub.api.service;
+
+import com.soundhub.api.model.User;
+import com.soundhub.api.service.impl.UserSearchServiceImpl;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the portable search engine against H2; the trigram engine is only picked on PostgreSQL with the trigram index.
+ */
+@DataJpaTest(properties = {
+		"spring.flyway.enabled=false",
+		"spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Import(UserSearchServiceImpl.class)
+class UserSearchServiceTest {
+	@Autowired
+	private UserSearchService userSearchService;
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@BeforeEach
+	void setUp() {
+		persist("Anna", "Maria Petrova");
+		persist("Maria", "Anna Ivanova");
+		persist("Ivan", "Petrov");
+		persist("Petr", "Ivanov");
+		persist("Max", "100%_Real");
+		entityManager.flush();
+		entityManager.clear();
+	}
+
+	@Test
+	void searchByFullName_ShouldRequireEveryToken() {
+		List<User> users = userSearchService.searchByFullName("anna maria petrova", 0, 10);
+
+		assertEquals(List.of("Anna"), firstNames(users));
+	}
+
+	@Test
+	void searchByFullName_ShouldRankPrefixMatchesFirst() {
+		List<User> users = userSearchService.searchByFullName("  IVAN ", 0, 10);
+
+		// "Ivan Petrov" starts with the query, the others only contain it
+		assertEquals("Ivan", users.get(0).getFirstName());
+		assertEquals(3, users.size());
+	}
+
+	@Test
+	void searchByFullName_ShouldPage() {
+		List<User> firstPage = userSearchService.searchByFullName("a", 0, 2);
+		List<User> secondPage = userSearchService.searchByFullName("a", 1, 2);
+
+		assertEquals(2, firstPage.size());
+		assertEquals(2, secondPage.size());
+		assertTrue(firstNames(firstPage).stream().noneMatch(firstNames(secondPage)::contains));
+	}
+
+	@Test
+	void searchByFullName_ShouldTreatWildcardsLiterally() {
+		assertEquals(List.of("Max"), firstNames(userSearchService.searchByFullName("100%_", 0, 10)));
+		assertEquals(List.of("Max"), firstNames(userSearchService.searchByFullName("%", 0, 10)));
+		assertTrue(userSearchService.searchByFullName("   ", 0, 10).isEmpty());
+	}
+
+	private void persist(String firstName, String lastName) {
+		entityManager.persist(User.builder()
+				.email(firstName.toLowerCase() + lastName.replaceAll("\\W", "").toLowerCase() + "@gmail.com")
+				.password("password")
+				.firstName(firstName)
+				.lastName(lastName)
+				.birthday(LocalDate.of(2000, 1, 1))
+				.build());
+	}
+
+	private static List<String> firstNames(List<User> users) {
+		return users.stream().map(User::getFirstName).toList();
+	}
+}
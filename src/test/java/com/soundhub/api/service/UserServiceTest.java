@@ -2,12 +2,17 @@ package com.soundhub.api.service;
 
 import com.soundhub.api.BaseTest;
 import com.soundhub.api.dto.UserDto;
+import com.soundhub.api.dto.UserSummaryDto;
 import com.soundhub.api.dto.response.UserExistenceResponse;
+import com.soundhub.api.enums.InviteStatus;
 import com.soundhub.api.exception.ResourceNotFoundException;
 import com.soundhub.api.model.User;
+import com.soundhub.api.repository.UserRecommendationRepository;
 import com.soundhub.api.repository.UserRepository;
+import com.soundhub.api.repository.projection.UserCardView;
+import com.soundhub.api.service.search.UserNameIndex;
+import com.soundhub.api.service.impl.UserIndexSync;
 import com.soundhub.api.service.impl.UserServiceImpl;
-import com.soundhub.api.util.FileUtils;
 import com.soundhub.api.util.mappers.UserMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -23,8 +28,8 @@ import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
-import java.nio.file.Files;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 
@@ -48,6 +53,18 @@ public class UserServiceTest extends BaseTest {
 	@Mock
 	private UserMapper userMapper;
 
+	@Mock
+	private UserIndexSync userIndexSync;
+
+	@Mock
+	private UserNameIndex userNameIndex;
+
+	@Mock
+	private UserRecommendationRepository userRecommendationRepository;
+
+	@Mock
+	private RecommendationService recommendationService;
+
 	@InjectMocks
 	private UserServiceImpl userService;
 
@@ -170,22 +187,56 @@ public class UserServiceTest extends BaseTest {
 		assertEquals(user, result);
 	}
 
+	@Test
+	public void testGetCurrentUser_ReusesAuthenticatedPrincipal() {
+		Authentication authentication = mock(Authentication.class);
+		SecurityContext securityContext = mock(SecurityContext.class);
+
+		when(authentication.getPrincipal()).thenReturn(user);
+		when(securityContext.getAuthentication()).thenReturn(authentication);
+		SecurityContextHolder.setContext(securityContext);
+		clearInvocations(userRepository);
+
+		User result = userService.getCurrentUser();
+
+		assertSame(user, result);
+		verifyNoInteractions(userRepository);
+	}
+
+	@Test
+	public void testGetRecommendedFriends_KeepsRecommenderOrderAndPages() {
+		UUID first = UUID.randomUUID();
+		UUID friendOrInvited = UUID.randomUUID();
+		UUID second = UUID.randomUUID();
+		UUID third = UUID.randomUUID();
+
+		// the friend or invited user is filtered out by the query, cards come back in no particular order
+		List<UserCardView> cards = List.of(card(third), card(first), card(second));
+
+		when(recommendationService.getRecommendedUsers(user.getId()))
+				.thenReturn(List.of(first, friendOrInvited, second, third));
+		when(userRepository.findRecommendationCards(eq(user.getId()), any(), eq(InviteStatus.CONSIDERED)))
+				.thenReturn(cards);
+
+		List<UserSummaryDto> firstPage = userService.getRecommendedFriends(0, 2);
+		List<UserSummaryDto> secondPage = userService.getRecommendedFriends(1, 2);
+
+		assertEquals(List.of(first, second), firstPage.stream().map(UserSummaryDto::getId).toList());
+		assertEquals(List.of(third), secondPage.stream().map(UserSummaryDto::getId).toList());
+		verify(userRepository, never()).findAllById(any());
+	}
+
 	@Test
 	public void testDeleteUser() throws IOException {
 		user.setAvatarUrl("avatar_url");
 
 		when(userRepository.findById(user.getId())).thenReturn(Optional.of(user));
+		UUID result = userService.deleteUser(user.getId());
 
-		try (MockedStatic<FileUtils> mocked = Mockito.mockStatic(FileUtils.class)) {
-			mocked.when(() -> FileUtils.getStaticFilePath(any(String.class), eq("avatar_url")))
-					.thenReturn(Files.createTempFile("test", ".jpg"));
-
-			UUID result = userService.deleteUser(user.getId());
+		assertEquals(user.getId(), result);
 
-			assertEquals(user.getId(), result);
-
-			verify(userRepository).delete(user);
-		}
+		verify(userRepository).delete(user);
+		verify(fileService).deleteFile("avatars", "avatar_url");
 	}
 
 	@Test
@@ -212,4 +263,10 @@ public class UserServiceTest extends BaseTest {
 
 		assertNotEquals(isOnline, toggledUser.isOnline());
 	}
+
+	private UserCardView card(UUID id) {
+		UserCardView card = mock(UserCardView.class);
+		when(card.getId()).thenReturn(id);
+		return card;
+	}
 }
@@ -0,0 +1,246 @@
+package com.soundhub.api.service.media;
+
+import com.soundhub.api.exception.ResourceNotFoundException;
+import com.soundhub.api.service.strategies.media.CachingMediaFileSource;
+import com.soundhub.api.service.strategies.media.MediaFileMetadata;
+import com.soundhub.api.service.strategies.media.MediaFileSourceStrategy;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class CachingMediaFileSourceTest {
+	@TempDir
+	private Path cacheFolder;
+
+	private final Map<String, byte[]> remoteFiles = new ConcurrentHashMap<>();
+	private MediaFileSourceStrategy remote;
+	private CountDownLatch downloadStarted;
+	private CountDownLatch releaseDownload;
+
+	@BeforeEach
+	void setUp() throws IOException {
+		remote = mock(MediaFileSourceStrategy.class);
+		downloadStarted = new CountDownLatch(1);
+		releaseDownload = new CountDownLatch(0);
+
+		when(remote.getMetadata(anyString())).thenAnswer(invocation -> {
+			byte[] content = remoteFiles.get(invocation.getArgument(0, String.class));
+
+			if (content == null) {
+				throw new ResourceNotFoundException(invocation.getArgument(0, String.class));
+			}
+
+			return new MediaFileMetadata(content.length, Instant.EPOCH, "\"etag\"", "text/plain");
+		});
+		doAnswer(invocation -> {
+			downloadStarted.countDown();
+			assertTrue(releaseDownload.await(5, TimeUnit.SECONDS));
+
+			byte[] content = remoteFiles.get(invocation.getArgument(0, String.class));
+			long offset = invocation.getArgument(1, Long.class);
+			long length = invocation.getArgument(2, Long.class);
+			invocation.getArgument(3, OutputStream.class).write(content, (int) offset, (int) length);
+			return null;
+		}).when(remote).writeTo(anyString(), anyLong(), anyLong(), any(OutputStream.class));
+	}
+
+	@Test
+	void getMetadataAndWriteTo_ShouldReadSourceOnce() throws IOException {
+		remoteFiles.put("avatars/a.png", bytes("avatar"));
+		CachingMediaFileSource cache = new CachingMediaFileSource(remote, cacheFolder, 100, 100);
+
+		for (int i = 0; i < 3; i++) {
+			assertEquals(6, cache.getMetadata("avatars/a.png").contentLength());
+			assertEquals("vat", read(cache, "avatars/a.png", 1, 3));
+		}
+
+		verify(remote, times(1)).getMetadata("avatars/a.png");
+		verify(remote, times(1)).writeTo(eq("avatars/a.png"), eq(0L), eq(6L), any(OutputStream.class));
+		assertEquals(new CachingMediaFileSource.Stats(5, 1, 0, 1, 6), cache.getStats());
+	}
+
+	@Test
+	void getFile_ShouldServeCachedCopy() throws IOException {
+		remoteFiles.put("avatars/a.png", bytes("avatar"));
+		CachingMediaFileSource cache = new CachingMediaFileSource(remote, cacheFolder, 100, 100);
+
+		cache.getMetadata("avatars/a.png");
+
+		try (InputStream inputStream = cache.getFile("avatars/a.png")) {
+			assertEquals("avatar", new String(inputStream.readAllBytes(), StandardCharsets.UTF_8));
+		}
+
+		verify(remote, never()).getFile(anyString());
+	}
+
+	@Test
+	void concurrentMisses_ShouldShareOneDownload() throws Exception {
+		remoteFiles.put("posts/1/a.jpg", bytes("picture"));
+		CachingMediaFileSource cache = new CachingMediaFileSource(remote, cacheFolder, 100, 100);
+		releaseDownload = new CountDownLatch(1);
+		ExecutorService executor = Executors.newFixedThreadPool(4);
+
+		try {
+			List<Future<String>> reads = new ArrayList<>();
+			reads.add(executor.submit(() -> read(cache, "posts/1/a.jpg", 0, 7)));
+			assertTrue(downloadStarted.await(5, TimeUnit.SECONDS));
+
+			for (int i = 0; i < 3; i++) {
+				reads.add(executor.submit(() -> read(cache, "posts/1/a.jpg", 0, 7)));
+			}
+
+			// gives the other readers time to join the running download
+			Thread.sleep(100);
+			releaseDownload.countDown();
+
+			for (Future<String> read : reads) {
+				assertEquals("picture", read.get(5, TimeUnit.SECONDS));
+			}
+		} finally {
+			executor.shutdownNow();
+		}
+
+		verify(remote, times(1)).writeTo(anyString(), anyLong(), anyLong(), any(OutputStream.class));
+	}
+
+	@Test
+	void readingPastMaxSize_ShouldEvictLeastRecentlyUsedFile() throws IOException {
+		remoteFiles.put("a", bytes("aaaa"));
+		remoteFiles.put("b", bytes("bbbb"));
+		remoteFiles.put("c", bytes("cccc"));
+		CachingMediaFileSource cache = new CachingMediaFileSource(remote, cacheFolder, 10, 10);
+
+		cache.getMetadata("a");
+		cache.getMetadata("b");
+		cache.getMetadata("a");
+		cache.getMetadata("c");
+
+		assertEquals(1, cache.getStats().evictions());
+		assertEquals(8, cache.getStats().bytes());
+		assertEquals(2, cacheFiles().size());
+
+		cache.getMetadata("a");
+		cache.getMetadata("b");
+
+		verify(remote, times(1)).getMetadata("a");
+		verify(remote, times(2)).getMetadata("b");
+	}
+
+	@Test
+	void filesAboveMaxFileSize_ShouldBeReadFromSource() throws IOException {
+		remoteFiles.put("audio/song.mp3", bytes("0123456789"));
+		CachingMediaFileSource cache = new CachingMediaFileSource(remote, cacheFolder, 100, 5);
+
+		assertEquals(10, cache.getMetadata("audio/song.mp3").contentLength());
+		assertEquals("234", read(cache, "audio/song.mp3", 2, 3));
+
+		verify(remote).writeTo(eq("audio/song.mp3"), eq(2L), eq(3L), any(OutputStream.class));
+		assertEquals(0, cache.getStats().files());
+		assertTrue(cacheFiles().isEmpty());
+	}
+
+	@Test
+	void deleteFile_ShouldInvalidateCachedCopy() throws IOException {
+		remoteFiles.put("avatars/a.png", bytes("avatar"));
+		doAnswer(invocation -> remoteFiles.remove("avatars/a.png")).when(remote).deleteFile("avatars", "a.png");
+		CachingMediaFileSource cache = new CachingMediaFileSource(remote, cacheFolder, 100, 100);
+
+		cache.getMetadata("avatars/a.png");
+		cache.deleteFile("avatars", "a.png");
+
+		assertThrows(ResourceNotFoundException.class, () -> cache.getMetadata("avatars/a.png"));
+		assertEquals(0, cache.getStats().bytes());
+		assertTrue(cacheFiles().isEmpty());
+	}
+
+	@Test
+	void writeDuringDownload_ShouldDiscardOnlyThatFile() throws Exception {
+		remoteFiles.put("posts/1/a.jpg", bytes("picture"));
+		remoteFiles.put("posts/1/b.jpg", bytes("other"));
+		CachingMediaFileSource cache = new CachingMediaFileSource(remote, cacheFolder, 100, 100);
+
+		assertEquals("pictu", readWhile(cache, "posts/1/a.jpg", () -> cache.deleteFile("avatars", "c.png")));
+		assertEquals("other", readWhile(cache, "posts/1/b.jpg", () -> cache.deleteFile("posts/1", "b.jpg")));
+
+		assertEquals(1, cache.getStats().files());
+		assertEquals(7, cache.getStats().bytes());
+		assertEquals(1, cacheFiles().size());
+	}
+
+	@Test
+	void missingFile_ShouldThrowNotFound() {
+		CachingMediaFileSource cache = new CachingMediaFileSource(remote, cacheFolder, 100, 100);
+
+		assertThrows(ResourceNotFoundException.class, () -> cache.getMetadata("avatars/missing.png"));
+	}
+
+	@Test
+	void constructor_ShouldDeleteCachedFilesOfPreviousRun() throws IOException {
+		Path leftover = Files.writeString(cacheFolder.resolve("old.cache"), "old");
+		Path unrelated = Files.writeString(cacheFolder.resolve("notes.txt"), "keep");
+
+		new CachingMediaFileSource(remote, cacheFolder, 100, 100);
+
+		assertFalse(Files.exists(leftover));
+		assertTrue(Files.exists(unrelated));
+	}
+
+	/**
+	 * Reads the first five bytes of a file that is not cached yet, running {@code write} while it is downloaded.
+	 */
+	private String readWhile(CachingMediaFileSource cache, String path, Runnable write) throws Exception {
+		downloadStarted = new CountDownLatch(1);
+		releaseDownload = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+
+		try {
+			Future<String> read = executor.submit(() -> read(cache, path, 0, 5));
+			assertTrue(downloadStarted.await(5, TimeUnit.SECONDS));
+			write.run();
+			releaseDownload.countDown();
+
+			return read.get(5, TimeUnit.SECONDS);
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static String read(CachingMediaFileSource cache, String path, long offset, long length) throws IOException {
+		ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		cache.writeTo(path, offset, length, outputStream);
+
+		return outputStream.toString(StandardCharsets.UTF_8);
+	}
+
+	private List<Path> cacheFiles() throws IOException {
+		try (var files = Files.list(cacheFolder)) {
+			return files.toList();
+		}
+	}
+
+	private static byte[] bytes(String content) {
+		return content.getBytes(StandardCharsets.UTF_8);
+	}
+}
@@ -0,0 +1,207 @@
+package com.soundhub.api.service.media;
+
+import com.soundhub.api.model.MediaBlob;
+import com.soundhub.api.repository.MediaBlobRepository;
+import com.soundhub.api.service.strategies.media.ContentAddressedMediaFileSource;
+import com.soundhub.api.service.strategies.media.LocalMediaFileSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.mock.web.MockMultipartFile;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.spy;
+
+/**
+ * Reference counts commit in their own transactions, so the test runs without a surrounding one.
+ */
+@DataJpaTest(properties = {
+		"spring.flyway.enabled=false",
+		"spring.jpa.hibernate.ddl-auto=create-drop"
+})
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+class ContentAddressedMediaFileSourceTest {
+	@Autowired
+	private MediaBlobRepository mediaBlobRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@TempDir
+	private Path resources;
+
+	private LocalMediaFileSource localSource;
+	private ContentAddressedMediaFileSource source;
+
+	@BeforeEach
+	void setUp() {
+		localSource = spy(localSource());
+		source = new ContentAddressedMediaFileSource(localSource, mediaBlobRepository, transactionManager, "blobs");
+	}
+
+	@AfterEach
+	void tearDown() {
+		mediaBlobRepository.deleteAll();
+	}
+
+	@Test
+	void uploadFile_ShouldStoreIdenticalContentOnce() {
+		String first = source.uploadFile("posts/1", file("cat.JPG", "meow"));
+		String second = source.uploadFile("avatars", file("copy.jpg", "meow"));
+
+		assertEquals(first, second);
+		assertTrue(ContentAddressedMediaFileSource.isContentKey(first));
+		assertTrue(first.endsWith(".jpg"));
+		assertEquals(1, countFiles(resources.resolve("static/blobs")));
+		assertEquals(2, blob(first).getRefCount());
+		assertEquals(4, blob(first).getContentLength());
+	}
+
+	@Test
+	void uploadFile_ShouldKeepSameNamedFilesWithDifferentContentApart() {
+		String first = source.uploadFile("posts/1", file("image.png", "one"));
+		String second = source.uploadFile("posts/1", file("image.png", "two"));
+
+		assertNotEquals(first, second);
+		assertEquals(2, countFiles(resources.resolve("static/blobs")));
+	}
+
+	@Test
+	void deleteFile_ShouldRemoveBlobWithLastReference() {
+		String key = source.uploadFile("posts/1", file("cat.jpg", "meow"));
+		source.uploadFile("posts/2", file("cat.jpg", "meow"));
+		Path blob = resources.resolve("static/blobs").resolve(key);
+
+		source.deleteFile("posts/1", key);
+
+		assertTrue(Files.exists(blob));
+		assertEquals(1, blob(key).getRefCount());
+
+		source.deleteFile("posts/2", key);
+
+		assertFalse(Files.exists(blob));
+		assertFalse(mediaBlobRepository.existsById(key));
+	}
+
+	@Test
+	void deleteFile_ShouldKeepBlobWithoutKnownReferences() throws IOException {
+		String key = "a".repeat(64) + ".jpg";
+		Path blob = Files.createDirectories(resources.resolve("static/blobs")).resolve(key);
+		Files.writeString(blob, "orphan");
+
+		source.deleteFile("posts/1", key);
+
+		assertTrue(Files.exists(blob));
+	}
+
+	@Test
+	void deleteFile_ShouldKeepReference_WhenBlobCannotBeDeleted() {
+		String key = source.uploadFile("posts/1", file("cat.jpg", "meow"));
+		doThrow(new IllegalStateException("storage down")).when(localSource).deleteFile("blobs", key);
+
+		assertThrows(IllegalStateException.class, () -> source.deleteFile("posts/1", key));
+
+		assertEquals(1, blob(key).getRefCount());
+		assertTrue(Files.exists(resources.resolve("static/blobs").resolve(key)));
+	}
+
+	@Test
+	void uploadOnAnotherInstance_ShouldWaitForBlobBeingDeleted() throws Exception {
+		String key = source.uploadFile("posts/1", file("cat.jpg", "meow"));
+		ContentAddressedMediaFileSource otherInstance = new ContentAddressedMediaFileSource(
+				localSource(), mediaBlobRepository, transactionManager, "blobs"
+		);
+		CountDownLatch deleting = new CountDownLatch(1);
+		doAnswer(invocation -> {
+			deleting.countDown();
+			// leaves the other instance time to run into the locked row
+			Thread.sleep(300);
+			return invocation.callRealMethod();
+		}).when(localSource).deleteFile(eq("blobs"), anyString());
+
+		CompletableFuture<Void> delete = CompletableFuture.runAsync(() -> source.deleteFile("posts/1", key));
+		assertTrue(deleting.await(5, TimeUnit.SECONDS));
+
+		assertEquals(key, otherInstance.uploadFile("posts/2", file("cat.jpg", "meow")));
+		delete.get(5, TimeUnit.SECONDS);
+
+		assertEquals(1, blob(key).getRefCount());
+		assertTrue(Files.exists(resources.resolve("static/blobs").resolve(key)));
+	}
+
+	@Test
+	void readsAndLegacyFiles_ShouldResolveByFileName() throws IOException {
+		String key = source.uploadFile("posts/1", file("song.mp3", "la-la"));
+		Path legacy = Files.createDirectories(resources.resolve("static/posts/1")).resolve("old.mp3");
+		Files.writeString(legacy, "old");
+
+		assertEquals("la-la", new String(source.getFile("posts/1/" + key).readAllBytes()));
+		assertEquals(5, source.getMetadata("avatars/" + key).contentLength());
+		assertEquals("old", new String(source.getFile("posts/1/old.mp3").readAllBytes()));
+
+		source.deleteFile("posts/1", "old.mp3");
+
+		assertFalse(Files.exists(legacy));
+	}
+
+	@Test
+	void variants_ShouldLiveAndDieWithTheirBlob() {
+		String key = source.uploadFile("posts/1", file("cat.jpg", "meow"));
+		String variant = key.replace(".jpg", "_64.jpg");
+		Path variantPath = resources.resolve("static/blobs").resolve(variant);
+
+		source.uploadFile("posts/1", variant, file(variant, "small"));
+
+		assertTrue(Files.exists(variantPath));
+		assertEquals(5, source.getMetadata("avatars/" + variant).contentLength());
+
+		source.deleteFile("posts/1", variant);
+		assertTrue(Files.exists(variantPath));
+
+		source.deleteFile("posts/1", key);
+		source.deleteFile("posts/1", variant);
+		assertFalse(Files.exists(variantPath));
+	}
+
+	private LocalMediaFileSource localSource() {
+		LocalMediaFileSource localSource = new LocalMediaFileSource();
+		ReflectionTestUtils.setField(localSource, "resourcesPath", resources.toString());
+		ReflectionTestUtils.setField(localSource, "staticFolder", "static");
+
+		return localSource;
+	}
+
+	private MediaBlob blob(String key) {
+		return mediaBlobRepository.findById(key).orElseThrow();
+	}
+
+	private static MockMultipartFile file(String name, String content) {
+		return new MockMultipartFile("file", name, "image/jpeg", content.getBytes());
+	}
+
+	private static long countFiles(Path folder) {
+		try (var files = Files.list(folder)) {
+			return files.count();
+		} catch (IOException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+}
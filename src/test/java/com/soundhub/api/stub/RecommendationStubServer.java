@@ -0,0 +1,85 @@
+package com.soundhub.api.stub;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+/**
+ * Local stand-in for the recommendation service: answers {@code GET /recommend/{userId}}
+ * with a configurable list of user ids, status code and delay.
+ */
+public class RecommendationStubServer implements AutoCloseable {
+	private final HttpServer server;
+	private final AtomicInteger requests = new AtomicInteger();
+
+	private volatile List<UUID> recommendations = List.of();
+	private volatile int status = 200;
+	private volatile long delayMs;
+
+	public RecommendationStubServer() throws IOException {
+		server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 0);
+		server.createContext("/recommend", this::handle);
+		server.setExecutor(Executors.newCachedThreadPool());
+		server.start();
+	}
+
+	public String getUrl() {
+		return "http://127.0.0.1:" + server.getAddress().getPort() + "/recommend";
+	}
+
+	public void respondWith(List<UUID> recommendations) {
+		this.recommendations = recommendations;
+		this.status = 200;
+	}
+
+	public void respondWithStatus(int status) {
+		this.status = status;
+	}
+
+	public void delayResponses(long delayMs) {
+		this.delayMs = delayMs;
+	}
+
+	public int getRequestCount() {
+		return requests.get();
+	}
+
+	private void handle(HttpExchange exchange) throws IOException {
+		requests.incrementAndGet();
+
+		try {
+			if (delayMs > 0) {
+				Thread.sleep(delayMs);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+
+		byte[] body = status == 200
+				? recommendations.stream()
+				.map(id -> "\"" + id + "\"")
+				.collect(Collectors.joining(",", "[", "]"))
+				.getBytes(StandardCharsets.UTF_8)
+				: new byte[0];
+
+		exchange.getResponseHeaders().add("Content-Type", "application/json");
+		exchange.sendResponseHeaders(status, body.length == 0 ? -1 : body.length);
+		try (OutputStream out = exchange.getResponseBody()) {
+			out.write(body);
+		}
+	}
+
+	@Override
+	public void close() {
+		server.stop(0);
+	}
+}
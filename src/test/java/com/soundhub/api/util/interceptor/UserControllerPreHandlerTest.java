@@ -0,0 +1,109 @@
+package com.soundhub.api.util.interceptor;
+
+import com.soundhub.api.model.Genre;
+import com.soundhub.api.model.User;
+import com.soundhub.api.service.impl.FileUrlTransformer;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.Hibernate;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The test transaction keeps the session open while the body is written, as open-in-view does for a request.
+ */
+@DataJpaTest(properties = {
+		"spring.flyway.enabled=false",
+		"spring.jpa.hibernate.ddl-auto=create-drop",
+		"spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class UserControllerPreHandlerTest {
+	private static final String TRANSFORMED_URL = "http://host/api/v1/files/avatar.jpg";
+
+	@Autowired
+	private TestEntityManager entityManager;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	private final UserControllerPreHandler preHandler = new UserControllerPreHandler();
+	private Statistics statistics;
+	private UUID userId;
+
+	@BeforeEach
+	void setUp() {
+		FileUrlTransformer urlTransformer = mock(FileUrlTransformer.class);
+		when(urlTransformer.transformValue(any())).thenReturn(TRANSFORMED_URL);
+		ReflectionTestUtils.setField(preHandler, "urlTransformer", urlTransformer);
+
+		Genre genre = entityManager.persist(Genre.builder().name("rock").build());
+
+		// a chain of friends: every user is a friend of the next one
+		User previous = null;
+		for (int i = 0; i < 5; i++) {
+			User user = user("user" + i + "@gmail.com");
+			user.getFavoriteGenres().add(genre);
+
+			if (previous != null)
+				user.getFriends().add(previous);
+
+			previous = entityManager.persist(user);
+		}
+
+		userId = previous.getId();
+		entityManager.flush();
+		entityManager.clear();
+
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@Test
+	void beforeBodyWrite_ShouldNotLoadLazyFriends() {
+		User user = entityManager.find(User.class, userId);
+
+		preHandler.beforeBodyWrite(user, null, null, null, null, null);
+
+		assertEquals(TRANSFORMED_URL, user.getAvatarUrl());
+		assertFalse(Hibernate.isInitialized(user.getFriends()));
+		// the user and its genres
+		assertEquals(2, statistics.getPrepareStatementCount());
+	}
+
+	@Test
+	void beforeBodyWrite_ShouldTransformLoadedFriendsWithoutTheirFriends() {
+		User user = entityManager.find(User.class, userId);
+		User friend = user.getFriends().get(0);
+		statistics.clear();
+
+		preHandler.beforeBodyWrite(user, null, null, null, null, null);
+
+		assertEquals(TRANSFORMED_URL, friend.getAvatarUrl());
+		assertFalse(Hibernate.isInitialized(friend.getFriends()));
+		// the genres of the user and its friend are batch fetched together
+		assertEquals(1, statistics.getPrepareStatementCount());
+	}
+
+	private User user(String email) {
+		return User.builder()
+				.email(email)
+				.password("password")
+				.firstName("Vasya")
+				.lastName("Pupkin")
+				.birthday(LocalDate.of(2000, 1, 1))
+				.build();
+	}
+}